@@ -0,0 +1,107 @@
+package com.gpcs.codestudio.bench;
+
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministické vstupy pre benchmarky (pevný seed), aby boli behy porovnateľné.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20240611L;
+
+    private BenchmarkData() {
+    }
+
+    /** Základ bez kontrolnej číslice pre daný typ kódu (EAN13 = 12 číslic, EAN8 = 7 ...). */
+    static String[] codeBases(String type, int count) {
+        int length = switch (type) {
+            case "EAN13" -> 12;
+            case "EAN8" -> 7;
+            case "UPCA" -> 11;
+            case "ITF14" -> 13;
+            default -> throw new IllegalArgumentException("Neznámy typ: " + type);
+        };
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = digits(random, length);
+        }
+        return result;
+    }
+
+    /** Platný GTIN-14 s kontrolnou číslicou. */
+    static String gtin14(SplittableRandom random) {
+        String base = digits(random, 13);
+        return base + Gs1CheckDigit.compute(base);
+    }
+
+    static String digits(SplittableRandom random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(chars);
+    }
+
+    static String alphanumeric(SplittableRandom random, int length) {
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-/";
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * GS1 element stringy podľa profilu:
+     * SHORT_HRI – (01)(17)(10) v zátvorkách,
+     * DATAMATRIX_LONG – dlhý HRI reťazec typický pre farmaceutický / logistický DataMatrix,
+     * RAW_GS – ten istý obsah surovo s GS separátormi a prefixom ]d2 (GS za každým AI bez preddefinovanej
+ * dĺžky okrem posledného, teda aj za 7003).
+     */
+    static String[] gs1Strings(String profile, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] result = new String[count];
+        for (int i = 0; i < count; i++) {
+            String gtin = gtin14(random);
+            String lot = alphanumeric(random, 10);
+            String serial = alphanumeric(random, 20);
+            result[i] = switch (profile) {
+                case "SHORT_HRI" -> "(01)" + gtin + "(17)261231(10)" + lot;
+                case "DATAMATRIX_LONG" -> "(01)" + gtin + "(11)240115(17)261231(10)" + lot + "(21)" + serial
+                        + "(3103)001250(400)PO-" + digits(random, 12) + "(7003)2612311230"
+                        + "(240)" + alphanumeric(random, 30) + "(91)" + alphanumeric(random, 60);
+                case "RAW_GS" -> "]d201" + gtin + "11240115" + "17261231" + "10" + lot + '\u001D'
+                        + "21" + serial + '\u001D' + "3103001250" + "400PO-" + digits(random, 12) + '\u001D'
+                        + "70032612311230" + '\u001D' + "240" + alphanumeric(random, 30) + '\u001D'
+                        + "91" + alphanumeric(random, 60);
+                default -> throw new IllegalArgumentException("Neznámy profil: " + profile);
+            };
+        }
+        return result;
+    }
+
+    /** Jednoduchá etiketa: N čiarových rectov + text, podobne ako SVG z FE. */
+    static String labelSvg(int bars) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        double width = bars * 3.0 + 20;
+        StringBuilder sb = new StringBuilder(bars * 80 + 512);
+        sb.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+                .append("mm\" height=\"40mm\" viewBox=\"0 0 ").append(width).append(" 40\">\n")
+                .append("<rect x=\"0\" y=\"0\" width=\"").append(width).append("\" height=\"40\" fill=\"#ffffff\"/>\n");
+        double x = 10;
+        for (int i = 0; i < bars; i++) {
+            double w = 0.33 * (1 + random.nextInt(4));
+            sb.append("<rect x=\"").append(x).append("\" y=\"2\" width=\"").append(w)
+                    .append("\" height=\"30\" fill=\"#000000\"/>\n");
+            x += w + 0.33 * (1 + random.nextInt(4));
+        }
+        sb.append("<text x=\"").append(width / 2)
+                .append("\" y=\"38\" font-family=\"OCR-B\" font-size=\"4\" text-anchor=\"middle\">")
+                .append(digits(random, 13)).append("</text>\n</svg>\n");
+        return sb.toString();
+    }
+}
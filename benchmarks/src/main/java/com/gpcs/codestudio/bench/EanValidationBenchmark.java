@@ -0,0 +1,53 @@
+package com.gpcs.codestudio.bench;
+
+import com.gpcs.codestudio.api.CodeValidationService;
+import com.gpcs.codestudio.ean.EanService;
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+import com.gpcs.codestudio.gs1.Gs1Service;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validácia a doplnenie kontrolnej číslice pre dávku kódov – to isté, čo robí
+ * /api/code/validate-and-complete pri importe katalógu, bez HTTP vrstvy.
+ * Čas je za celú dávku.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EanValidationBenchmark {
+
+    @Param({"EAN13", "EAN8", "UPCA", "ITF14"})
+    public String type;
+
+    @Param({"1000", "100000"})
+    public int batchSize;
+
+    private String[] bases;
+    private CodeValidationService service;
+
+    @Setup
+    public void setup() {
+        bases = BenchmarkData.codeBases(type, batchSize);
+        service = new CodeValidationService(new EanService(), new Gs1Service());
+    }
+
+    @Benchmark
+    public void validateAndComplete(Blackhole bh) {
+        for (String base : bases) {
+            bh.consume(service.validate(type, base));
+        }
+    }
+
+    @Benchmark
+    public void checkDigitOnly(Blackhole bh) {
+        for (String base : bases) {
+            bh.consume(Gs1CheckDigit.compute(base));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gpcs.codestudio.bench;
+
+import com.gpcs.codestudio.export.ExportAdmission;
+import com.gpcs.codestudio.export.ExportWorkDir;
+import com.gpcs.codestudio.export.InkscapeExportService;
+import com.gpcs.codestudio.export.InkscapeWorkerPool;
+import com.gpcs.codestudio.export.SvgEpsWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InkscapeExportService.convertSvgToEps pre etikety rôznej veľkosti (počet čiar),
+ * s procesom na každý export (poolSize = 0) aj cez pool teplých workerov,
+ * a pre porovnanie natívny prevod {@link SvgEpsWriter}.
+ * Potrebuje Inkscape 1.x – príkaz sa dá nastaviť cez -Dcodestudio.inkscape.command=...
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ExportBenchmark {
+
+    @Param({"30", "300", "3000"})
+    public int bars;
+
+    @Param({"0", "2"})
+    public int poolSize;
+
+    private String svg;
+    private InkscapeWorkerPool workerPool;
+    private InkscapeExportService exportService;
+
+    @Setup
+    public void setup() {
+        String command = System.getProperty("codestudio.inkscape.command", "inkscape");
+        svg = BenchmarkData.labelSvg(bars);
+        ExportAdmission admission = new ExportAdmission(0, 60_000);
+        workerPool = new InkscapeWorkerPool(command, poolSize, 200, 30_000, 0, admission);
+        exportService = new InkscapeExportService(command, workerPool, false,
+                new ExportWorkDir(System.getProperty("codestudio.export.workDir", ""), 60_000),
+                admission, 60_000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workerPool.shutdown();
+    }
+
+    @Benchmark
+    public void convertSvgToEps(Blackhole bh) {
+        bh.consume(exportService.convertSvgToEps(svg));
+    }
+
+    @Benchmark
+    public void nativeSvgToEps(Blackhole bh) {
+        bh.consume(SvgEpsWriter.convert(svg));
+    }
+}
@@ -0,0 +1,60 @@
+package com.gpcs.codestudio.bench;
+
+import com.gpcs.codestudio.ean.EanValidationResult;
+import com.gpcs.codestudio.gs1.Gs1ElementString;
+import com.gpcs.codestudio.gs1.Gs1ElementStringParser;
+import com.gpcs.codestudio.gs1.Gs1Service;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gs1Service.validateGenericGs1 (cez validateGs1DataMatrix) a samotný parser
+ * nad dávkou 1000 GS1 reťazcov. Čas je za celú dávku.
+ *
+ * Setup overí, že všetky vstupy sú platné – meria sa parsovanie celého reťazca, nie skoré odmietnutie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Gs1ParsingBenchmark {
+
+    @Param({"SHORT_HRI", "DATAMATRIX_LONG", "RAW_GS"})
+    public String profile;
+
+    private String[] inputs;
+    private Gs1Service service;
+    private Gs1ElementString elements;
+
+    @Setup
+    public void setup() {
+        inputs = BenchmarkData.gs1Strings(profile, 1000);
+        service = new Gs1Service();
+        elements = new Gs1ElementString();
+        for (String input : inputs) {
+            EanValidationResult result = service.validateGs1DataMatrix(input);
+            if (!result.isValid()) {
+                throw new IllegalStateException("Neplatný vstup profilu " + profile + ": " + result.getMessage()
+                        + " – " + input);
+            }
+        }
+    }
+
+    @Benchmark
+    public void validate(Blackhole bh) {
+        for (String input : inputs) {
+            bh.consume(service.validateGs1DataMatrix(input));
+        }
+    }
+
+    @Benchmark
+    public void parseOnly(Blackhole bh) {
+        for (String input : inputs) {
+            bh.consume(Gs1ElementStringParser.parse(input, elements));
+        }
+    }
+}
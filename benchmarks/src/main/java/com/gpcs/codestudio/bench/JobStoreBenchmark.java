@@ -0,0 +1,135 @@
+package com.gpcs.codestudio.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gpcs.codestudio.job.JobRecord;
+import com.gpcs.codestudio.job.JobService;
+import com.gpcs.codestudio.job.SaveJobRequest;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JobService nad úložiskom s 10k / 100k jobmi: listJobs (celý / jedna stránka), searchJobs (slová / predpona
+ * GTIN), getJob a saveJob (update existujúceho jobu, zápis na disk robí writer thread na pozadí). Úložisko sa
+ * pripraví priamo ako JSON súbor, aby setup netrval O(n^2).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class JobStoreBenchmark {
+
+    @Param({"10000", "100000"})
+    public int jobCount;
+
+    @Param({"512"})
+    public int payloadBytes;
+
+    private Path dir;
+    private JobService jobService;
+    private String[] ids;
+    private SaveJobRequest update;
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        dir = Files.createTempDirectory("codestudio-bench-jobs");
+        Path storage = dir.resolve("jobs.json");
+
+        random = new SplittableRandom(BenchmarkData.SEED);
+        String payload = objectMapper.writeValueAsString(payload(objectMapper));
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        List<JobRecord> records = new ArrayList<>(jobCount);
+        ids = new String[jobCount];
+        for (int i = 0; i < jobCount; i++) {
+            JobRecord rec = new JobRecord();
+            rec.setId("job-" + i);
+            rec.setName("Zákazka " + i + " " + BenchmarkData.alphanumeric(random, 8));
+            rec.setDescription("Etiketa pre odberateľa " + BenchmarkData.alphanumeric(random, 12));
+            rec.setCodeType(i % 3 == 0 ? "GS1128" : "EAN13");
+            rec.setMainValue(BenchmarkData.gtin14(random));
+            rec.setPayloadJson(payload);
+            rec.setCreatedAt(start.plusSeconds(i));
+            rec.setUpdatedAt(start.plusSeconds(i));
+            records.add(rec);
+            ids[i] = rec.getId();
+        }
+        objectMapper.writeValue(storage.toFile(), records);
+
+        jobService = new JobService(objectMapper, storage.toString(), 16L * 1024 * 1024, "interval", 200, 100, true,
+                64L * 1024 * 1024);
+
+        update = new SaveJobRequest();
+        update.setName("Upravená zákazka");
+        update.setDescription("autosave z FE");
+        update.setCodeType("EAN13");
+        update.setMainValue(BenchmarkData.gtin14(random));
+        update.setPayload(payload(objectMapper));
+    }
+
+    private ObjectNode payload(ObjectMapper objectMapper) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("type", "EAN13");
+        node.put("moduleWidth", 0.33);
+        node.put("notes", BenchmarkData.alphanumeric(new SplittableRandom(BenchmarkData.SEED), payloadBytes));
+        return node;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        jobService.shutdown();
+        try (var files = Files.list(dir)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    public void listJobs(Blackhole bh) {
+        bh.consume(jobService.listJobs());
+    }
+
+    @Benchmark
+    public void listJobsPage(Blackhole bh) {
+        bh.consume(jobService.listJobs(null, "updatedAt,desc", null, 100));
+    }
+
+    @Benchmark
+    public void searchJobs(Blackhole bh) {
+        bh.consume(jobService.searchJobs("zakazka 12", null, 20));
+    }
+
+    /**
+     * Krátka predpona GTIN – zhoda s ~10 % jobov, každý s iným slovom v slovníku.
+     */
+    @Benchmark
+    public void searchJobsGtinPrefix(Blackhole bh) {
+        bh.consume(jobService.searchJobs("5", null, 20));
+    }
+
+    @Benchmark
+    public void getJob(Blackhole bh) {
+        bh.consume(jobService.getJob(ids[random.nextInt(ids.length)]));
+    }
+
+    @Benchmark
+    public void saveJob(Blackhole bh) {
+        update.setId(ids[random.nextInt(ids.length)]);
+        bh.consume(jobService.saveJob(update));
+    }
+}
@@ -0,0 +1,109 @@
+package com.gpcs.codestudio.bench;
+
+import com.gpcs.codestudio.export.SvgNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SvgNormalizer.normalize pre etiketu v px pod Inkscape mierkou {@code matrix(0.26458333,...)}.
+ * Setup najprv overí, že normalizácia nezmení vykreslenú geometriu: transform musí ostať presne
+ * a hrany čiar po prepočte do mm sa nesmú pohnúť o viac ako {@link #TOLERANCE_MM}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SvgNormalizerBenchmark {
+
+    static final String SCALE = "0.26458333";
+    static final double TOLERANCE_MM = 0.001;
+
+    private static final Pattern RECT = Pattern.compile("<rect ([^>]*)/>");
+    private static final Pattern ATTRIBUTE = Pattern.compile("\\b(x|width)=\"([^\"]+)\"");
+
+    @Param({"30", "300", "3000"})
+    public int bars;
+
+    private SvgNormalizer normalizer;
+    private String svg;
+
+    @Setup
+    public void setup() {
+        normalizer = new SvgNormalizer(true, 3);
+        svg = scaledLabel(bars);
+        String normalized = normalizer.normalize(svg);
+        if (!normalized.contains("transform=\"matrix(" + SCALE + ",0,0," + SCALE + ",0,0)\"")) {
+            throw new IllegalStateException("Normalizácia zmenila transform: " + normalized.substring(0, Math.min(200, normalized.length())));
+        }
+        List<double[]> before = edgesMm(svg);
+        List<double[]> after = edgesMm(normalized);
+        if (before.size() != after.size()) {
+            throw new IllegalStateException("Počet čiar po normalizácii: " + after.size() + " namiesto " + before.size());
+        }
+        for (int i = 0; i < before.size(); i++) {
+            double start = Math.abs(before.get(i)[0] - after.get(i)[0]);
+            double end = Math.abs(before.get(i)[1] - after.get(i)[1]);
+            if (Math.max(start, end) > TOLERANCE_MM) {
+                throw new IllegalStateException("Čiara " + i + " sa po normalizácii posunula o "
+                        + Math.max(start, end) + " mm");
+            }
+        }
+    }
+
+    @Benchmark
+    public void normalize(Blackhole bh) {
+        bh.consume(normalizer.normalize(svg));
+    }
+
+    /**
+     * Etiketa ako z Inkscapu: dokument v mm, čiary v px vnútri skupiny so zmenšením na mm.
+     */
+    static String scaledLabel(int bars) {
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        double scale = Double.parseDouble(SCALE);
+        double width = bars * 3.0 + 20;
+        StringBuilder sb = new StringBuilder(bars * 90 + 512);
+        sb.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(width)
+                .append("mm\" height=\"40mm\" viewBox=\"0 0 ").append(width).append(" 40\">\n")
+                .append("<g transform=\"matrix(").append(SCALE).append(",0,0,").append(SCALE).append(",0,0)\">\n");
+        double x = 10;
+        for (int i = 0; i < bars; i++) {
+            double w = 0.33 * (1 + random.nextInt(4));
+            sb.append("<rect x=\"").append(x / scale).append("\" y=\"").append(2 / scale)
+                    .append("\" width=\"").append(w / scale).append("\" height=\"").append(30 / scale)
+                    .append("\" fill=\"#000000\"/>\n");
+            x += w + 0.33 * (1 + random.nextInt(4));
+        }
+        sb.append("</g>\n</svg>\n");
+        return sb.toString();
+    }
+
+    private static List<double[]> edgesMm(String svg) {
+        double scale = Double.parseDouble(SCALE);
+        List<double[]> edges = new ArrayList<>();
+        Matcher rect = RECT.matcher(svg);
+        while (rect.find()) {
+            double x = Double.NaN;
+            double width = Double.NaN;
+            Matcher a = ATTRIBUTE.matcher(rect.group(1));
+            while (a.find()) {
+                if ("x".equals(a.group(1))) {
+                    x = Double.parseDouble(a.group(2));
+                } else {
+                    width = Double.parseDouble(a.group(2));
+                }
+            }
+            edges.add(new double[]{x * scale, (x + width) * scale});
+        }
+        return edges;
+    }
+}
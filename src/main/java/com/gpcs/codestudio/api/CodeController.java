@@ -1,52 +1,73 @@
 package com.gpcs.codestudio.api;
 
-import com.gpcs.codestudio.ean.EanService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.gpcs.codestudio.ean.EanValidationResult;
-import com.gpcs.codestudio.gs1.Gs1Service;
+import com.gpcs.codestudio.ean.MessageLanguage;
+import com.gpcs.codestudio.ean.ResultMessage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
 @RestController("apiCodeController")
 @RequestMapping("/api/code")
 @CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5176", "http://localhost:5180"})
 public class CodeController {
 
-    private final EanService eanService;
-    private final Gs1Service gs1Service;
+    private final CodeValidationService codeValidationService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final ObjectWriter resultWriter;
 
-    public CodeController(EanService eanService, Gs1Service gs1Service) {
-        this.eanService = eanService;
-        this.gs1Service = gs1Service;
+    public CodeController(CodeValidationService codeValidationService, ObjectMapper objectMapper) {
+        this.codeValidationService = codeValidationService;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(EanValidateRequest.class);
+        // flush riadime sami (viď bulk endpoint), nie po každej hodnote
+        this.resultWriter = objectMapper.writerFor(EanValidationResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * Voliteľné query parametre: {@code lang} (sk / en / cs) – jazyk správy,
+     * {@code messages=false} – bez textu správy (len valid, finalCode, messageCode ...).
+     */
     @PostMapping("/validate-and-complete")
-    public ResponseEntity<EanValidationResult> validateAndComplete(@RequestBody EanValidateRequest request) {
+    public ResponseEntity<EanValidationResult> validateAndComplete(
+            @RequestBody EanValidateRequest request,
+            @RequestParam(value = "lang", required = false) String lang,
+            @RequestParam(value = "messages", defaultValue = "true") boolean messages) {
+        MessageLanguage language = MessageLanguage.from(lang);
+
         if (request == null || request.getType() == null || request.getValue() == null) {
-            return ResponseEntity.badRequest().body(EanValidationResult.invalid("Request body, type and value are required."));
+            return ResponseEntity.badRequest().body(EanValidationResult.invalid(ResultMessage.REQUEST_INCOMPLETE)
+                    .withMessages(language, messages));
         }
 
-        String type = request.getType().trim().toUpperCase();
-        String value = request.getValue();
-
-        EanValidationResult result;
-        switch (type) {
-            case "EAN13" -> result = eanService.validateAndCompleteEan13(value);
-            case "EAN8" -> result = eanService.validateAndCompleteEan8(value);
-            case "UPCA" -> result = eanService.validateAndCompleteUpcA(value);
-            case "ITF14" -> result = eanService.validateAndCompleteItf14(value);
-            case "GS1128", "GS1-128" -> result = gs1Service.validateGs1128(value);
-            case "GS1DM", "GS1-DM" -> result = gs1Service.validateGs1DataMatrix(value);
-            case "GS1DATABAR", "GS1-DATABAR" -> result = gs1Service.validateGs1DataBar(value);
-            default -> {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body(EanValidationResult.invalid("Nepodporovaný typ kódu: " + request.getType()));
-            }
+        EanValidationResult result = codeValidationService.validate(request.getType(), request.getValue());
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(EanValidationResult.invalid(ResultMessage.UNSUPPORTED_CODE_TYPE, request.getType())
+                            .withMessages(language, messages));
         }
+        result = result.withMessages(language, messages);
 
         if (!result.isValid()) {
             return ResponseEntity.badRequest().body(result);
@@ -54,4 +75,73 @@ public class CodeController {
 
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Hromadná validácia: telo je NDJSON – jeden objekt {"type": ..., "value": ...} na riadok.
+     * Odpoveď je tiež NDJSON – jeden {@link EanValidationResult} na každý neprázdny vstupný riadok,
+     * v rovnakom poradí. Prázdne riadky sa preskakujú.
+     *
+     * Vstup sa číta a výstup zapisuje priebežne (riadok po riadku), pamäť je konštantná
+     * bez ohľadu na veľkosť vstupu. Výstup sa flushne vždy, keď ďalší vstup ešte nie je k dispozícii,
+     * takže klient dostáva výsledky skôr, než odošle celé telo.
+     *
+     * Query parametre {@code lang} a {@code messages} platia pre všetky riadky,
+     * pri {@code messages=false} sa text správ vôbec neskladá.
+     */
+    @PostMapping(value = "/validate-and-complete/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_PLAIN_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void validateAndCompleteBulk(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "lang", required = false) String lang,
+            @RequestParam(value = "messages", defaultValue = "true") boolean messages) throws IOException {
+        MessageLanguage language = MessageLanguage.from(lang);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+             JsonGenerator out = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // riadky oddeľujeme sami '\n', nie predvolenou medzerou medzi root hodnotami
+            out.setRootValueSeparator(null);
+
+            long lineNo = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                resultWriter.writeValue(out, validateLine(line, lineNo).withMessages(language, messages));
+                out.writeRaw('\n');
+
+                // ďalší riadok by blokoval – pošli klientovi, čo už máme
+                if (!reader.ready()) {
+                    out.flush();
+                }
+            }
+        }
+    }
+
+    private EanValidationResult validateLine(String line, long lineNo) {
+        EanValidateRequest item;
+        try {
+            item = requestReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            return EanValidationResult.invalid(ResultMessage.BULK_LINE_NOT_JSON, lineNo);
+        }
+
+        if (item == null || item.getType() == null || item.getValue() == null) {
+            return EanValidationResult.invalid(ResultMessage.BULK_LINE_INCOMPLETE, lineNo);
+        }
+
+        EanValidationResult result = codeValidationService.validate(item.getType(), item.getValue());
+        if (result == null) {
+            return EanValidationResult.invalid(ResultMessage.UNSUPPORTED_CODE_TYPE, item.getType());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gpcs.codestudio.api;
+
+import com.gpcs.codestudio.ean.EanService;
+import com.gpcs.codestudio.ean.EanValidationResult;
+import com.gpcs.codestudio.gs1.Gs1Service;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+
+/**
+ * Spoločný dispatch podľa typu kódu na {@link EanService} / {@link Gs1Service}.
+ * Používa ho jednotlivý aj hromadný (NDJSON) endpoint, aby mali rovnaké typy a správanie.
+ */
+@Service
+public class CodeValidationService {
+
+    private final EanService eanService;
+    private final Gs1Service gs1Service;
+
+    public CodeValidationService(EanService eanService, Gs1Service gs1Service) {
+        this.eanService = eanService;
+        this.gs1Service = gs1Service;
+    }
+
+    /**
+     * @return výsledok validácie, alebo {@code null} ak typ kódu nepoznáme
+     */
+    public EanValidationResult validate(String type, String value) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type.trim().toUpperCase(Locale.ROOT)) {
+            case "EAN13" -> eanService.validateAndCompleteEan13(value);
+            case "EAN8" -> eanService.validateAndCompleteEan8(value);
+            case "UPCA" -> eanService.validateAndCompleteUpcA(value);
+            case "ITF14" -> eanService.validateAndCompleteItf14(value);
+            case "GS1128", "GS1-128" -> gs1Service.validateGs1128(value);
+            case "GS1DM", "GS1-DM" -> gs1Service.validateGs1DataMatrix(value);
+            case "GS1DATABAR", "GS1-DATABAR" -> gs1Service.validateGs1DataBar(value);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.gpcs.codestudio.batch;
+
+import com.gpcs.codestudio.ean.MessageLanguage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/code/batch")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5176", "http://localhost:5180"})
+public class BatchValidationController {
+
+    private final CsvBatchValidator csvBatchValidator;
+
+    public BatchValidationController(CsvBatchValidator csvBatchValidator) {
+        this.csvBatchValidator = csvBatchValidator;
+    }
+
+    /**
+     * Validácia CSV súboru s kódmi. Telo je buď multipart/form-data (časť "file" alebo časť s filename),
+     * alebo priamo CSV (text/csv, text/plain).
+     *
+     * Stĺpce: s hlavičkou sa hľadajú "type" a "value" (alebo "code" / "kod"), bez hlavičky je to
+     * [type, value], prípadne len [value] ak je zadaný query parameter {@code type}.
+     * Odpoveď je CSV s doplnenými stĺpcami final_code, check_digit, error a súhrnom na konci
+     * ("# total=... valid=... invalid=..." a počty podľa messageCode).
+     *
+     * Query parametre: {@code type}, {@code delimiter} (inak autodetekcia), {@code lang}, {@code messages}.
+     */
+    @PostMapping(value = "/csv",
+            consumes = {MediaType.MULTIPART_FORM_DATA_VALUE, "text/csv", MediaType.TEXT_PLAIN_VALUE},
+            produces = "text/csv")
+    public void validateCsv(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "delimiter", required = false) String delimiter,
+            @RequestParam(value = "lang", required = false) String lang,
+            @RequestParam(value = "messages", defaultValue = "true") boolean messages) throws IOException {
+        CsvBatchOptions options = new CsvBatchOptions();
+        options.setDefaultType(type == null || type.isBlank() ? null : type.trim());
+        options.setDelimiter(parseDelimiter(delimiter));
+        options.setLanguage(MessageLanguage.from(lang));
+        options.setMessages(messages);
+
+        InputStream csv = request.getInputStream();
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE)) {
+            String boundary = MultipartStream.boundary(contentType);
+            if (boundary == null) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "Chýba multipart boundary.");
+                return;
+            }
+            MultipartStream multipart = new MultipartStream(csv, boundary);
+            if (!multipart.nextFilePart()) {
+                response.sendError(HttpStatus.BAD_REQUEST.value(), "V requeste chýba CSV súbor (časť \"file\").");
+                return;
+            }
+            csv = multipart.partBody();
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType("text/csv");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition", "attachment; filename=\"validated.csv\"");
+
+        csvBatchValidator.validate(csv, response.getOutputStream(), options);
+    }
+
+    private static Character parseDelimiter(String delimiter) {
+        if (delimiter == null || delimiter.isEmpty()) {
+            return null;
+        }
+        if ("tab".equalsIgnoreCase(delimiter) || "\\t".equals(delimiter)) {
+            return '\t';
+        }
+        return delimiter.charAt(0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.gpcs.codestudio.batch;
+
+import com.gpcs.codestudio.ean.MessageLanguage;
+
+/**
+ * Nastavenia jednej CSV dávky (z query parametrov uploadu).
+ */
+public class CsvBatchOptions {
+
+    /**
+     * Typ kódu pre všetky riadky (EAN13, GS1128 ...). Ak je null, typ sa berie zo stĺpca "type".
+     */
+    private String defaultType;
+
+    /**
+     * Oddeľovač stĺpcov; null = autodetekcia z prvého riadku (',' alebo ';' z Excelu).
+     */
+    private Character delimiter;
+
+    private MessageLanguage language = MessageLanguage.SK;
+
+    /**
+     * false = stĺpec error obsahuje len kód chyby (messageCode), bez textu.
+     */
+    private boolean messages = true;
+
+    public CsvBatchOptions() {
+    }
+
+    public String getDefaultType() {
+        return defaultType;
+    }
+
+    public void setDefaultType(String defaultType) {
+        this.defaultType = defaultType;
+    }
+
+    public Character getDelimiter() {
+        return delimiter;
+    }
+
+    public void setDelimiter(Character delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    public MessageLanguage getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(MessageLanguage language) {
+        this.language = language;
+    }
+
+    public boolean isMessages() {
+        return messages;
+    }
+
+    public void setMessages(boolean messages) {
+        this.messages = messages;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gpcs.codestudio.batch;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Súhrn CSV dávky: počty riadkov a počty chýb podľa triedy (messageCode).
+ */
+public class CsvBatchSummary {
+
+    private long total;
+    private long valid;
+    private final Map<String, Long> errors = new TreeMap<>();
+
+    void add(CsvBatchSummary other) {
+        total += other.total;
+        valid += other.valid;
+        other.errors.forEach((code, count) -> errors.merge(code, count, Long::sum));
+    }
+
+    void countValid() {
+        total++;
+        valid++;
+    }
+
+    void countError(String code) {
+        total++;
+        errors.merge(code != null ? code : "UNKNOWN", 1L, Long::sum);
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getValid() {
+        return valid;
+    }
+
+    public long getInvalid() {
+        return total - valid;
+    }
+
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,275 @@
+package com.gpcs.codestudio.batch;
+
+import com.gpcs.codestudio.api.CodeValidationService;
+import com.gpcs.codestudio.ean.EanValidationResult;
+import com.gpcs.codestudio.ean.ResultMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Hromadná validácia CSV súboru (1–5 miliónov kódov) bez načítania celého súboru do pamäte.
+ *
+ * Čítací thread delí vstup na chunky záznamov, chunky sa validujú paralelne na ohraničenom
+ * ForkJoinPool-e cez {@link CodeValidationService} a výsledky sa zapisujú späť v pôvodnom poradí.
+ * V letu je najviac 2 × parallelism chunkov, takže pamäť je konštantná bez ohľadu na veľkosť vstupu.
+ *
+ * Výstup je pôvodný riadok + stĺpce final_code, check_digit, error. Na konci sú komentárové riadky
+ * "# ..." so súhrnom (celkový počet, platné, neplatné a počty podľa triedy chyby).
+ */
+@Service
+public class CsvBatchValidator {
+
+    private final CodeValidationService codeValidationService;
+    private final ForkJoinPool pool;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public CsvBatchValidator(
+            CodeValidationService codeValidationService,
+            @Value("${codestudio.batch.parallelism:0}") int parallelism,
+            @Value("${codestudio.batch.chunkSize:2048}") int chunkSize
+    ) {
+        this.codeValidationService = codeValidationService;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = Math.max(1, chunkSize);
+        this.pool = new ForkJoinPool(this.parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public CsvBatchSummary validate(InputStream csv, OutputStream out, CsvBatchOptions options) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), 64 * 1024);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        CsvBatchSummary summary = new CsvBatchSummary();
+
+        String first = readRecord(reader);
+        if (first == null) {
+            writeSummary(writer, summary);
+            writer.flush();
+            return summary;
+        }
+        if (!first.isEmpty() && first.charAt(0) == '\uFEFF') {
+            first = first.substring(1); // BOM z Excelu
+        }
+
+        char delimiter = options.getDelimiter() != null ? options.getDelimiter() : detectDelimiter(first);
+        Layout layout = Layout.detect(CsvRecords.split(first, delimiter), options.getDefaultType() != null);
+
+        long recordNo = 1;
+        List<String> chunk = new ArrayList<>(chunkSize);
+        if (layout.hasHeader) {
+            writer.write(first);
+            writer.write(delimiter);
+            writer.write(String.join(String.valueOf(delimiter), "final_code", "check_digit", "error"));
+            writer.write('\n');
+        } else {
+            chunk.add(first);
+        }
+
+        ArrayDeque<ForkJoinTask<Chunk>> inFlight = new ArrayDeque<>();
+        int maxInFlight = parallelism * 2;
+        long chunkStart = recordNo;
+
+        String record;
+        while (true) {
+            record = readRecord(reader);
+            if (record != null && !record.isBlank()) {
+                chunk.add(record);
+            }
+            if (chunk.size() >= chunkSize || (record == null && !chunk.isEmpty())) {
+                Chunk task = new Chunk(chunk, chunkStart, delimiter, layout, options);
+                inFlight.addLast(pool.submit(task::process));
+                chunkStart += chunk.size();
+                chunk = new ArrayList<>(chunkSize);
+
+                if (inFlight.size() >= maxInFlight) {
+                    drainOne(inFlight, writer, summary);
+                }
+            }
+            if (record == null) {
+                break;
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            drainOne(inFlight, writer, summary);
+        }
+
+        writeSummary(writer, summary);
+        writer.flush();
+        return summary;
+    }
+
+    private void drainOne(ArrayDeque<ForkJoinTask<Chunk>> inFlight, Writer writer, CsvBatchSummary summary)
+            throws IOException {
+        Chunk done = inFlight.removeFirst().join();
+        writer.write(done.output.toString());
+        summary.add(done.summary);
+        writer.flush();
+    }
+
+    private static void writeSummary(Writer writer, CsvBatchSummary summary) throws IOException {
+        writer.write("# total=" + summary.getTotal() + " valid=" + summary.getValid()
+                + " invalid=" + summary.getInvalid() + "\n");
+        for (Map.Entry<String, Long> e : summary.getErrors().entrySet()) {
+            writer.write("# " + e.getKey() + "=" + e.getValue() + "\n");
+        }
+    }
+
+    /**
+     * Jeden CSV záznam; ak je v úvodzovkách zalomenie riadku, spojí viac fyzických riadkov.
+     */
+    private static String readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null || CsvRecords.quotesBalanced(line)) {
+            return line;
+        }
+        StringBuilder sb = new StringBuilder(line);
+        String next;
+        while ((next = reader.readLine()) != null) {
+            sb.append('\n').append(next);
+            if (CsvRecords.quotesBalanced(sb)) {
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static char detectDelimiter(String firstLine) {
+        int commas = 0;
+        int semicolons = 0;
+        int tabs = 0;
+        for (int i = 0; i < firstLine.length(); i++) {
+            switch (firstLine.charAt(i)) {
+                case ',' -> commas++;
+                case ';' -> semicolons++;
+                case '\t' -> tabs++;
+                default -> {
+                }
+            }
+        }
+        if (semicolons > commas && semicolons >= tabs) {
+            return ';';
+        }
+        return tabs > commas ? '\t' : ',';
+    }
+
+    /**
+     * Kde sú stĺpce s typom a hodnotou, a či je prvý riadok hlavička.
+     */
+    private static final class Layout {
+
+        final boolean hasHeader;
+        final int typeColumn;
+        final int valueColumn;
+
+        private Layout(boolean hasHeader, int typeColumn, int valueColumn) {
+            this.hasHeader = hasHeader;
+            this.typeColumn = typeColumn;
+            this.valueColumn = valueColumn;
+        }
+
+        static Layout detect(List<String> firstRow, boolean typeFromOptions) {
+            int type = -1;
+            int value = -1;
+            for (int i = 0; i < firstRow.size(); i++) {
+                String name = firstRow.get(i).trim().toLowerCase(Locale.ROOT);
+                switch (name) {
+                    case "type", "codetype", "typ" -> type = type < 0 ? i : type;
+                    case "value", "code", "kod", "kód", "gtin", "ean" -> value = value < 0 ? i : value;
+                    default -> {
+                    }
+                }
+            }
+            if (value >= 0) {
+                return new Layout(true, typeFromOptions ? -1 : type, value);
+            }
+            // bez hlavičky: [hodnota] ak je typ z parametra, inak [typ, hodnota]
+            return typeFromOptions ? new Layout(false, -1, 0) : new Layout(false, 0, 1);
+        }
+    }
+
+    /**
+     * Chunk záznamov spracovaný na ForkJoinPool-e; výstup drží ako hotový text.
+     */
+    private final class Chunk {
+
+        private final List<String> records;
+        private final long firstRecordNo;
+        private final char delimiter;
+        private final Layout layout;
+        private final CsvBatchOptions options;
+
+        final StringBuilder output;
+        final CsvBatchSummary summary = new CsvBatchSummary();
+
+        Chunk(List<String> records, long firstRecordNo, char delimiter, Layout layout, CsvBatchOptions options) {
+            this.records = records;
+            this.firstRecordNo = firstRecordNo;
+            this.delimiter = delimiter;
+            this.layout = layout;
+            this.options = options;
+            this.output = new StringBuilder(records.size() * 64);
+        }
+
+        Chunk process() {
+            for (int i = 0; i < records.size(); i++) {
+                String record = records.get(i);
+                EanValidationResult result = validateRecord(record, firstRecordNo + i);
+
+                output.append(record).append(delimiter);
+                if (result.isValid()) {
+                    summary.countValid();
+                    CsvRecords.appendField(output, result.getFinalCode(), delimiter);
+                    output.append(delimiter).append(result.getCheckDigit()).append(delimiter);
+                } else {
+                    summary.countError(result.getMessageCode());
+                    output.append(delimiter).append(delimiter);
+                    String error = options.isMessages()
+                            ? result.withMessages(options.getLanguage(), true).getMessage()
+                            : result.getMessageCode();
+                    CsvRecords.appendField(output, error, delimiter);
+                }
+                output.append('\n');
+            }
+            return this;
+        }
+
+        private EanValidationResult validateRecord(String record, long recordNo) {
+            List<String> fields = CsvRecords.split(record, delimiter);
+            String type = layout.typeColumn >= 0 && layout.typeColumn < fields.size()
+                    ? fields.get(layout.typeColumn)
+                    : options.getDefaultType();
+            String value = layout.valueColumn < fields.size() ? fields.get(layout.valueColumn).trim() : null;
+            if (type == null || type.isBlank() || value == null || value.isEmpty()) {
+                return EanValidationResult.invalid(ResultMessage.BULK_LINE_INCOMPLETE, recordNo);
+            }
+
+            EanValidationResult result = codeValidationService.validate(type, value);
+            if (result == null) {
+                return EanValidationResult.invalid(ResultMessage.UNSUPPORTED_CODE_TYPE, type);
+            }
+            return result;
+        }
+    }
+}
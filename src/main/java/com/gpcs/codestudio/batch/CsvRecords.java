@@ -0,0 +1,92 @@
+package com.gpcs.codestudio.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pomocné funkcie pre CSV podľa RFC 4180 (úvodzovky, zdvojené úvodzovky, oddeľovač v poli).
+ */
+final class CsvRecords {
+
+    private CsvRecords() {
+    }
+
+    /**
+     * True ak záznam nekončí vnútri poľa v úvodzovkách (počet '"' je párny).
+     */
+    static boolean quotesBalanced(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return (quotes & 1) == 0;
+    }
+
+    static List<String> split(String record, char delimiter) {
+        List<String> fields = new ArrayList<>(4);
+        int len = record.length();
+        int pos = 0;
+        while (true) {
+            if (pos < len && record.charAt(pos) == '"') {
+                StringBuilder sb = new StringBuilder();
+                pos++;
+                while (pos < len) {
+                    char c = record.charAt(pos);
+                    if (c == '"') {
+                        if (pos + 1 < len && record.charAt(pos + 1) == '"') {
+                            sb.append('"');
+                            pos += 2;
+                            continue;
+                        }
+                        pos++;
+                        break;
+                    }
+                    sb.append(c);
+                    pos++;
+                }
+                // znaky medzi koncovou úvodzovkou a oddeľovačom tolerujeme
+                while (pos < len && record.charAt(pos) != delimiter) {
+                    sb.append(record.charAt(pos++));
+                }
+                fields.add(sb.toString());
+            } else {
+                int end = record.indexOf(delimiter, pos);
+                if (end < 0) {
+                    end = len;
+                }
+                fields.add(record.substring(pos, end));
+                pos = end;
+            }
+            if (pos >= len) {
+                return fields;
+            }
+            pos++; // oddeľovač
+        }
+    }
+
+    static void appendField(StringBuilder out, String value, char delimiter) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
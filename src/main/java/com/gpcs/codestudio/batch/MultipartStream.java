@@ -0,0 +1,258 @@
+package com.gpcs.codestudio.batch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Minimálny streamovací parser multipart/form-data (RFC 7578) priamo nad telom requestu.
+ *
+ * Na rozdiel od servletového getParts() nič nebufferuje na disk ani do pamäte –
+ * telo časti sa číta cez {@link #partBody()} priamo zo siete, s pevným bufferom.
+ * Preto musí byť multipart v Springu vypnutý (spring.servlet.multipart.enabled=false),
+ * inak by telo prečítal kontajner skôr ako my.
+ */
+final class MultipartStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_LINE = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    private Map<String, String> headers = Map.of();
+    private boolean partEnded = true;
+
+    MultipartStream(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buf = new byte[Math.max(BUFFER_SIZE, delimiter.length * 4)];
+        // CRLF na začiatok, aby sa prvý boundary (hneď na začiatku tela) hľadal rovnako ako ostatné
+        buf[0] = '\r';
+        buf[1] = '\n';
+        limit = 2;
+    }
+
+    /**
+     * Vytiahne boundary z Content-Type hlavičky, alebo null.
+     */
+    static String boundary(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String p = param.trim();
+            if (p.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String value = p.substring(9).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Posunie sa na prvú ďalšiu časť, ktorá nesie súbor (má filename, alebo name="file").
+     *
+     * @return false ak už taká časť nie je
+     */
+    boolean nextFilePart() throws IOException {
+        while (nextPart()) {
+            String disposition = headers.getOrDefault("content-disposition", "");
+            if (dispositionParam(disposition, "filename") != null
+                    || "file".equals(dispositionParam(disposition, "name"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Preskočí zvyšok aktuálnej časti a načíta hlavičky ďalšej.
+     *
+     * @return false na konci multipartu
+     */
+    boolean nextPart() throws IOException {
+        if (!skipPastDelimiter()) {
+            return false;
+        }
+        if (!ensure(2)) {
+            return false;
+        }
+        if (buf[pos] == '-' && buf[pos + 1] == '-') {
+            return false; // záverečný boundary "--boundary--"
+        }
+        readLine(); // zvyšok riadku s boundary (CRLF, prípadne transport padding)
+
+        Map<String, String> parsed = new HashMap<>();
+        String line;
+        while ((line = readLine()) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                parsed.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+            }
+        }
+        headers = parsed;
+        partEnded = false;
+        return line != null;
+    }
+
+    Map<String, String> headers() {
+        return headers;
+    }
+
+    /**
+     * Telo aktuálnej časti ako stream, končí pred nasledujúcim boundary.
+     */
+    InputStream partBody() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                int n = read(one, 0, 1);
+                return n < 0 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return readPart(b, off, len);
+            }
+        };
+    }
+
+    private int readPart(byte[] b, int off, int len) throws IOException {
+        if (partEnded) {
+            return -1;
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (true) {
+            ensure(delimiter.length);
+            int idx = indexOfDelimiter();
+            int available;
+            if (idx == pos) {
+                partEnded = true;
+                return -1;
+            } else if (idx > pos) {
+                available = idx - pos;
+            } else if (eof) {
+                // chýba záverečný boundary – vrátime zvyšok
+                available = limit - pos;
+                if (available == 0) {
+                    partEnded = true;
+                    return -1;
+                }
+            } else {
+                // koniec bufferu môže byť začiatok delimitera, ten si necháme
+                available = limit - pos - (delimiter.length - 1);
+                if (available <= 0) {
+                    fillMore();
+                    continue;
+                }
+            }
+            int n = Math.min(len, available);
+            System.arraycopy(buf, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+    }
+
+    private boolean skipPastDelimiter() throws IOException {
+        while (true) {
+            int idx = indexOfDelimiter();
+            if (idx >= 0) {
+                pos = idx + delimiter.length;
+                return true;
+            }
+            if (eof) {
+                pos = limit;
+                return false;
+            }
+            pos = Math.max(pos, limit - (delimiter.length - 1));
+            fillMore();
+        }
+    }
+
+    private int indexOfDelimiter() {
+        byte first = delimiter[0];
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = pos; i <= last; i++) {
+            if (buf[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < delimiter.length; j++) {
+                if (buf[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private String readLine() throws IOException {
+        while (true) {
+            for (int i = pos; i + 1 < limit; i++) {
+                if (buf[i] == '\r' && buf[i + 1] == '\n') {
+                    String line = new String(buf, pos, i - pos, StandardCharsets.UTF_8);
+                    pos = i + 2;
+                    return line;
+                }
+            }
+            if (limit - pos > MAX_HEADER_LINE) {
+                throw new IOException("Multipart hlavička je príliš dlhá.");
+            }
+            if (eof) {
+                return null;
+            }
+            fillMore();
+        }
+    }
+
+    private boolean ensure(int count) throws IOException {
+        while (limit - pos < count && !eof) {
+            fillMore();
+        }
+        return limit - pos >= count;
+    }
+
+    private void fillMore() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, limit - pos);
+            limit -= pos;
+            pos = 0;
+        }
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    private static String dispositionParam(String disposition, String name) {
+        for (String param : disposition.split(";")) {
+            String p = param.trim();
+            int eq = p.indexOf('=');
+            if (eq > 0 && p.substring(0, eq).trim().equalsIgnoreCase(name)) {
+                String value = p.substring(eq + 1).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+}
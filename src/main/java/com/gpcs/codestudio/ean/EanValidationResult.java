@@ -1,27 +1,74 @@
 package com.gpcs.codestudio.ean;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Výsledok validácie kódu.
+ *
+ * Správa sa drží ako {@link ResultMessage} + argumenty a text sa renderuje lenivo až v {@link #getMessage()}
+ * (t.j. pri serializácii), v jazyku podľa {@link #withMessages(MessageLanguage, boolean)}.
+ * Hromadní klienti, ktorí potrebujú len valid / finalCode, tak neplatia za formátovanie textu.
+ */
 public class EanValidationResult {
 
     private final boolean valid;
     private final String input;
     private final String finalCode;
     private final Integer checkDigit;
-    private final String message;
 
-    private EanValidationResult(boolean valid, String input, String finalCode, Integer checkDigit, String message) {
+    private final ResultMessage messageCode;
+    private final Object[] messageArgs;
+    private final String rawMessage;
+
+    private final MessageLanguage language;
+    private final boolean includeMessage;
+
+    private EanValidationResult(boolean valid, String input, String finalCode, Integer checkDigit,
+                                ResultMessage messageCode, Object[] messageArgs, String rawMessage,
+                                MessageLanguage language, boolean includeMessage) {
         this.valid = valid;
         this.input = input;
         this.finalCode = finalCode;
         this.checkDigit = checkDigit;
-        this.message = message;
+        this.messageCode = messageCode;
+        this.messageArgs = messageArgs;
+        this.rawMessage = rawMessage;
+        this.language = language;
+        this.includeMessage = includeMessage;
+    }
+
+    public static EanValidationResult valid(String input, String finalCode, int checkDigit,
+                                            ResultMessage messageCode, Object... messageArgs) {
+        return new EanValidationResult(true, input, finalCode, checkDigit,
+                messageCode, messageArgs, null, MessageLanguage.SK, true);
     }
 
     public static EanValidationResult valid(String input, String finalCode, int checkDigit, String message) {
-        return new EanValidationResult(true, input, finalCode, checkDigit, message);
+        return new EanValidationResult(true, input, finalCode, checkDigit,
+                null, null, message, MessageLanguage.SK, true);
+    }
+
+    public static EanValidationResult invalid(ResultMessage messageCode, Object... messageArgs) {
+        return new EanValidationResult(false, null, null, null,
+                messageCode, messageArgs, null, MessageLanguage.SK, true);
     }
 
     public static EanValidationResult invalid(String message) {
-        return new EanValidationResult(false, null, null, null, message);
+        return new EanValidationResult(false, null, null, null,
+                null, null, message, MessageLanguage.SK, true);
+    }
+
+    /**
+     * Nastavenie správy z requestu: jazyk a či sa má správa vôbec posielať.
+     * Pre predvolené nastavenie (SK, so správou) vráti tú istú inštanciu bez alokácie.
+     */
+    public EanValidationResult withMessages(MessageLanguage language, boolean includeMessage) {
+        MessageLanguage lang = language != null ? language : MessageLanguage.SK;
+        if (lang == this.language && includeMessage == this.includeMessage) {
+            return this;
+        }
+        return new EanValidationResult(valid, input, finalCode, checkDigit,
+                messageCode, messageArgs, rawMessage, lang, includeMessage);
     }
 
     public boolean isValid() {
@@ -40,7 +87,24 @@ public class EanValidationResult {
         return checkDigit;
     }
 
+    /**
+     * Stabilný kód správy (napr. pre štatistiky chýb), nezávislý od jazyka.
+     */
+    public String getMessageCode() {
+        return messageCode != null ? messageCode.name() : null;
+    }
+
+    /**
+     * Text správy – renderuje sa až tu. Ak klient správy potlačil, vracia null a pole sa vynechá.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public String getMessage() {
-        return message;
+        if (!includeMessage) {
+            return null;
+        }
+        if (messageCode == null) {
+            return rawMessage;
+        }
+        return messageCode.render(language, messageArgs);
     }
 }
@@ -0,0 +1,122 @@
+package com.gpcs.codestudio.ean;
+
+/**
+ * Spoločné jadro GS1 modulo-10 kontrolnej číslice pre všetky GS1 dĺžky
+ * (EAN-8, UPC-A, EAN-13, GLN, ITF-14 / GTIN-14, SSCC-18, GSRN ...).
+ *
+ * Váhy sa počítajú sprava: posledná dátová číslica (tesne pred kontrolnou) má váhu 3,
+ * predposledná 1, atď. Vďaka tomu platí jeden vzorec pre ľubovoľnú dĺžku.
+ *
+ * Metódy pracujú priamo nad {@link CharSequence} / {@code byte[]} (ASCII),
+ * bez alokácie a bez regexov. Neplatný vstup (nečíselný znak, zlá dĺžka) vracia {@link #INVALID}.
+ */
+public final class Gs1CheckDigit {
+
+    public static final int EAN8_LENGTH = 8;
+    public static final int UPC_A_LENGTH = 12;
+    public static final int EAN13_LENGTH = 13;
+    public static final int GLN_LENGTH = 13;
+    public static final int ITF14_LENGTH = 14;
+    public static final int GTIN14_LENGTH = 14;
+    public static final int SSCC18_LENGTH = 18;
+
+    /** Najdlhší GS1 kľúč s mod-10 kontrolnou číslicou (GSIN = 17, SSCC/GSRN = 18). */
+    public static final int MAX_LENGTH = 18;
+
+    /** Návratová hodnota pre neplatný vstup. */
+    public static final int INVALID = -1;
+
+    private Gs1CheckDigit() {
+    }
+
+    /**
+     * Vypočíta kontrolnú číslicu pre celý {@code base} (bez kontrolnej číslice).
+     */
+    public static int compute(CharSequence base) {
+        if (base == null) {
+            return INVALID;
+        }
+        return compute(base, 0, base.length());
+    }
+
+    /**
+     * Vypočíta kontrolnú číslicu pre {@code length} číslic od pozície {@code offset}.
+     */
+    public static int compute(CharSequence base, int offset, int length) {
+        if (length <= 0 || length >= MAX_LENGTH) {
+            return INVALID;
+        }
+        int sum = 0;
+        int weight = 3;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            int d = base.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return INVALID;
+            }
+            sum += d * weight;
+            weight ^= 2; // 3 -> 1 -> 3 ...
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Variant nad ASCII bajtmi (napr. priamo z prijatého bufferu).
+     */
+    public static int compute(byte[] base, int offset, int length) {
+        if (length <= 0 || length >= MAX_LENGTH) {
+            return INVALID;
+        }
+        int sum = 0;
+        int weight = 3;
+        for (int i = offset + length - 1; i >= offset; i--) {
+            int d = base[i] - '0';
+            if (d < 0 || d > 9) {
+                return INVALID;
+            }
+            sum += d * weight;
+            weight ^= 2;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /**
+     * Overí kompletný kód (posledná číslica = kontrolná číslica).
+     */
+    public static boolean isValid(CharSequence code) {
+        return code != null && isValid(code, 0, code.length());
+    }
+
+    public static boolean isValid(CharSequence code, int offset, int length) {
+        if (length < 2) {
+            return false;
+        }
+        int expected = compute(code, offset, length - 1);
+        return expected != INVALID && code.charAt(offset + length - 1) - '0' == expected;
+    }
+
+    public static boolean isValid(byte[] code, int offset, int length) {
+        if (length < 2) {
+            return false;
+        }
+        int expected = compute(code, offset, length - 1);
+        return expected != INVALID && code[offset + length - 1] - '0' == expected;
+    }
+
+    /**
+     * True, ak má vstup presne {@code length} znakov a všetky sú číslice 0-9.
+     * Náhrada za {@code value.matches("\\d{N}")} bez kompilácie Patternu.
+     */
+    public static boolean isDigits(CharSequence value, int length) {
+        return value != null && value.length() == length && isDigits(value, 0, length);
+    }
+
+    public static boolean isDigits(CharSequence value, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,169 @@
+package com.gpcs.codestudio.ean;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Postupnosť po sebe idúcich číselných kľúčov: pevná časť + počítadlo (napr. GS1 Company Prefix
+ * + serial reference pri SSCC), voliteľne s GS1 mod-10 kontrolnou číslicou na konci.
+ *
+ * Kontrolná číslica sa počíta inkrementálne: vážený súčet sa drží priebežne a pri {@link #advance()}
+ * sa upravia len tie pozície, ktoré sa zmenili (posledná číslica a prípadné prenosy 9 → 0).
+ * V priemere sa teda na jeden kód zmení ~1,1 číslice namiesto prepočtu všetkých 17.
+ *
+ * Rastúca postupnosť ({@link #growing(String, int)}, napr. sériové číslo AI 21) nemá pevnú šírku:
+ * pri prenose cez všetky deviatky sa počítadlo rozšíri o číslicu zľava (9 → 10, 0999 → 1000).
+ *
+ * Znaky sú v jednom {@code char[]}, ktorý sa prepisuje na mieste – nie je thread-safe.
+ */
+public final class Gs1KeySequence {
+
+    private final char[] digits;
+    private final int counterEnd;
+    private final boolean checkDigit;
+    private final boolean growing;
+    private int counterStart;
+    private int sum;
+
+    private Gs1KeySequence(String fixed, String counter, boolean checkDigit) {
+        this.checkDigit = checkDigit;
+        this.growing = false;
+        this.counterStart = fixed.length();
+        this.counterEnd = counterStart + counter.length();
+        this.digits = new char[counterEnd + (checkDigit ? 1 : 0)];
+        fixed.getChars(0, fixed.length(), digits, 0);
+        counter.getChars(0, counter.length(), digits, counterStart);
+
+        if (checkDigit) {
+            int weight = 3;
+            for (int i = counterEnd - 1; i >= 0; i--) {
+                sum += (digits[i] - '0') * weight;
+                weight ^= 2;
+            }
+            updateCheckDigit();
+        }
+    }
+
+    /**
+     * @param fixed      pevná časť (len číslice, môže byť prázdna)
+     * @param counter    počiatočná hodnota počítadla, jej dĺžka je pevná šírka (vedúce nuly sa zachovajú)
+     * @param checkDigit či na koniec pripájať GS1 kontrolnú číslicu
+     * @return null ak vstup nie sú číslice, počítadlo je prázdne alebo je kľúč s kontrolnou číslicou
+     *         dlhší ako {@link Gs1CheckDigit#MAX_LENGTH}
+     */
+    public static Gs1KeySequence of(String fixed, String counter, boolean checkDigit) {
+        if (fixed == null || counter == null || counter.isEmpty()
+                || !Gs1CheckDigit.isDigits(fixed, 0, fixed.length())
+                || !Gs1CheckDigit.isDigits(counter, 0, counter.length())) {
+            return null;
+        }
+        if (checkDigit && fixed.length() + counter.length() + 1 > Gs1CheckDigit.MAX_LENGTH) {
+            return null;
+        }
+        return new Gs1KeySequence(fixed, counter, checkDigit);
+    }
+
+    // rastúce počítadlo je zarovnané doprava v poli dĺžky maxWidth, platné znaky sú od counterStart
+    private Gs1KeySequence(String counter, int maxWidth) {
+        this.checkDigit = false;
+        this.growing = true;
+        this.digits = new char[maxWidth];
+        this.counterEnd = maxWidth;
+        this.counterStart = maxWidth - counter.length();
+        counter.getChars(0, counter.length(), digits, counterStart);
+    }
+
+    /**
+     * Samotné počítadlo bez pevnej časti a kontrolnej číslice, ktoré sa pri prenose rozširuje.
+     *
+     * @param counter  počiatočná hodnota (vedúce nuly sa zachovajú až do prvého rozšírenia)
+     * @param maxWidth najväčší počet číslic, na ktorý môže počítadlo narásť
+     * @return null ak vstup nie sú číslice, je prázdny alebo dlhší ako maxWidth
+     */
+    public static Gs1KeySequence growing(String counter, int maxWidth) {
+        if (counter == null || counter.isEmpty() || counter.length() > maxWidth
+                || !Gs1CheckDigit.isDigits(counter, 0, counter.length())) {
+            return null;
+        }
+        return new Gs1KeySequence(counter, maxWidth);
+    }
+
+    /**
+     * Posun na ďalšiu hodnotu počítadla.
+     *
+     * @return false ak počítadlo pretieklo (všetky číslice boli 9 a rásť už nemôže); sekvencia je potom neplatná
+     */
+    public boolean advance() {
+        // váha poslednej číslice počítadla: 3 ak je hneď pred kontrolnou číslicou
+        int weight = checkDigit ? 3 : 0;
+        for (int i = counterEnd - 1; i >= counterStart; i--) {
+            if (digits[i] != '9') {
+                digits[i]++;
+                sum += weight;
+                updateCheckDigit();
+                return true;
+            }
+            digits[i] = '0';
+            sum -= 9 * weight;
+            if (checkDigit) {
+                weight ^= 2;
+            }
+        }
+        if (growing && counterStart > 0) {
+            digits[--counterStart] = '1';
+            return true;
+        }
+        updateCheckDigit();
+        return false;
+    }
+
+    /**
+     * Koľkokrát ešte možno zavolať {@link #advance()} bez pretečenia
+     * ({@link Long#MAX_VALUE} pri počítadlách dlhších ako 18 číslic). Rastúce počítadlo sa počíta
+     * až po najväčšiu šírku.
+     */
+    public long remaining() {
+        int width = growing ? counterEnd : counterEnd - counterStart;
+        if (width > 18) {
+            return Long.MAX_VALUE;
+        }
+        long value = 0;
+        long max = 0;
+        for (int i = counterEnd - width; i < counterEnd; i++) {
+            value = value * 10 + (i < counterStart ? 0 : digits[i] - '0');
+            max = max * 10 + 9;
+        }
+        return max - value;
+    }
+
+    public int length() {
+        return digits.length - first();
+    }
+
+    public int checkDigit() {
+        return checkDigit ? digits[digits.length - 1] - '0' : Gs1CheckDigit.INVALID;
+    }
+
+    public void appendTo(StringBuilder sb) {
+        sb.append(digits, first(), length());
+    }
+
+    public void writeTo(Writer out) throws IOException {
+        out.write(digits, first(), length());
+    }
+
+    @Override
+    public String toString() {
+        return new String(digits, first(), length());
+    }
+
+    private int first() {
+        return growing ? counterStart : 0;
+    }
+
+    private void updateCheckDigit() {
+        if (checkDigit) {
+            digits[digits.length - 1] = (char) ('0' + (10 - sum % 10) % 10);
+        }
+    }
+}
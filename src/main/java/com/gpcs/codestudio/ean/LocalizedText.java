@@ -0,0 +1,9 @@
+package com.gpcs.codestudio.ean;
+
+/**
+ * Argument správy, ktorý sa pri renderovaní prekladá (napr. názov typu GS1 reťazca).
+ */
+public interface LocalizedText {
+
+    String text(MessageLanguage language);
+}
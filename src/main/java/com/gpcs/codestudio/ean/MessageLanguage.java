@@ -0,0 +1,30 @@
+package com.gpcs.codestudio.ean;
+
+import java.util.Locale;
+
+/**
+ * Jazyk textových správ vo výsledkoch validácie. Predvolený je slovenčina.
+ */
+public enum MessageLanguage {
+    SK,
+    EN,
+    CS;
+
+    /**
+     * Prevedie hodnotu z requestu ("sk", "en", "cs"/"cz", aj "en-US" ...) na jazyk,
+     * neznáma alebo prázdna hodnota = {@link #SK}.
+     */
+    public static MessageLanguage from(String value) {
+        if (value == null || value.isBlank()) {
+            return SK;
+        }
+        String lang = value.trim().toLowerCase(Locale.ROOT);
+        if (lang.startsWith("en")) {
+            return EN;
+        }
+        if (lang.startsWith("cs") || lang.startsWith("cz")) {
+            return CS;
+        }
+        return SK;
+    }
+}
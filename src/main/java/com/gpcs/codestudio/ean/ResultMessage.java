@@ -0,0 +1,181 @@
+package com.gpcs.codestudio.ean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kódy správ pre {@link EanValidationResult} so šablónami v SK / EN / CS.
+ *
+ * Šablóny sa skompilujú raz pri načítaní triedy na fragmenty textu a indexy argumentov
+ * ({0}, {1} ...), takže renderovanie je len spájanie do StringBuilder-a – bez String.format
+ * a až vtedy, keď sa správa naozaj serializuje.
+ */
+public enum ResultMessage {
+
+    REQUEST_INCOMPLETE(
+            "Telo requestu, type a value sú povinné.",
+            "Request body, type and value are required.",
+            "Tělo požadavku, type a value jsou povinné."),
+    UNSUPPORTED_CODE_TYPE(
+            "Nepodporovaný typ kódu: {0}",
+            "Unsupported code type: {0}",
+            "Nepodporovaný typ kódu: {0}"),
+    BULK_LINE_NOT_JSON(
+            "Riadok {0} nie je platný JSON objekt {type, value}.",
+            "Line {0} is not a valid JSON object {type, value}.",
+            "Řádek {0} není platný JSON objekt {type, value}."),
+    BULK_LINE_INCOMPLETE(
+            "Riadok {0}: type a value sú povinné.",
+            "Line {0}: type and value are required.",
+            "Řádek {0}: type a value jsou povinné."),
+
+    CODE_INVALID_LENGTH(
+            "Vstup pre {0} musí mať presne {1} číslic.",
+            "{0} input must have exactly {1} digits.",
+            "Vstup pro {0} musí mít přesně {1} číslic."),
+    ITF14_INVALID_LENGTH(
+            "Vstup pre {0} (GTIN-14 bez kontrolnej číslice) musí mať presne {1} číslic.",
+            "{0} input (GTIN-14 without check digit) must have exactly {1} digits.",
+            "Vstup pro {0} (GTIN-14 bez kontrolní číslice) musí mít přesně {1} číslic."),
+    CODE_COMPLETED(
+            "Hodnota {0} '{1}' bola prijatá, kontrolná číslica '{2}' bola automaticky doplnená. Výsledný kód je {3}.",
+            "{0} value '{1}' was accepted, check digit '{2}' was added automatically. The resulting code is {3}.",
+            "Hodnota {0} '{1}' byla přijata, kontrolní číslice '{2}' byla automaticky doplněna. Výsledný kód je {3}."),
+
+    GS1_EMPTY(
+            "Vstup pre {0} nesmie byť prázdny.",
+            "{0} input must not be empty.",
+            "Vstup pro {0} nesmí být prázdný."),
+    GS1_UNSUPPORTED_SYMBOLOGY(
+            "{0} má nepodporovaný symbology identifier – očakáva sa ]C1, ]d2, ]e0, ]Q3 alebo ]J1.",
+            "{0} has an unsupported symbology identifier – expected ]C1, ]d2, ]e0, ]Q3 or ]J1.",
+            "{0} má nepodporovaný symbology identifier – očekává se ]C1, ]d2, ]e0, ]Q3 nebo ]J1."),
+    GS1_MISSING_AI(
+            "Neočakávaný formát pre {0}. Očakáva sa Application Identifier (pozícia {1}).",
+            "Unexpected format of {0}. Application Identifier expected (position {1}).",
+            "Neočekávaný formát pro {0}. Očekává se Application Identifier (pozice {1})."),
+    GS1_MALFORMED_AI(
+            "AI v {0} musí byť v tvare (NN), (NNN) alebo (NNNN) (pozícia {1}).",
+            "AI in {0} must have the form (NN), (NNN) or (NNNN) (position {1}).",
+            "AI v {0} musí být ve tvaru (NN), (NNN) nebo (NNNN) (pozice {1})."),
+    GS1_UNKNOWN_AI(
+            "Neznámy Application Identifier podľa GS1 General Specifications (pozícia {0}).",
+            "Unknown Application Identifier according to the GS1 General Specifications (position {0}).",
+            "Neznámý Application Identifier podle GS1 General Specifications (pozice {0})."),
+    GS1_EMPTY_VALUE(
+            "Application Identifier nemá žiadnu hodnotu (pozícia {0}).",
+            "Application Identifier has no value (position {0}).",
+            "Application Identifier nemá žádnou hodnotu (pozice {0})."),
+    GS1_TRUNCATED_VALUE(
+            "Element s pevnou dĺžkou je neúplný (pozícia {0}).",
+            "Fixed-length element is incomplete (position {0}).",
+            "Element s pevnou délkou je neúplný (pozice {0})."),
+    GS1_AI_FIXED_LENGTH(
+            "AI ({0}) {1} – hodnota musí mať presne {2} znakov.",
+            "AI ({0}) {1} – value must have exactly {2} characters.",
+            "AI ({0}) {1} – hodnota musí mít přesně {2} znaků."),
+    GS1_AI_LENGTH_RANGE(
+            "AI ({0}) {1} – hodnota musí mať {2} až {3} znakov.",
+            "AI ({0}) {1} – value must have {2} to {3} characters.",
+            "AI ({0}) {1} – hodnota musí mít {2} až {3} znaků."),
+    GS1_AI_NUMERIC_ONLY(
+            "AI ({0}) {1} – hodnota môže obsahovať iba číslice.",
+            "AI ({0}) {1} – value may contain digits only.",
+            "AI ({0}) {1} – hodnota může obsahovat pouze číslice."),
+    GS1_AI_INVALID_CHARACTER(
+            "AI ({0}) {1} – hodnota obsahuje nepovolený znak (formát {2}).",
+            "AI ({0}) {1} – value contains a character that is not allowed (format {2}).",
+            "AI ({0}) {1} – hodnota obsahuje nepovolený znak (formát {2})."),
+    GS1_AI_CHECK_DIGIT(
+            "AI ({0}) {1} – hodnota obsahuje nesprávnu kontrolnú číslicu.",
+            "AI ({0}) {1} – value has an incorrect check digit.",
+            "AI ({0}) {1} – hodnota obsahuje nesprávnou kontrolní číslici."),
+    GS1_AI_INVALID_DATE(
+            "AI ({0}) {1} – neplatný dátum alebo čas (YYMMDD, YYMMDDHH[MM]).",
+            "AI ({0}) {1} – invalid date or time (YYMMDD, YYMMDDHH[MM]).",
+            "AI ({0}) {1} – neplatné datum nebo čas (YYMMDD, YYMMDDHH[MM])."),
+    GS1_VALID(
+            "{0} bol úspešne overený.",
+            "{0} was validated successfully.",
+            "{0} byl úspěšně ověřen."),
+    GS1_VALID_WITH_GTIN(
+            "{0} bol úspešne overený. Hlavný GTIN (AI 01) má platnú kontrolnú číslicu.",
+            "{0} was validated successfully. The main GTIN (AI 01) has a valid check digit.",
+            "{0} byl úspěšně ověřen. Hlavní GTIN (AI 01) má platnou kontrolní číslici.");
+
+    private final Template[] templates;
+
+    ResultMessage(String sk, String en, String cs) {
+        this.templates = new Template[]{new Template(sk), new Template(en), new Template(cs)};
+    }
+
+    public String render(MessageLanguage language, Object[] args) {
+        return templates[language.ordinal()].render(language, args);
+    }
+
+    /**
+     * Šablóna rozdelená na fragmenty: fragments[0] arg[argIndex[0]] fragments[1] ... fragments[n].
+     * Za placeholder sa považuje len {číslo}, ostatné zložené zátvorky zostávajú doslovne.
+     */
+    private static final class Template {
+
+        private final String[] fragments;
+        private final int[] argIndex;
+        private final int literalLength;
+
+        Template(String pattern) {
+            List<String> parts = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            int start = 0;
+            int i = 0;
+            while (i < pattern.length()) {
+                int close = pattern.charAt(i) == '{' ? pattern.indexOf('}', i) : -1;
+                if (close > i + 1 && isNumber(pattern, i + 1, close)) {
+                    parts.add(pattern.substring(start, i));
+                    indexes.add(Integer.parseInt(pattern.substring(i + 1, close)));
+                    i = close + 1;
+                    start = i;
+                } else {
+                    i++;
+                }
+            }
+            parts.add(pattern.substring(start));
+
+            this.fragments = parts.toArray(new String[0]);
+            this.argIndex = indexes.stream().mapToInt(Integer::intValue).toArray();
+            int length = 0;
+            for (String f : fragments) {
+                length += f.length();
+            }
+            this.literalLength = length;
+        }
+
+        private static boolean isNumber(String s, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String render(MessageLanguage language, Object[] args) {
+            if (argIndex.length == 0) {
+                return fragments[0];
+            }
+            StringBuilder sb = new StringBuilder(literalLength + argIndex.length * 16);
+            for (int i = 0; i < argIndex.length; i++) {
+                sb.append(fragments[i]);
+                int index = argIndex[i];
+                Object arg = args != null && index < args.length ? args[index] : null;
+                if (arg instanceof LocalizedText text) {
+                    sb.append(text.text(language));
+                } else {
+                    sb.append(arg);
+                }
+            }
+            sb.append(fragments[argIndex.length]);
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Stav asynchrónneho exportu pre FE (odpoveď na submit aj na polling).
+ */
+public class AsyncExportInfo {
+
+    private String id;
+    private AsyncExportStatus status;
+    private ExportPriority priority;
+    private String fileName;
+    private String error;
+    private long createdAt;
+    private Long finishedAt;
+
+    /**
+     * Kedy sa výsledok zahodí (epoch ms); null kým export nie je hotový.
+     */
+    private Long expiresAt;
+
+    /**
+     * Veľkosť EPS v bajtoch; null kým export nie je hotový.
+     */
+    private Integer size;
+
+    public AsyncExportInfo() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public AsyncExportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AsyncExportStatus status) {
+        this.status = status;
+    }
+
+    public ExportPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ExportPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Long finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+}
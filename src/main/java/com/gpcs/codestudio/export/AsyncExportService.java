@@ -0,0 +1,260 @@
+package com.gpcs.codestudio.export;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchrónny EPS export: request sa len zaradí do fronty a hneď sa vráti ID,
+ * konverziu robí pevný počet worker threadov mimo Tomcat threadov.
+ *
+ * Fronta je prioritná ({@link ExportPriority}, v rámci priority FIFO) a ohraničená –
+ * pri plnej fronte {@link #submit} vráti null a controller odpovie 429.
+ * Hotové výsledky sa držia {@code retentionMs} od dokončenia, potom ich zmaže sweeper. Aj držané exporty
+ * sú ohraničené ({@code maxRetained} kusov, {@code maxRetainedBytes} bajtov EPS) – kým sa neuvoľnia,
+ * {@link #submit} tiež vracia null, inak by rýchle konverzie hromadili výsledky bez 429.
+ */
+@Service
+public class AsyncExportService {
+
+    private final EpsExportCache epsExportCache;
+    private final PriorityBlockingQueue<Task> queue = new PriorityBlockingQueue<>();
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService sweeper;
+    private final int queueCapacity;
+    private final int maxRetained;
+    private final long maxRetainedBytes;
+    private final long retentionMs;
+    private final int retryAfterSeconds;
+
+    public AsyncExportService(
+            EpsExportCache epsExportCache,
+            @Value("${codestudio.export.async.workers:2}") int workerCount,
+            @Value("${codestudio.export.async.queueCapacity:100}") int queueCapacity,
+            @Value("${codestudio.export.async.retentionMs:600000}") long retentionMs,
+            @Value("${codestudio.export.async.retryAfterSeconds:5}") int retryAfterSeconds,
+            @Value("${codestudio.export.async.maxRetained:1000}") int maxRetained,
+            @Value("${codestudio.export.async.maxRetainedBytes:268435456}") long maxRetainedBytes
+    ) {
+        this.epsExportCache = epsExportCache;
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.maxRetained = Math.max(this.queueCapacity, maxRetained);
+        this.maxRetainedBytes = Math.max(0, maxRetainedBytes);
+        this.retentionMs = Math.max(1000, retentionMs);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+
+        for (int i = 0; i < Math.max(1, workerCount); i++) {
+            Thread worker = new Thread(this::workLoop, "eps-async-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "eps-async-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long sweepMs = Math.min(60_000, Math.max(1000, this.retentionMs / 4));
+        sweeper.scheduleWithFixedDelay(this::sweepExpired, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Zaradí export do fronty.
+     *
+     * @return stav nového exportu, alebo null ak je fronta plná alebo je držaných priveľa výsledkov
+     */
+    public AsyncExportInfo submit(SvgExportRequest request, ExportPriority priority) {
+        if (isRetentionFull()) {
+            sweepExpired();
+            if (isRetentionFull()) {
+                return null;
+            }
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            return null;
+        }
+        Task task = new Task(UUID.randomUUID().toString(), request.getSvg(), request.getFileName(),
+                priority, sequence.incrementAndGet());
+        tasks.put(task.id, task);
+        queue.add(task);
+        return task.toInfo();
+    }
+
+    /**
+     * @return null ak export neexistuje alebo už expiroval
+     */
+    public AsyncExportInfo getInfo(String id) {
+        Task task = find(id);
+        return task != null ? task.toInfo() : null;
+    }
+
+    /**
+     * EPS hotového exportu.
+     *
+     * @return null ak export neexistuje, expiroval alebo ešte nie je hotový
+     */
+    public byte[] getResult(String id) {
+        Task task = find(id);
+        return task != null && task.status == AsyncExportStatus.DONE ? task.result : null;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    private Task find(String id) {
+        if (id == null) {
+            return null;
+        }
+        Task task = tasks.get(id);
+        if (task != null && task.isExpired(System.currentTimeMillis())) {
+            remove(task);
+            return null;
+        }
+        return task;
+    }
+
+    private boolean isRetentionFull() {
+        return tasks.size() >= maxRetained || retainedBytes.get() >= maxRetainedBytes;
+    }
+
+    private void remove(Task task) {
+        if (tasks.remove(task.id, task)) {
+            byte[] bytes = task.result;
+            if (bytes != null) {
+                retainedBytes.addAndGet(-bytes.length);
+            }
+        }
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Task task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queued.decrementAndGet();
+            run(task);
+        }
+    }
+
+    private void run(Task task) {
+        task.status = AsyncExportStatus.RUNNING;
+        try {
+            if (task.svg == null || task.svg.isBlank()) {
+                throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
+            }
+            byte[] eps = epsExportCache.convertSvgToEps(task.svg);
+            retainedBytes.addAndGet(eps.length);
+            task.result = eps;
+            task.finish(AsyncExportStatus.DONE, null, retentionMs);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            task.finish(AsyncExportStatus.FAILED, message, retentionMs);
+        }
+    }
+
+    private void sweepExpired() {
+        long now = System.currentTimeMillis();
+        for (Task task : tasks.values()) {
+            if (task.isExpired(now)) {
+                remove(task);
+            }
+        }
+    }
+
+    /**
+     * Jeden export vo fronte. Stav a výsledok sa zapisujú z worker threadu, čítajú z request threadov.
+     */
+    private static final class Task implements Comparable<Task> {
+
+        final String id;
+        final String fileName;
+        final ExportPriority priority;
+        final long seq;
+        final long createdAt = System.currentTimeMillis();
+
+        // SVG sa po konverzii zahodí, výsledok ostáva len do expirácie
+        volatile String svg;
+        volatile AsyncExportStatus status = AsyncExportStatus.QUEUED;
+        volatile byte[] result;
+        volatile String error;
+        volatile long finishedAt;
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        Task(String id, String svg, String fileName, ExportPriority priority, long seq) {
+            this.id = id;
+            this.svg = svg;
+            this.fileName = fileName;
+            this.priority = priority;
+            this.seq = seq;
+        }
+
+        void finish(AsyncExportStatus status, String error, long retentionMs) {
+            this.svg = null;
+            this.error = error;
+            this.finishedAt = System.currentTimeMillis();
+            this.expiresAt = finishedAt + retentionMs;
+            // status až nakoniec – kto vidí DONE, vidí aj výsledok
+            this.status = status;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        AsyncExportInfo toInfo() {
+            AsyncExportStatus current = status;
+            AsyncExportInfo info = new AsyncExportInfo();
+            info.setId(id);
+            info.setStatus(current);
+            info.setPriority(priority);
+            info.setFileName(fileName);
+            info.setCreatedAt(createdAt);
+            if (current == AsyncExportStatus.DONE || current == AsyncExportStatus.FAILED) {
+                info.setError(error);
+                info.setFinishedAt(finishedAt);
+                info.setExpiresAt(expiresAt);
+                byte[] bytes = result;
+                info.setSize(bytes != null ? bytes.length : null);
+            }
+            return info;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(seq, other.seq);
+        }
+    }
+}
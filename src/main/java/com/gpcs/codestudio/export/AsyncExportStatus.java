@@ -0,0 +1,11 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Stav asynchrónneho exportu.
+ */
+public enum AsyncExportStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,70 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Rozmery a vzhľad serverom renderovaného čiarového kódu.
+ *
+ * moduleWidth – šírka modulu (X) v mm, predvolene 0,33 mm (EAN-13 pri 100 %), povolené 0,1 – 10 mm
+ * barHeight   – výška čiar v mm; null = predvolená výška symbológie, inak 1 – 1000 mm
+ * quietZone   – či nechať v SVG tiché zóny (predvolene áno)
+ * showText    – či kresliť text pre človeka pod čiarami (predvolene áno)
+ */
+public class BarcodeRenderOptions {
+
+    public static final double DEFAULT_MODULE_WIDTH = 0.33;
+    public static final double MIN_MODULE_WIDTH = 0.1;
+    public static final double MAX_MODULE_WIDTH = 10;
+    public static final double MIN_BAR_HEIGHT = 1;
+    public static final double MAX_BAR_HEIGHT = 1000;
+
+    private double moduleWidth = DEFAULT_MODULE_WIDTH;
+    private Double barHeight;
+    private boolean quietZone = true;
+    private boolean showText = true;
+
+    public BarcodeRenderOptions() {
+    }
+
+    public double getModuleWidth() {
+        return moduleWidth;
+    }
+
+    /**
+     * @throws IllegalArgumentException mimo 0,1 – 10 mm (aj NaN a nekonečno)
+     */
+    public void setModuleWidth(double moduleWidth) {
+        if (!(moduleWidth >= MIN_MODULE_WIDTH && moduleWidth <= MAX_MODULE_WIDTH)) {
+            throw new IllegalArgumentException("Šírka modulu musí byť 0,1 – 10 mm, zadané: " + moduleWidth);
+        }
+        this.moduleWidth = moduleWidth;
+    }
+
+    public Double getBarHeight() {
+        return barHeight;
+    }
+
+    /**
+     * @throws IllegalArgumentException mimo 1 – 1000 mm (null = predvolená výška)
+     */
+    public void setBarHeight(Double barHeight) {
+        if (barHeight != null && !(barHeight >= MIN_BAR_HEIGHT && barHeight <= MAX_BAR_HEIGHT)) {
+            throw new IllegalArgumentException("Výška čiar musí byť 1 – 1000 mm, zadané: " + barHeight);
+        }
+        this.barHeight = barHeight;
+    }
+
+    public boolean isQuietZone() {
+        return quietZone;
+    }
+
+    public void setQuietZone(boolean quietZone) {
+        this.quietZone = quietZone;
+    }
+
+    public boolean isShowText() {
+        return showText;
+    }
+
+    public void setShowText(boolean showText) {
+        this.showText = showText;
+    }
+}
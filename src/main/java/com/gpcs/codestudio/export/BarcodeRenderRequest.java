@@ -0,0 +1,104 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Request na serverové renderovanie čiarového kódu.
+ *
+ * type  – "EAN13", "EAN8", "UPCA", "ITF14"
+ * value – kompletný kód, alebo základ bez kontrolnej číslice (doplní sa)
+ * ostatné polia – viď {@link BarcodeRenderOptions}; null = predvolená hodnota
+ */
+public class BarcodeRenderRequest {
+
+    private String type;
+    private String value;
+    private Double moduleWidth;
+    private Double barHeight;
+    private Boolean quietZone;
+    private Boolean showText;
+
+    /**
+     * Voliteľný názov súboru – napr. "etiketa_123.svg"
+     */
+    private String fileName;
+
+    public BarcodeRenderRequest() {
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public Double getModuleWidth() {
+        return moduleWidth;
+    }
+
+    public void setModuleWidth(Double moduleWidth) {
+        this.moduleWidth = moduleWidth;
+    }
+
+    public Double getBarHeight() {
+        return barHeight;
+    }
+
+    public void setBarHeight(Double barHeight) {
+        this.barHeight = barHeight;
+    }
+
+    public Boolean getQuietZone() {
+        return quietZone;
+    }
+
+    public void setQuietZone(Boolean quietZone) {
+        this.quietZone = quietZone;
+    }
+
+    public Boolean getShowText() {
+        return showText;
+    }
+
+    public void setShowText(Boolean showText) {
+        this.showText = showText;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /**
+     * Prevedie voliteľné polia requestu na nastavenia renderera.
+     *
+     * @throws IllegalArgumentException pri rozmeroch mimo povoleného rozsahu ({@link BarcodeRenderOptions})
+     */
+    public BarcodeRenderOptions toOptions() {
+        BarcodeRenderOptions options = new BarcodeRenderOptions();
+        if (moduleWidth != null) {
+            options.setModuleWidth(moduleWidth);
+        }
+        if (barHeight != null) {
+            options.setBarHeight(barHeight);
+        }
+        if (quietZone != null) {
+            options.setQuietZone(quietZone);
+        }
+        if (showText != null) {
+            options.setShowText(showText);
+        }
+        return options;
+    }
+}
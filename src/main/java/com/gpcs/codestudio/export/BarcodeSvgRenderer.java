@@ -0,0 +1,281 @@
+package com.gpcs.codestudio.export;
+
+import com.gpcs.codestudio.symbology.BarcodeModel;
+import com.gpcs.codestudio.symbology.BarcodeText;
+import com.gpcs.codestudio.symbology.Symbology;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renderovanie {@link BarcodeModel} do SVG priamo do {@link OutputStream} – bez DOM a bez String-u.
+ *
+ * Súradnice sú v moduloch (viewBox), fyzický rozmer dáva width/height v mm. Všetko, čo závisí len
+ * od symbológie, tichej zóny a rozmerov (hlavička, výšky čiar, pozícia textu, bearer bary ITF-14),
+ * je predpočítané ako bajtové fragmenty v {@link SvgTemplate} a cachované. Pre konkrétny kód sa
+ * zapisujú už len x-ové pozície a šírky čiar. Všetky čiary sú v jednom {@code <path>},
+ * takže výstup je malý a pre rovnaký vstup vždy bajtovo rovnaký (vhodný aj ako kľúč cache EPS).
+ */
+@Service
+public class BarcodeSvgRenderer {
+
+    /** Predĺženie guard čiar EAN/UPC pod ostatné čiary (v moduloch). */
+    private static final int GUARD_EXTENSION = 5;
+
+    /** Hrúbka bearer bar-u ITF-14 (v moduloch). */
+    private static final int BEARER = 5;
+
+    private static final int FONT_SIZE = 9;
+
+    /** Rozmery s neobvyklými hodnotami sa nerenderujú cez cache, aby nerástla donekonečna. */
+    private static final int MAX_TEMPLATES = 256;
+
+    private static final byte[] M = ascii("M");
+    private static final byte[] Z = ascii("z");
+    private static final byte[] TEXT_X = ascii("<text x=\"");
+    private static final byte[] TEXT_END = ascii("</text>");
+
+    private final Map<String, SvgTemplate> templates = new ConcurrentHashMap<>();
+
+    public void render(BarcodeModel model, BarcodeRenderOptions options, OutputStream out) throws IOException {
+        SvgTemplate template = template(model, options);
+        AsciiSink sink = new AsciiSink(out);
+
+        sink.write(template.header);
+        byte[] widths = model.widths();
+        boolean[] guards = model.guards();
+        int x = template.left;
+        for (int i = 0; i < widths.length; i++) {
+            int w = widths[i];
+            if ((i & 1) == 0) {
+                sink.write(M);
+                sink.writeInt(x);
+                sink.write(template.barTop);
+                sink.writeInt(w);
+                sink.write(guards[i] ? template.guardTail : template.normalTail);
+                sink.writeInt(w);
+                sink.write(Z);
+            }
+            x += w;
+        }
+        sink.write(template.pathEnd);
+
+        if (options.isShowText()) {
+            for (BarcodeText text : model.getTexts()) {
+                sink.write(TEXT_X);
+                sink.writeHalf(2 * template.left + text.getStart() + text.getEnd());
+                sink.write(template.textY);
+                sink.writeAscii(text.getText());
+                sink.write(TEXT_END);
+            }
+        }
+        sink.write(template.footer);
+        sink.flush();
+    }
+
+    /**
+     * SVG ako bajty (pre export cez Inkscape, ktorý potrebuje celý dokument).
+     */
+    public byte[] renderToBytes(BarcodeModel model, BarcodeRenderOptions options) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2048);
+        try {
+            render(model, options, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private SvgTemplate template(BarcodeModel model, BarcodeRenderOptions options) {
+        double moduleWidth = round(options.getModuleWidth(), 3);
+        double barHeight = options.getBarHeight() != null
+                ? round(options.getBarHeight() / moduleWidth, 2)
+                : defaultBarHeight(model.getSymbology());
+        String key = model.getSymbology() + "|" + options.isQuietZone() + "|" + options.isShowText()
+                + "|" + moduleWidth + "|" + barHeight;
+
+        SvgTemplate template = templates.get(key);
+        if (template == null) {
+            template = new SvgTemplate(model, moduleWidth, barHeight, options.isQuietZone(), options.isShowText());
+            if (templates.size() < MAX_TEMPLATES) {
+                templates.putIfAbsent(key, template);
+            }
+        }
+        return template;
+    }
+
+    /** Predvolená výška čiar v moduloch (EAN-13 22,85 mm, EAN-8 18,23 mm pri X = 0,33 mm). */
+    private static double defaultBarHeight(Symbology symbology) {
+        return switch (symbology) {
+            case EAN13, UPCA -> 69;
+            case EAN8 -> 55;
+            case ITF14 -> 32;
+        };
+    }
+
+    private static double round(double value, int scale) {
+        return BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    private static String fmt(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Predpočítané fragmenty pre jednu kombináciu symbológia / tichá zóna / rozmery / text.
+     */
+    private static final class SvgTemplate {
+
+        final int left;
+        final byte[] header;
+        final byte[] barTop;
+        final byte[] normalTail;
+        final byte[] guardTail;
+        final byte[] pathEnd;
+        final byte[] textY;
+        final byte[] footer;
+
+        SvgTemplate(BarcodeModel model, double moduleWidth, double barHeight, boolean quietZone, boolean showText) {
+            boolean itf = model.hasBearerBars();
+
+            // text mimo symbolu (prvá číslica EAN-13 ...) potrebuje miesto aj bez tichej zóny
+            int textLeft = 0;
+            int textRight = model.getTotalModules();
+            if (showText) {
+                for (BarcodeText text : model.getTexts()) {
+                    textLeft = Math.min(textLeft, text.getStart());
+                    textRight = Math.max(textRight, text.getEnd());
+                }
+            }
+            left = quietZone ? Math.max(model.getLeftQuietZone(), -textLeft) : -textLeft;
+            int right = quietZone
+                    ? Math.max(model.getRightQuietZone(), textRight - model.getTotalModules())
+                    : textRight - model.getTotalModules();
+            int width = left + model.getTotalModules() + right;
+
+            double top = itf ? BEARER : 0;
+            double bottom = top + barHeight;
+            double guardBottom = showText && !itf ? bottom + GUARD_EXTENSION : bottom;
+            double height = itf ? bottom + BEARER : bottom;
+            double textBaseline = itf ? height + FONT_SIZE + 1 : bottom + FONT_SIZE;
+            if (showText) {
+                height = textBaseline + (itf ? 2 : 1);
+            }
+
+            StringBuilder h = new StringBuilder(512);
+            h.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            h.append("<svg xmlns=\"http://www.w3.org/2000/svg\" version=\"1.1\"")
+                    .append(" width=\"").append(fmt(width * moduleWidth)).append("mm\"")
+                    .append(" height=\"").append(fmt(height * moduleWidth)).append("mm\"")
+                    .append(" viewBox=\"0 0 ").append(width).append(' ').append(fmt(height)).append("\">\n");
+            h.append("<rect width=\"").append(width).append("\" height=\"").append(fmt(height))
+                    .append("\" fill=\"#fff\"/>\n");
+            if (itf) {
+                h.append("<path fill=\"#000\" d=\"M0 0H").append(width).append('v').append(BEARER).append("H0z")
+                        .append("M0 ").append(fmt(bottom)).append('H').append(width).append('v').append(BEARER)
+                        .append("H0z\"/>\n");
+            }
+            h.append("<path fill=\"#000\" shape-rendering=\"crispEdges\" d=\"");
+            header = ascii(h.toString());
+
+            barTop = ascii(" " + fmt(top) + "h");
+            normalTail = ascii("V" + fmt(bottom) + "h-");
+            guardTail = ascii("V" + fmt(guardBottom) + "h-");
+            pathEnd = ascii(showText
+                    ? "\"/>\n<g font-family=\"OCR-B, monospace\" font-size=\"" + FONT_SIZE
+                    + "\" text-anchor=\"middle\" fill=\"#000\">"
+                    : "\"/>\n");
+            textY = ascii("\" y=\"" + fmt(textBaseline) + "\">");
+            footer = ascii(showText ? "</g>\n</svg>\n" : "</svg>\n");
+        }
+    }
+
+    /**
+     * Malý bajtový buffer s priamym zápisom čísel (bez Integer.toString).
+     */
+    private static final class AsciiSink {
+
+        private final OutputStream out;
+        private final byte[] buf = new byte[4096];
+        private int pos;
+
+        AsciiSink(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buf.length - pos) {
+                flushBuffer();
+                if (bytes.length > buf.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeInt(int value) throws IOException {
+            if (buf.length - pos < 11) {
+                flushBuffer();
+            }
+            if (value < 0) {
+                buf[pos++] = '-';
+                value = -value;
+            }
+            int start = pos;
+            do {
+                buf[pos++] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value > 0);
+            for (int i = start, j = pos - 1; i < j; i++, j--) {
+                byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+
+        /** Zapíše {@code twice / 2}, teda celé číslo alebo ".5". */
+        void writeHalf(int twice) throws IOException {
+            writeInt(twice / 2);
+            if ((twice & 1) != 0) {
+                write(HALF);
+            }
+        }
+
+        void writeAscii(String s) throws IOException {
+            for (int i = 0; i < s.length(); i++) {
+                if (pos == buf.length) {
+                    flushBuffer();
+                }
+                buf[pos++] = (byte) s.charAt(i);
+            }
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            if (pos > 0) {
+                out.write(buf, 0, pos);
+                pos = 0;
+            }
+        }
+
+        private static final byte[] HALF = ascii(".5");
+    }
+}
@@ -0,0 +1,35 @@
+package com.gpcs.codestudio.export;
+
+import java.util.List;
+
+/**
+ * Request pre hromadný EPS export – zoznam SVG s názvami súborov.
+ */
+public class BatchExportRequest {
+
+    private List<SvgExportRequest> items;
+
+    /**
+     * Voliteľný názov ZIP súboru – napr. "objednavka_500.zip"
+     */
+    private String fileName;
+
+    public BatchExportRequest() {
+    }
+
+    public List<SvgExportRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<SvgExportRequest> items) {
+        this.items = items;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+}
@@ -0,0 +1,176 @@
+package com.gpcs.codestudio.export;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Hromadný EPS export do ZIP-u, ktorý sa streamuje priamo do odpovede.
+ *
+ * Naraz beží najviac {@code concurrency} konverzií (na zdieľanom pool-e pre všetky dávky),
+ * hotové EPS sa zapisujú do ZIP-u v poradí dokončenia a hneď zahadzujú – v pamäti je teda
+ * najviac {@code concurrency} výsledkov, nikdy celý archív. Chyba jednej položky dávku nezastaví,
+ * namiesto EPS sa zapíše {@code <názov>.error.txt}.
+ */
+@Service
+public class BatchExportService {
+
+    private final EpsExportCache epsExportCache;
+    private final ExecutorService executor;
+    private final int concurrency;
+    private final int maxItems;
+
+    public BatchExportService(
+            EpsExportCache epsExportCache,
+            @Value("${codestudio.export.batch.concurrency:4}") int concurrency,
+            @Value("${codestudio.export.batch.maxItems:1000}") int maxItems
+    ) {
+        this.epsExportCache = epsExportCache;
+        this.concurrency = Math.max(1, concurrency);
+        this.maxItems = maxItems;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.concurrency, r -> {
+            Thread t = new Thread(r, "eps-batch-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    /**
+     * Skonvertuje všetky položky a zapíše ZIP do {@code out}.
+     */
+    public void exportZip(List<SvgExportRequest> items, OutputStream out) throws IOException {
+        CompletionService<Converted> completion = new ExecutorCompletionService<>(executor);
+        Set<String> usedNames = new HashSet<>();
+        List<Future<Converted>> submitted = new ArrayList<>();
+
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            int next = 0;
+            int running = 0;
+            try {
+                while (next < items.size() || running > 0) {
+                    while (running < concurrency && next < items.size()) {
+                        SvgExportRequest item = items.get(next);
+                        String name = uniqueName(entryName(item.getFileName(), next), usedNames);
+                        submitted.add(completion.submit(() -> convert(item, name)));
+                        next++;
+                        running++;
+                    }
+                    Converted done = take(completion);
+                    running--;
+                    zip.putNextEntry(new ZipEntry(done.name));
+                    zip.write(done.bytes);
+                    zip.closeEntry();
+                    // klient vidí priebeh, nie až celý archív na konci
+                    zip.flush();
+                }
+            } finally {
+                // pri zlyhaní zápisu (klient sa odpojil) už netreba dokončovať rozbehnuté konverzie
+                if (running > 0) {
+                    cancelRunning(submitted);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private Converted convert(SvgExportRequest item, String name) {
+        try {
+            if (item.getSvg() == null || item.getSvg().isBlank()) {
+                throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
+            }
+            return new Converted(name, epsExportCache.convertSvgToEps(item.getSvg()));
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            return new Converted(name.substring(0, name.length() - ".eps".length()) + ".error.txt",
+                    message.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Converted take(CompletionService<Converted> completion) throws IOException {
+        try {
+            Future<Converted> future = completion.take();
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Hromadný export bol prerušený.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Hromadný export zlyhal.", e.getCause());
+        }
+    }
+
+    /**
+     * Zruší ešte nedokončené konverzie (aj bežiace – prerušením vlákna).
+     */
+    private static void cancelRunning(List<Future<Converted>> submitted) {
+        for (Future<Converted> f : submitted) {
+            if (!f.isDone()) {
+                f.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Bezpečný názov položky v ZIP-e: bez adresárov, s príponou .eps.
+     */
+    private static String entryName(String requested, int index) {
+        String name = requested == null ? "" : requested.trim();
+        int slash = Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'));
+        if (slash >= 0) {
+            name = name.substring(slash + 1);
+        }
+        if (name.isEmpty() || name.equals(".") || name.equals("..")) {
+            name = "code_" + (index + 1);
+        }
+        return name.endsWith(".eps") ? name : name + ".eps";
+    }
+
+    private static String uniqueName(String name, Set<String> used) {
+        if (used.add(name)) {
+            return name;
+        }
+        String base = name.substring(0, name.length() - ".eps".length());
+        for (int i = 2; ; i++) {
+            String candidate = base + "_" + i + ".eps";
+            if (used.add(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static final class Converted {
+        final String name;
+        final byte[] bytes;
+
+        Converted(String name, byte[] bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Snapshot počítadiel {@link EpsExportCache} pre /api/export/cache/stats.
+ */
+public class EpsCacheStats {
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long coalesced;
+    private long memoryEvictions;
+    private long diskEvictions;
+    private long failures;
+    private long nativeConversions;
+    private int memoryEntries;
+    private long memoryBytes;
+    private int diskEntries;
+    private long diskBytes;
+
+    public EpsCacheStats() {
+    }
+
+    public long getMemoryHits() {
+        return memoryHits;
+    }
+
+    public void setMemoryHits(long memoryHits) {
+        this.memoryHits = memoryHits;
+    }
+
+    public long getDiskHits() {
+        return diskHits;
+    }
+
+    public void setDiskHits(long diskHits) {
+        this.diskHits = diskHits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /** Requesty, ktoré počkali na rovnakú už bežiacu konverziu (single-flight). */
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    public void setCoalesced(long coalesced) {
+        this.coalesced = coalesced;
+    }
+
+    public long getMemoryEvictions() {
+        return memoryEvictions;
+    }
+
+    public void setMemoryEvictions(long memoryEvictions) {
+        this.memoryEvictions = memoryEvictions;
+    }
+
+    public long getDiskEvictions() {
+        return diskEvictions;
+    }
+
+    public void setDiskEvictions(long diskEvictions) {
+        this.diskEvictions = diskEvictions;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    /** Exporty prevedené natívne ({@link SvgEpsWriter}), tie cache obchádzajú. */
+    public long getNativeConversions() {
+        return nativeConversions;
+    }
+
+    public void setNativeConversions(long nativeConversions) {
+        this.nativeConversions = nativeConversions;
+    }
+
+    public int getMemoryEntries() {
+        return memoryEntries;
+    }
+
+    public void setMemoryEntries(int memoryEntries) {
+        this.memoryEntries = memoryEntries;
+    }
+
+    public long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    public void setMemoryBytes(long memoryBytes) {
+        this.memoryBytes = memoryBytes;
+    }
+
+    public int getDiskEntries() {
+        return diskEntries;
+    }
+
+    public void setDiskEntries(int diskEntries) {
+        this.diskEntries = diskEntries;
+    }
+
+    public long getDiskBytes() {
+        return diskBytes;
+    }
+
+    public void setDiskBytes(long diskBytes) {
+        this.diskBytes = diskBytes;
+    }
+}
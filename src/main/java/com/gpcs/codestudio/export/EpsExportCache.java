@@ -0,0 +1,326 @@
+package com.gpcs.codestudio.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Obsahovo adresovaná cache výsledkov exportu pred {@link InkscapeExportService}.
+ *
+ * Kľúč je SHA-256 z nastavení exportu a normalizovaného SVG. Dve úrovne:
+ * <ul>
+ *     <li>pamäť – LRU ({@link LinkedHashMap} v access-order) ohraničená súčtom bajtov,</li>
+ *     <li>disk – súbory {@code <hash>.eps} v adresári, LRU index ohraničený súčtom bajtov;
+ *     po reštarte sa index obnoví podľa času poslednej zmeny súborov.</li>
+ * </ul>
+ * Súbežné requesty na rovnaký kľúč sa zlúčia (single-flight) – konverzia beží len raz
+ * a ostatní čakajú na jej {@link CompletableFuture}.
+ */
+@Component
+public class EpsExportCache {
+
+    private static final String EPS_OPTIONS = "eps";
+
+    private final InkscapeExportService inkscapeExportService;
+    private final SvgNormalizer svgNormalizer;
+    private final boolean enabled;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+    private final Path directory;
+
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(256, 0.75f, true);
+    private long diskBytes;
+
+    private final Map<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong memoryEvictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong nativeConversions = new AtomicLong();
+
+    public EpsExportCache(
+            InkscapeExportService inkscapeExportService,
+            SvgNormalizer svgNormalizer,
+            @Value("${codestudio.export.cache.enabled:true}") boolean enabled,
+            @Value("${codestudio.export.cache.memoryBytes:67108864}") long maxMemoryBytes,
+            @Value("${codestudio.export.cache.diskBytes:1073741824}") long maxDiskBytes,
+            @Value("${codestudio.export.cache.dir:}") String directory
+    ) {
+        this.inkscapeExportService = inkscapeExportService;
+        this.svgNormalizer = svgNormalizer;
+        this.enabled = enabled;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.directory = directory == null || directory.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "codestudio-eps-cache")
+                : Paths.get(directory);
+        if (enabled && maxDiskBytes > 0) {
+            loadDiskIndex();
+        }
+    }
+
+    /**
+     * Rovnaké API ako {@link InkscapeExportService#convertSvgToEps(String)}. Natívny prevod je lacnejší
+     * ako hash a cache, preto sa cachujú len výsledky z Inkscapu.
+     *
+     * SVG sa najprv normalizuje ({@link SvgNormalizer}) – kľúč cache aj konverzia pracujú s normalizovaným tvarom.
+     */
+    public byte[] convertSvgToEps(String svgContent) {
+        if (svgContent == null || svgContent.isBlank()) {
+            throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
+        }
+        String svg = svgNormalizer.normalize(svgContent);
+        if (inkscapeExportService.isNativeEps()) {
+            byte[] eps = SvgEpsWriter.convert(svg);
+            if (eps != null) {
+                nativeConversions.incrementAndGet();
+                return eps;
+            }
+        }
+        return get(EPS_OPTIONS, svg, () -> inkscapeExportService.convertWithInkscape(svg));
+    }
+
+    /**
+     * Výsledok pre (nastavenia, SVG) z cache, inak z {@code loader} – ten beží pre jeden kľúč najviac raz naraz.
+     */
+    public byte[] get(String options, String svgContent, Supplier<byte[]> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        String key = key(options, svgContent);
+
+        byte[] cached = memoryGet(key);
+        if (cached != null) {
+            memoryHits.incrementAndGet();
+            return cached;
+        }
+
+        CompletableFuture<byte[]> mine = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return await(running);
+        }
+
+        try {
+            byte[] result = diskGet(key);
+            if (result != null) {
+                diskHits.incrementAndGet();
+            } else {
+                misses.incrementAndGet();
+                result = loader.get();
+                diskPut(key, result);
+            }
+            memoryPut(key, result);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public EpsCacheStats getStats() {
+        EpsCacheStats stats = new EpsCacheStats();
+        stats.setMemoryHits(memoryHits.get());
+        stats.setDiskHits(diskHits.get());
+        stats.setMisses(misses.get());
+        stats.setCoalesced(coalesced.get());
+        stats.setMemoryEvictions(memoryEvictions.get());
+        stats.setDiskEvictions(diskEvictions.get());
+        stats.setFailures(failures.get());
+        stats.setNativeConversions(nativeConversions.get());
+        synchronized (memory) {
+            stats.setMemoryEntries(memory.size());
+            stats.setMemoryBytes(memoryBytes);
+        }
+        synchronized (disk) {
+            stats.setDiskEntries(disk.size());
+            stats.setDiskBytes(diskBytes);
+        }
+        return stats;
+    }
+
+    /**
+     * SHA-256 (hex) z nastavení a SVG s jednotnými koncami riadkov a bez okrajových bielych znakov.
+     */
+    static String key(String options, String svgContent) {
+        String normalized = svgContent.strip().replace("\r\n", "\n");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(options.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nie je k dispozícii.", e);
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] memoryGet(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void memoryPut(String key, byte[] value) {
+        // jeden obrovský EPS by vytlačil celú pamäťovú úroveň – ten ostane len na disku
+        if (value.length > maxMemoryBytes / 4) {
+            return;
+        }
+        synchronized (memory) {
+            byte[] previous = memory.put(key, value);
+            memoryBytes += value.length - (previous == null ? 0 : previous.length);
+            Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+                Map.Entry<String, byte[]> eldest = it.next();
+                memoryBytes -= eldest.getValue().length;
+                it.remove();
+                memoryEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    private byte[] diskGet(String key) {
+        if (maxDiskBytes <= 0) {
+            return null;
+        }
+        synchronized (disk) {
+            if (disk.get(key) == null) {
+                return null;
+            }
+        }
+        try {
+            return Files.readAllBytes(file(key));
+        } catch (IOException e) {
+            // súbor niekto zmazal – zabudneme ho
+            synchronized (disk) {
+                Long size = disk.remove(key);
+                if (size != null) {
+                    diskBytes -= size;
+                }
+            }
+            return null;
+        }
+    }
+
+    private void diskPut(String key, byte[] value) {
+        if (maxDiskBytes <= 0 || value.length > maxDiskBytes) {
+            return;
+        }
+        Path target = file(key);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmp, value);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // disk je len druhá úroveň, export kvôli nemu nezlyhá
+            e.printStackTrace();
+            return;
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long previous = disk.put(key, (long) value.length);
+            diskBytes += value.length - (previous == null ? 0 : previous);
+            Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+            while (diskBytes > maxDiskBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                diskBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String old : evicted) {
+            try {
+                Files.deleteIfExists(file(old));
+                diskEvictions.incrementAndGet();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void loadDiskIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.eps")) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        files.sort(Comparator.comparing(EpsExportCache::lastModified));
+        synchronized (disk) {
+            for (Path f : files) {
+                String name = f.getFileName().toString();
+                try {
+                    long size = Files.size(f);
+                    disk.put(name.substring(0, name.length() - ".eps".length()), size);
+                    diskBytes += size;
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + ".eps");
+    }
+}
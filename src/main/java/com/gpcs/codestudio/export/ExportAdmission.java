@@ -0,0 +1,130 @@
+package com.gpcs.codestudio.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Vstupná brána pre konverzie cez Inkscape: najviac {@code maxConcurrent} naraz, na voľné miesto
+ * sa čaká najviac {@code maxWaitMs}, potom export zlyhá namiesto toho, aby sa hromadili procesy.
+ *
+ * Zároveň zbiera metriky exportu (čakajúci, bežiace, časy čakania a konverzie, odmietnutia,
+ * zabité procesy) pre {@code /api/export/metrics}.
+ */
+@Component
+public class ExportAdmission {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong killed = new AtomicLong();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LatencyHistogram conversionTime = new LatencyHistogram();
+
+    public ExportAdmission(
+            @Value("${codestudio.export.maxConcurrent:0}") int maxConcurrent,
+            @Value("${codestudio.export.maxWaitMs:10000}") long maxWaitMs
+    ) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Počká na voľné miesto. Po úspechu musí volajúci zavolať {@link #release(long, boolean)}.
+     *
+     * @throws ExportOverloadedException ak sa miesto neuvoľnilo do {@code maxWaitMs}
+     * @return čas začiatku konverzie ({@code System.nanoTime()}) pre {@link #release(long, boolean)}
+     */
+    public long acquire() throws InterruptedException {
+        return acquire(null);
+    }
+
+    /**
+     * Ako {@link #acquire()}, po získaní miesta sa ešte prejde bránou {@code next} (napr. voľný worker
+     * {@link InkscapeWorkerPool}). Čas v nej sa počíta do čakania, nie do konverzie; ak zlyhá,
+     * miesto sa vráti a export sa počíta ako odmietnutý.
+     */
+    public long acquire(Gate next) throws InterruptedException {
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean ok = false;
+        try {
+            if (permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                try {
+                    if (next != null) {
+                        next.enter();
+                    }
+                    ok = true;
+                } finally {
+                    if (!ok) {
+                        permits.release();
+                    }
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+            if (!ok) {
+                waitTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                rejected.incrementAndGet();
+            }
+        }
+        if (!ok) {
+            throw new ExportOverloadedException("Export je preťažený – žiadne voľné miesto do " + maxWaitMs + " ms.", maxWaitMs);
+        }
+        long now = System.nanoTime();
+        waitTime.record(TimeUnit.NANOSECONDS.toMillis(now - start));
+        admitted.incrementAndGet();
+        active.incrementAndGet();
+        return now;
+    }
+
+    public void release(long startNanos, boolean success) {
+        conversionTime.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        if (!success) {
+            failures.incrementAndGet();
+        }
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Proces zabitý po prekročení timeoutu.
+     */
+    public void recordKill() {
+        killed.incrementAndGet();
+    }
+
+    public ExportMetrics getStats() {
+        ExportMetrics stats = new ExportMetrics();
+        stats.setMaxConcurrent(maxConcurrent);
+        stats.setMaxWaitMs(maxWaitMs);
+        stats.setWaiting(waiting.get());
+        stats.setActive(active.get());
+        stats.setAdmitted(admitted.get());
+        stats.setRejected(rejected.get());
+        stats.setFailures(failures.get());
+        stats.setKilled(killed.get());
+        stats.setWaitTime(waitTime);
+        stats.setConversionTime(conversionTime);
+        return stats;
+    }
+
+    /**
+     * Ďalšie čakanie pred začiatkom konverzie; pri neúspechu vyhodí výnimku.
+     */
+    @FunctionalInterface
+    public interface Gate {
+        void enter() throws InterruptedException;
+    }
+}
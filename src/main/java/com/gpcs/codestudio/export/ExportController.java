@@ -1,11 +1,33 @@
 package com.gpcs.codestudio.export;
 
+import com.gpcs.codestudio.api.CodeValidationService;
+import com.gpcs.codestudio.ean.EanValidationResult;
+import com.gpcs.codestudio.symbology.BarcodeEncoder;
+import com.gpcs.codestudio.symbology.BarcodeModel;
+import com.gpcs.codestudio.symbology.Symbology;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @RestController
 @RequestMapping("/api/export")
@@ -16,10 +38,39 @@ import org.springframework.web.bind.annotation.*;
 })
 public class ExportController {
 
+    private static final MediaType SVG = MediaType.parseMediaType("image/svg+xml");
+
+    private final EpsExportCache epsExportCache;
+    private final BarcodeSvgRenderer barcodeSvgRenderer;
+    private final CodeValidationService codeValidationService;
+    private final BatchExportService batchExportService;
+    private final AsyncExportService asyncExportService;
     private final InkscapeExportService inkscapeExportService;
+    private final ExportWorkDir workDir;
+    private final ExportAdmission exportAdmission;
+    private final SvgNormalizer svgNormalizer;
+    private final SheetComposer sheetComposer;
 
-    public ExportController(InkscapeExportService inkscapeExportService) {
+    public ExportController(EpsExportCache epsExportCache,
+                            BarcodeSvgRenderer barcodeSvgRenderer,
+                            CodeValidationService codeValidationService,
+                            BatchExportService batchExportService,
+                            AsyncExportService asyncExportService,
+                            InkscapeExportService inkscapeExportService,
+                            ExportWorkDir workDir,
+                            ExportAdmission exportAdmission,
+                            SvgNormalizer svgNormalizer,
+                            SheetComposer sheetComposer) {
+        this.epsExportCache = epsExportCache;
+        this.barcodeSvgRenderer = barcodeSvgRenderer;
+        this.codeValidationService = codeValidationService;
+        this.batchExportService = batchExportService;
+        this.asyncExportService = asyncExportService;
         this.inkscapeExportService = inkscapeExportService;
+        this.workDir = workDir;
+        this.exportAdmission = exportAdmission;
+        this.svgNormalizer = svgNormalizer;
+        this.sheetComposer = sheetComposer;
     }
 
     @PostMapping(value = "/eps", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -28,7 +79,7 @@ public class ExportController {
             return ResponseEntity.badRequest().build();
         }
 
-        byte[] epsBytes = inkscapeExportService.convertSvgToEps(request.getSvg());
+        byte[] epsBytes = epsExportCache.convertSvgToEps(request.getSvg());
 
         String fileName = (request.getFileName() == null || request.getFileName().isBlank())
                 ? "code.eps"
@@ -45,4 +96,358 @@ public class ExportController {
 
         return new ResponseEntity<>(epsBytes, headers, HttpStatus.OK);
     }
+
+    /**
+     * EPS export pre veľké etikety: telo requestu je priamo SVG (nie JSON), kopíruje sa rovno
+     * do pracovného súboru a hotový EPS sa do odpovede posiela cez {@code FileChannel.transferTo}.
+     * Ani SVG, ani EPS sa nedrží v pamäti; tento režim preto nejde cez EPS cache.
+     */
+    @PostMapping(value = "/eps/stream",
+            consumes = {"image/svg+xml", MediaType.APPLICATION_OCTET_STREAM_VALUE, MediaType.TEXT_PLAIN_VALUE})
+    public void exportEpsStream(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(value = "fileName", required = false) String fileName) throws IOException {
+        Path epsFile;
+        try {
+            epsFile = inkscapeExportService.convertToEpsFile(request.getInputStream());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        String name = (fileName == null || fileName.isBlank())
+                ? "code.eps"
+                : fileName.endsWith(".eps")
+                ? fileName
+                : fileName + ".eps";
+
+        try (FileChannel eps = FileChannel.open(epsFile, StandardOpenOption.READ)) {
+            long size = eps.size();
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType("application/postscript");
+            response.setContentLengthLong(size);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(name).build().toString());
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += eps.transferTo(position, size - position, out);
+            }
+        } finally {
+            workDir.delete(epsFile);
+        }
+    }
+
+    /**
+     * Export jedného SVG do viacerých formátov (EPS, PDF, PNG, plain SVG) z jedného behu Inkscapu.
+     * Výsledok je ZIP so súbormi {@code <fileName>.<prípona>}, streamovaný z pracovných súborov.
+     */
+    @PostMapping(value = "/multi", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMulti(@RequestBody MultiExportRequest request) {
+        if (request == null || request.getSvg() == null || request.getSvg().isBlank()
+                || request.getFormats() == null || request.getFormats().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<ExportFormat> formats = EnumSet.noneOf(ExportFormat.class);
+        for (String value : request.getFormats()) {
+            ExportFormat format = ExportFormat.from(value);
+            if (format == null) {
+                return ResponseEntity.badRequest().build();
+            }
+            formats.add(format);
+        }
+        int dpi = request.getDpi() != null ? request.getDpi() : 300;
+        if (dpi < 10 || dpi > 2400) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String baseName = (request.getFileName() == null || request.getFileName().isBlank())
+                ? "code"
+                : request.getFileName().replaceAll("[/\\\\]", "_").replaceFirst("\\.(eps|pdf|png|svg|zip)$", "");
+
+        Map<ExportFormat, Path> files = inkscapeExportService.convertToFiles(
+                svgNormalizer.normalize(request.getSvg()), formats, dpi);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment().filename(baseName + ".zip").build()
+        );
+
+        StreamingResponseBody body = out -> {
+            try (ZipOutputStream zip = new ZipOutputStream(out)) {
+                for (Map.Entry<ExportFormat, Path> file : files.entrySet()) {
+                    zip.putNextEntry(new ZipEntry(baseName + "." + file.getKey().getExtension()));
+                    Files.copy(file.getValue(), zip);
+                    zip.closeEntry();
+                }
+            } finally {
+                workDir.delete(files.values().toArray(new Path[0]));
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Vyradenie etikiet na hárok (mriežka alebo step-and-repeat) a konverzia celého hárku jedným
+     * behom Inkscapu. Opakované etikety sú v SVG hárku len raz ({@code <symbol>} + {@code <use>}).
+     */
+    @PostMapping(value = "/sheet", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSheet(@RequestBody ImpositionRequest request) {
+        if (request == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ExportFormat format = request.getFormat() == null || request.getFormat().isBlank()
+                ? ExportFormat.EPS
+                : ExportFormat.from(request.getFormat());
+        if (format == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // preťaženie (ExportOverloadedException) vybaví exportOverloaded – 503
+        Path file;
+        try {
+            String sheet = sheetComposer.compose(request);
+            file = inkscapeExportService.convertToFiles(sheet, EnumSet.of(format), 300).get(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        String baseName = (request.getFileName() == null || request.getFileName().isBlank())
+                ? "sheet"
+                : request.getFileName().replaceAll("[/\\\\]", "_").replaceFirst("\\.(eps|pdf|png|svg)$", "");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType()));
+        headers.setContentDisposition(
+                ContentDisposition.attachment().filename(baseName + "." + format.getExtension()).build()
+        );
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                workDir.delete(file);
+            }
+        };
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Asynchrónny EPS export: hneď vráti 202 s ID, konverzia beží vo fronte mimo request threadu.
+     * Pri plnej fronte 429 s hlavičkou Retry-After.
+     */
+    @PostMapping(value = "/eps/async", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<AsyncExportInfo> exportEpsAsync(
+            @RequestBody SvgExportRequest request,
+            @RequestParam(value = "priority", required = false) String priority) {
+        if (request == null || request.getSvg() == null || request.getSvg().isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AsyncExportInfo info = asyncExportService.submit(request, ExportPriority.from(priority));
+        if (info == null) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(asyncExportService.getRetryAfterSeconds()))
+                    .build();
+        }
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.LOCATION, "/api/export/eps/async/" + info.getId())
+                .body(info);
+    }
+
+    @GetMapping("/eps/async/{id}")
+    public ResponseEntity<AsyncExportInfo> asyncExportStatus(@PathVariable("id") String id) {
+        AsyncExportInfo info = asyncExportService.getInfo(id);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(info);
+    }
+
+    /**
+     * Stiahnutie výsledku: 404 neznámy / expirovaný export, 409 ešte nie je hotový, 500 konverzia zlyhala.
+     */
+    @GetMapping("/eps/async/{id}/result")
+    public ResponseEntity<byte[]> asyncExportResult(@PathVariable("id") String id) {
+        AsyncExportInfo info = asyncExportService.getInfo(id);
+        if (info == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (info.getStatus() == AsyncExportStatus.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        byte[] epsBytes = asyncExportService.getResult(id);
+        if (epsBytes == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(asyncExportService.getRetryAfterSeconds()))
+                    .build();
+        }
+
+        String fileName = (info.getFileName() == null || info.getFileName().isBlank())
+                ? "code.eps"
+                : info.getFileName().endsWith(".eps")
+                ? info.getFileName()
+                : info.getFileName() + ".eps";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/postscript"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment().filename(fileName).build()
+        );
+        headers.setContentLength(epsBytes.length);
+
+        return new ResponseEntity<>(epsBytes, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Hromadný EPS export: všetky položky sa skonvertujú paralelne (ohraničene) a vrátia ako ZIP.
+     * ZIP sa streamuje priebežne v poradí dokončenia konverzií, nikdy sa nedrží celý v pamäti.
+     */
+    @PostMapping(value = "/eps/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEpsBatch(@RequestBody BatchExportRequest request) {
+        if (request == null || request.getItems() == null || request.getItems().isEmpty()
+                || request.getItems().size() > batchExportService.getMaxItems()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        String fileName = (request.getFileName() == null || request.getFileName().isBlank())
+                ? "codes.zip"
+                : request.getFileName().endsWith(".zip")
+                ? request.getFileName()
+                : request.getFileName() + ".zip";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment().filename(fileName).build()
+        );
+
+        StreamingResponseBody body = out -> batchExportService.exportZip(request.getItems(), out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Počítadlá EPS cache (zásahy v pamäti / na disku, miss, zlúčené requesty, vyradenia).
+     */
+    @GetMapping("/cache/stats")
+    public EpsCacheStats cacheStats() {
+        return epsExportCache.getStats();
+    }
+
+    /**
+     * Metriky konverzií cez Inkscape: čakajúce / bežiace (gauge), histogramy čakania a trvania,
+     * odmietnuté pre preťaženie a zabité procesy.
+     */
+    @GetMapping("/metrics")
+    public ExportMetrics metrics() {
+        return exportAdmission.getStats();
+    }
+
+    /**
+     * SVG čiarového kódu renderované serverom (EAN-13, EAN-8, UPC-A, ITF-14).
+     * Zapisuje sa priamo do odpovede, FE už nemusí SVG kresliť ani posielať späť.
+     */
+    @PostMapping(value = "/barcode/svg", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBarcodeSvg(@RequestBody BarcodeRenderRequest request) {
+        BarcodeModel model = encode(request);
+        if (model == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        BarcodeRenderOptions options;
+        try {
+            options = request.toOptions();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(SVG);
+        headers.setContentDisposition(
+                ContentDisposition.inline().filename(fileName(request.getFileName(), model, ".svg")).build()
+        );
+
+        StreamingResponseBody body = out -> barcodeSvgRenderer.render(model, options, out);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * EPS čiarového kódu: serverové SVG → Inkscape. Rovnaký vstup dáva bajtovo rovnaké SVG.
+     */
+    @PostMapping(value = "/barcode/eps", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> exportBarcodeEps(@RequestBody BarcodeRenderRequest request) {
+        BarcodeModel model = encode(request);
+        if (model == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        BarcodeRenderOptions options;
+        try {
+            options = request.toOptions();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(e.getMessage().getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] svg = barcodeSvgRenderer.renderToBytes(model, options);
+        byte[] epsBytes = epsExportCache.convertSvgToEps(new String(svg, StandardCharsets.UTF_8));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/postscript"));
+        headers.setContentDisposition(
+                ContentDisposition.attachment().filename(fileName(request.getFileName(), model, ".eps")).build()
+        );
+        headers.setContentLength(epsBytes.length);
+
+        return new ResponseEntity<>(epsBytes, headers, HttpStatus.OK);
+    }
+
+    /**
+     * Synchrónne exporty (/eps, /eps/stream, /multi, /sheet, /barcode/eps) pri preťažení konverzií:
+     * 503 s Retry-After namiesto všeobecnej 500.
+     */
+    @ExceptionHandler(ExportOverloadedException.class)
+    public ResponseEntity<String> exportOverloaded(ExportOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(e.getMessage());
+    }
+
+    /**
+     * Kompletný kód zakóduje priamo, základ bez kontrolnej číslice najprv doplní cez validáciu.
+     *
+     * @return null pri neplatnom requeste / kóde
+     */
+    private BarcodeModel encode(BarcodeRenderRequest request) {
+        if (request == null || request.getValue() == null) {
+            return null;
+        }
+        Symbology symbology = Symbology.from(request.getType());
+        if (symbology == null) {
+            return null;
+        }
+        String code = request.getValue().trim();
+        if (code.length() == symbology.getCodeLength() - 1) {
+            EanValidationResult result = codeValidationService.validate(symbology.name(), code);
+            if (result == null || !result.isValid()) {
+                return null;
+            }
+            code = result.getFinalCode();
+        }
+        return BarcodeEncoder.encode(symbology, code);
+    }
+
+    private static String fileName(String requested, BarcodeModel model, String extension) {
+        if (requested == null || requested.isBlank()) {
+            return model.getCode() + extension;
+        }
+        return requested.endsWith(extension) ? requested : requested + extension;
+    }
 }
@@ -0,0 +1,80 @@
+package com.gpcs.codestudio.export;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Cieľový formát exportu. Všetky požadované formáty sa robia z jedného načítania SVG v Inkscape.
+ */
+public enum ExportFormat {
+
+    EPS("eps", "application/postscript"),
+
+    PDF("pdf", "application/pdf"),
+
+    /** Náhľad pre QA, rozlíšenie podľa {@code dpi} v requeste. */
+    PNG("png", "image/png"),
+
+    /** Plain SVG bez Inkscape rozšírení. */
+    SVG("svg", "image/svg+xml");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return null pre neznámy formát
+     */
+    public static ExportFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "eps" -> EPS;
+            case "pdf" -> PDF;
+            case "png" -> PNG;
+            case "svg", "plain-svg", "svg-plain" -> SVG;
+            default -> null;
+        };
+    }
+
+    /**
+     * Inkscape 1.x akcie, ktoré z už otvoreného dokumentu zapíšu všetky ciele
+     * (pre {@code --shell} aj pre {@code --actions}). SVG ide posledné, lebo
+     * {@code export-plain-svg} ostáva nastavené aj pre ďalšie exporty.
+     */
+    static String inkscapeActions(Map<ExportFormat, Path> targets, int dpi) {
+        StringBuilder sb = new StringBuilder();
+        for (ExportFormat format : values()) {
+            Path target = targets.get(format);
+            if (target == null) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append("; ");
+            }
+            sb.append("export-type:").append(format.extension);
+            if (format == PNG) {
+                sb.append("; export-dpi:").append(dpi);
+            }
+            if (format == SVG) {
+                sb.append("; export-plain-svg");
+            }
+            sb.append("; export-filename:").append(target.toAbsolutePath()).append("; export-do");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,105 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Snapshot metrík {@link ExportAdmission} pre /api/export/metrics.
+ */
+public class ExportMetrics {
+
+    private int maxConcurrent;
+    private long maxWaitMs;
+    private int waiting;
+    private int active;
+    private long admitted;
+    private long rejected;
+    private long failures;
+    private long killed;
+    private LatencyHistogram waitTime;
+    private LatencyHistogram conversionTime;
+
+    public ExportMetrics() {
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /** Gauge: koľko konverzií čaká na voľné miesto. */
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    /** Gauge: koľko konverzií práve beží. */
+    public int getActive() {
+        return active;
+    }
+
+    public void setActive(int active) {
+        this.active = active;
+    }
+
+    public long getAdmitted() {
+        return admitted;
+    }
+
+    public void setAdmitted(long admitted) {
+        this.admitted = admitted;
+    }
+
+    /** Odmietnuté po {@code maxWaitMs} čakania. */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    /** Procesy zabité po prekročení timeoutu. */
+    public long getKilled() {
+        return killed;
+    }
+
+    public void setKilled(long killed) {
+        this.killed = killed;
+    }
+
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    public void setWaitTime(LatencyHistogram waitTime) {
+        this.waitTime = waitTime;
+    }
+
+    public LatencyHistogram getConversionTime() {
+        return conversionTime;
+    }
+
+    public void setConversionTime(LatencyHistogram conversionTime) {
+        this.conversionTime = conversionTime;
+    }
+}
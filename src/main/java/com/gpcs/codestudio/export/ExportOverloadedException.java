@@ -0,0 +1,19 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Konverzia sa nezačala, lebo sa do časového limitu neuvoľnilo miesto v {@link ExportAdmission}
+ * alebo worker {@link InkscapeWorkerPool}. Controller ju mapuje na 503 s hlavičkou Retry-After.
+ */
+public class ExportOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ExportOverloadedException(String message, long waitedMs) {
+        super(message);
+        this.retryAfterSeconds = (int) Math.max(1, Math.min(Integer.MAX_VALUE, (waitedMs + 999) / 1000));
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gpcs.codestudio.export;
+
+import java.util.Locale;
+
+/**
+ * Priorita asynchrónneho exportu vo fronte; v rámci rovnakej priority platí poradie príchodu.
+ */
+public enum ExportPriority {
+
+    /** Interaktívny export, na ktorý používateľ čaká. */
+    HIGH,
+
+    NORMAL,
+
+    /** Hromadné / pozadie – ide až keď nič iné nečaká. */
+    LOW;
+
+    /**
+     * Neznáma alebo prázdna hodnota = {@link #NORMAL}.
+     */
+    public static ExportPriority from(String value) {
+        if (value == null || value.isBlank()) {
+            return NORMAL;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "high", "interactive" -> HIGH;
+            case "low", "background", "bulk" -> LOW;
+            default -> NORMAL;
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.gpcs.codestudio.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.UUID;
+
+/**
+ * Pracovný adresár exportu (SVG vstupy, EPS výstupy, log Inkscapu).
+ *
+ * Súbory ležia priamo v jednom plochom adresári s náhodným menom, takže upratanie je
+ * {@code deleteIfExists} na konkrétne cesty – bez vytvárania podadresárov a bez {@code Files.walk}.
+ * Adresár môže byť na tmpfs (napr. {@code /dev/shm/codestudio}), potom export vôbec nejde na disk.
+ *
+ * Predvolený adresár zdieľajú všetky inštancie na hoste, preto sa pri štarte mažú len zvyšky
+ * staršie ako {@code processTimeoutMs} – súbory bežiacich exportov iných inštancií ostanú.
+ */
+@Component
+public class ExportWorkDir {
+
+    private static final String PREFIX = "cs-";
+
+    private final Path directory;
+    private final long staleAfterMs;
+
+    public ExportWorkDir(
+            @Value("${codestudio.export.workDir:}") String dir,
+            @Value("${codestudio.export.processTimeoutMs:60000}") long processTimeoutMs
+    ) {
+        this.directory = dir == null || dir.isBlank()
+                ? Paths.get(System.getProperty("java.io.tmpdir"), "codestudio-export")
+                : Paths.get(dir);
+        this.staleAfterMs = Math.max(0, processTimeoutMs);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Nepodarilo sa vytvoriť pracovný adresár exportu: " + directory, e);
+        }
+        deleteStale();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Nová (zatiaľ neexistujúca) cesta v pracovnom adresári, napr. {@code newFile(".svg")}.
+     */
+    public Path newFile(String suffix) {
+        return directory.resolve(PREFIX + UUID.randomUUID() + suffix);
+    }
+
+    /**
+     * Best-effort zmazanie; null cesty sa preskočia.
+     */
+    public void delete(Path... files) {
+        for (Path file : files) {
+            if (file == null) {
+                continue;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Zvyšky po páde procesu. Súbor mladší ako timeout konverzie môže patriť inej inštancii, tá ho zmaže sama.
+     */
+    private void deleteStale() {
+        long cutoff = System.currentTimeMillis() - staleAfterMs;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*")) {
+            for (Path file : stream) {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                        delete(file);
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.gpcs.codestudio.export;
+
+/**
+ * Jedna etiketa na hárku – SVG a počet kópií (rovnaké SVG sa do hárku vloží len raz).
+ */
+public class ImpositionLabel {
+
+    /**
+     * SVG obsah etikety (celý <svg>...</svg>)
+     */
+    private String svg;
+
+    /**
+     * Počet kópií, predvolene 1
+     */
+    private Integer copies;
+
+    public ImpositionLabel() {
+    }
+
+    public String getSvg() {
+        return svg;
+    }
+
+    public void setSvg(String svg) {
+        this.svg = svg;
+    }
+
+    public Integer getCopies() {
+        return copies;
+    }
+
+    public void setCopies(Integer copies) {
+        this.copies = copies;
+    }
+}
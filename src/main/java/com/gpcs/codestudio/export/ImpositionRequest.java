@@ -0,0 +1,156 @@
+package com.gpcs.codestudio.export;
+
+import java.util.List;
+
+/**
+ * Request na vyradenie etikiet na hárok (všetky rozmery v mm).
+ *
+ * Mriežka: {@code columns} × {@code rows}; ak nie sú zadané, vypočíta sa koľko sa zmestí.
+ * Step-and-repeat: {@code stepX} / {@code stepY} sú vzdialenosti začiatkov susedných etikiet,
+ * inak {@code labelWidth + gapX} / {@code labelHeight + gapY}. Etikety sa kladú po riadkoch zľava.
+ */
+public class ImpositionRequest {
+
+    private Double sheetWidth;
+    private Double sheetHeight;
+
+    /**
+     * Okraj hárku zo všetkých strán, predvolene 0
+     */
+    private Double margin;
+
+    private Double labelWidth;
+    private Double labelHeight;
+    private Double gapX;
+    private Double gapY;
+    private Double stepX;
+    private Double stepY;
+    private Integer columns;
+    private Integer rows;
+    private List<ImpositionLabel> labels;
+
+    /**
+     * "eps" (predvolene), "pdf", "png" alebo "svg"
+     */
+    private String format;
+
+    /**
+     * Voliteľný názov súboru – napr. "harok_A3"
+     */
+    private String fileName;
+
+    public ImpositionRequest() {
+    }
+
+    public Double getSheetWidth() {
+        return sheetWidth;
+    }
+
+    public void setSheetWidth(Double sheetWidth) {
+        this.sheetWidth = sheetWidth;
+    }
+
+    public Double getSheetHeight() {
+        return sheetHeight;
+    }
+
+    public void setSheetHeight(Double sheetHeight) {
+        this.sheetHeight = sheetHeight;
+    }
+
+    public Double getMargin() {
+        return margin;
+    }
+
+    public void setMargin(Double margin) {
+        this.margin = margin;
+    }
+
+    public Double getLabelWidth() {
+        return labelWidth;
+    }
+
+    public void setLabelWidth(Double labelWidth) {
+        this.labelWidth = labelWidth;
+    }
+
+    public Double getLabelHeight() {
+        return labelHeight;
+    }
+
+    public void setLabelHeight(Double labelHeight) {
+        this.labelHeight = labelHeight;
+    }
+
+    public Double getGapX() {
+        return gapX;
+    }
+
+    public void setGapX(Double gapX) {
+        this.gapX = gapX;
+    }
+
+    public Double getGapY() {
+        return gapY;
+    }
+
+    public void setGapY(Double gapY) {
+        this.gapY = gapY;
+    }
+
+    public Double getStepX() {
+        return stepX;
+    }
+
+    public void setStepX(Double stepX) {
+        this.stepX = stepX;
+    }
+
+    public Double getStepY() {
+        return stepY;
+    }
+
+    public void setStepY(Double stepY) {
+        this.stepY = stepY;
+    }
+
+    public Integer getColumns() {
+        return columns;
+    }
+
+    public void setColumns(Integer columns) {
+        this.columns = columns;
+    }
+
+    public Integer getRows() {
+        return rows;
+    }
+
+    public void setRows(Integer rows) {
+        this.rows = rows;
+    }
+
+    public List<ImpositionLabel> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(List<ImpositionLabel> labels) {
+        this.labels = labels;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+}
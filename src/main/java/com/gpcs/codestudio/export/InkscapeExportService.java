@@ -3,95 +3,250 @@ package com.gpcs.codestudio.export;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class InkscapeExportService {
 
     private final String inkscapeCommand;
+    private final InkscapeWorkerPool workerPool;
+    private final boolean nativeEps;
+    private final ExportWorkDir workDir;
+    private final ExportAdmission admission;
+    private final long processTimeoutMs;
 
     public InkscapeExportService(
-            @Value("${codestudio.inkscape.command:inkscape}") String inkscapeCommand
+            @Value("${codestudio.inkscape.command:inkscape}") String inkscapeCommand,
+            InkscapeWorkerPool workerPool,
+            @Value("${codestudio.export.nativeEps:true}") boolean nativeEps,
+            ExportWorkDir workDir,
+            ExportAdmission admission,
+            @Value("${codestudio.export.processTimeoutMs:60000}") long processTimeoutMs
     ) {
         this.inkscapeCommand = inkscapeCommand;
+        this.workerPool = workerPool;
+        this.nativeEps = nativeEps;
+        this.workDir = workDir;
+        this.admission = admission;
+        this.processTimeoutMs = processTimeoutMs;
+    }
+
+    /**
+     * Vektorový EPS export. SVG z jednoduchej podmnožiny (rect, path, text) prevedie priamo
+     * {@link SvgEpsWriter} bez spúšťania procesu, ostatné ide cez Inkscape.
+     */
+    public byte[] convertSvgToEps(String svgContent) {
+        if (nativeEps) {
+            byte[] eps = SvgEpsWriter.convert(svgContent);
+            if (eps != null) {
+                return eps;
+            }
+        }
+        return convertWithInkscape(svgContent);
+    }
+
+    public boolean isNativeEps() {
+        return nativeEps;
     }
 
     /**
      * Skutočný vektorový EPS export pomocou Inkscape CLI.
      *
-     * Počítam s moderným Inkscapom (1.x):
-     *   inkscape input.svg --export-type=eps --export-filename=output.eps
+     * Počítam s moderným Inkscapom (1.x). Ak je zapnutý {@link InkscapeWorkerPool},
+     * export ide cez teplý {@code inkscape --shell} proces, inak sa spustí nový proces:
+     *   inkscape input.svg --actions="export-type:eps; export-filename:output.eps; export-do"
      *
      * Ak máš starší Inkscape, bude treba upraviť parametre v ProcessBuilderi.
      */
-    public byte[] convertSvgToEps(String svgContent) {
+    public byte[] convertWithInkscape(String svgContent) {
         if (svgContent == null || svgContent.isBlank()) {
             throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
         }
 
-        Path tempDir = null;
+        Path svgFile = workDir.newFile(".svg");
+        Path epsFile = workDir.newFile(".eps");
         try {
-            tempDir = Files.createTempDirectory("codestudio-eps-" + UUID.randomUUID());
-            Path svgFile = tempDir.resolve("input.svg");
-            Path epsFile = tempDir.resolve("output.eps");
-
             Files.writeString(svgFile, svgContent, StandardCharsets.UTF_8);
+            convertFileWithInkscape(svgFile, Map.of(ExportFormat.EPS, epsFile), 0);
+            return Files.readAllBytes(epsFile);
+        } catch (IOException e) {
+            throw new RuntimeException("Chyba pri volaní Inkscape pre EPS export.", e);
+        } finally {
+            workDir.delete(svgFile, epsFile);
+        }
+    }
+
+    /**
+     * Streamový EPS export pre veľké etikety: SVG sa z {@code svgIn} kopíruje rovno do pracovného súboru
+     * a výsledok ostáva v súbore – volajúci ho pošle ďalej (napr. {@code FileChannel.transferTo})
+     * a potom zmaže cez {@link ExportWorkDir#delete}. V pamäti tak nie je ani SVG, ani EPS.
+     *
+     * @return cesta k EPS v pracovnom adresári
+     */
+    public Path convertToEpsFile(InputStream svgIn) throws IOException {
+        Path svgFile = workDir.newFile(".svg");
+        Path epsFile = workDir.newFile(".eps");
+        boolean ok = false;
+        try {
+            if (Files.copy(svgIn, svgFile) == 0) {
+                throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
+            }
+            if (nativeEps) {
+                byte[] eps;
+                try (InputStream in = Files.newInputStream(svgFile)) {
+                    eps = SvgEpsWriter.convert(in);
+                }
+                if (eps != null) {
+                    Files.write(epsFile, eps);
+                    ok = true;
+                    return epsFile;
+                }
+            }
+            convertFileWithInkscape(svgFile, Map.of(ExportFormat.EPS, epsFile), 0);
+            ok = true;
+            return epsFile;
+        } finally {
+            workDir.delete(svgFile);
+            if (!ok) {
+                workDir.delete(epsFile);
+            }
+        }
+    }
+
+    /**
+     * Viac formátov naraz (EPS, PDF, PNG, plain SVG) z jedného načítania SVG v Inkscape –
+     * jeden príkaz na {@code --shell} workeri alebo jeden proces s {@code --actions}.
+     * EPS z podporovanej podmnožiny ide natívne a Inkscape sa potom spúšťa len pre zvyšok.
+     *
+     * Výsledky ostávajú v pracovnom adresári, volajúci ich po odoslaní zmaže cez {@link ExportWorkDir#delete}.
+     *
+     * @param dpi rozlíšenie PNG
+     * @return súbor pre každý formát, v poradí {@link ExportFormat}
+     */
+    public Map<ExportFormat, Path> convertToFiles(String svgContent, Set<ExportFormat> formats, int dpi) {
+        if (svgContent == null || svgContent.isBlank()) {
+            throw new IllegalArgumentException("SVG obsah nesmie byť prázdny.");
+        }
+        if (formats == null || formats.isEmpty()) {
+            throw new IllegalArgumentException("Nie je zadaný žiadny formát exportu.");
+        }
+
+        Map<ExportFormat, Path> files = new EnumMap<>(ExportFormat.class);
+        Map<ExportFormat, Path> viaInkscape = new EnumMap<>(ExportFormat.class);
+        for (ExportFormat format : formats) {
+            Path file = workDir.newFile("." + format.getExtension());
+            files.put(format, file);
+            viaInkscape.put(format, file);
+        }
 
+        Path svgFile = workDir.newFile(".svg");
+        boolean ok = false;
+        try {
+            if (nativeEps && formats.contains(ExportFormat.EPS)) {
+                byte[] eps = SvgEpsWriter.convert(svgContent);
+                if (eps != null) {
+                    Files.write(files.get(ExportFormat.EPS), eps);
+                    viaInkscape.remove(ExportFormat.EPS);
+                }
+            }
+            if (!viaInkscape.isEmpty()) {
+                Files.writeString(svgFile, svgContent, StandardCharsets.UTF_8);
+                convertFileWithInkscape(svgFile, viaInkscape, dpi);
+            }
+            ok = true;
+            return files;
+        } catch (IOException e) {
+            throw new RuntimeException("Chyba pri volaní Inkscape pre export.", e);
+        } finally {
+            workDir.delete(svgFile);
+            if (!ok) {
+                workDir.delete(files.values().toArray(new Path[0]));
+            }
+        }
+    }
+
+    /**
+     * Inkscape nad hotovým súborom. Výstup procesu ide do log súboru, číta sa len pri chybe.
+     *
+     * Každá konverzia prechádza cez {@link ExportAdmission} (limit súbežných procesov a čakania);
+     * čakanie na voľný worker poolu sa počíta do čakania, nie do konverzie.
+     * Samostatný proces aj worker poolu majú tvrdý timeout {@code processTimeoutMs}, po ktorom sa zabijú aj s potomkami.
+     */
+    private void convertFileWithInkscape(Path svgFile, Map<ExportFormat, Path> targets, int dpi) throws IOException {
+        boolean pooled = workerPool != null && workerPool.isEnabled();
+        try {
+            long start = admission.acquire(pooled ? () -> workerPool.acquire(processTimeoutMs) : null);
+            boolean success = false;
+            try {
+                if (pooled) {
+                    workerPool.export(svgFile, targets, dpi, processTimeoutMs);
+                } else {
+                    runProcess(svgFile, targets, dpi);
+                }
+                success = true;
+            } finally {
+                admission.release(start, success);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Export bol prerušený.", e);
+        }
+    }
+
+    private void runProcess(Path svgFile, Map<ExportFormat, Path> targets, int dpi)
+            throws IOException, InterruptedException {
+        Path logFile = workDir.newFile(".log");
+        try {
             ProcessBuilder pb = new ProcessBuilder(
                     inkscapeCommand,
                     svgFile.toAbsolutePath().toString(),
-                    "--export-type=eps",
-                    "--export-filename=" + epsFile.toAbsolutePath()
+                    "--actions=" + ExportFormat.inkscapeActions(targets, dpi)
             );
             pb.redirectErrorStream(true);
+            pb.redirectOutput(logFile.toFile());
 
             Process process = pb.start();
-
-            String output;
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
-                output = reader.lines().collect(Collectors.joining("\n"));
+            boolean finished;
+            try {
+                finished = process.waitFor(processTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                destroyTree(process);
+                throw e;
             }
-
-            int exitCode = process.waitFor();
-            if (exitCode != 0) {
-                throw new IllegalStateException("Inkscape skončil chybou (" + exitCode + "):\n" + output);
+            if (!finished) {
+                destroyTree(process);
+                admission.recordKill();
+                throw new IllegalStateException("Inkscape neskončil do " + processTimeoutMs + " ms, proces bol zabitý.");
             }
-
-            if (!Files.exists(epsFile)) {
-                throw new IllegalStateException("Výstupný EPS súbor sa nenašiel: " + epsFile);
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                throw new IllegalStateException("Inkscape skončil chybou (" + exitCode + "):\n"
+                        + Files.readString(logFile, StandardCharsets.UTF_8));
             }
-
-            return Files.readAllBytes(epsFile);
-        } catch (IOException e) {
-            throw new RuntimeException("Chyba pri volaní Inkscape pre EPS export.", e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("EPS export bol prerušený.", e);
         } finally {
-            // best-effort cleanup
-            if (tempDir != null) {
-                try {
-                    Files.walk(tempDir)
-                            .sorted((a, b) -> b.compareTo(a)) // najprv súbory, potom dir
-                            .forEach(path -> {
-                                try {
-                                    Files.deleteIfExists(path);
-                                } catch (IOException ignored) {
-                                }
-                            });
-                } catch (IOException ignored) {
-                }
+            workDir.delete(logFile);
+        }
+
+        for (Path target : targets.values()) {
+            if (!Files.exists(target)) {
+                throw new IllegalStateException("Výstupný súbor sa nenašiel: " + target);
             }
         }
     }
-}
 
+    /**
+     * Inkscape môže spúšťať pomocné procesy (napr. Ghostscript pri PS/EPS) – zabíjame celý strom.
+     */
+    static void destroyTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+}
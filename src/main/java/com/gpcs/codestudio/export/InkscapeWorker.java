@@ -0,0 +1,191 @@
+package com.gpcs.codestudio.export;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jeden dlho žijúci proces {@code inkscape --shell}.
+ *
+ * Príkazy sa posielajú ako riadky akcií na stdin, koniec príkazu spoznáme podľa promptu "> ",
+ * ktorý Inkscape vypíše, keď je pripravený na ďalší riadok. Stdout číta samostatný daemon thread
+ * a každý prompt uvoľní jeden permit v {@link #prompts}.
+ *
+ * Worker nie je thread-safe – v jednom čase ho používa len jeden export (zabezpečuje {@link InkscapeWorkerPool}).
+ */
+final class InkscapeWorker {
+
+    private static final int MAX_OUTPUT = 8 * 1024;
+
+    private final Process process;
+    private final OutputStream stdin;
+    private final Semaphore prompts = new Semaphore(0);
+    private final StringBuilder output = new StringBuilder();
+    private int jobs;
+    private boolean timedOut;
+
+    private InkscapeWorker(Process process) {
+        this.process = process;
+        this.stdin = process.getOutputStream();
+
+        Thread reader = new Thread(() -> readOutput(process.getInputStream()), "inkscape-shell-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Spustí {@code inkscape --shell} a počká na prvý prompt.
+     */
+    static InkscapeWorker start(String inkscapeCommand, long startupTimeoutMs) throws IOException {
+        ProcessBuilder pb = new ProcessBuilder(inkscapeCommand, "--shell");
+        pb.redirectErrorStream(true);
+        InkscapeWorker worker = new InkscapeWorker(pb.start());
+        try {
+            if (!worker.awaitPrompt(startupTimeoutMs)) {
+                String out = worker.takeOutput();
+                worker.destroy();
+                throw new IOException("Inkscape --shell sa nespustil do " + startupTimeoutMs + " ms:\n" + out);
+            }
+        } catch (InterruptedException e) {
+            worker.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Štart Inkscape workera bol prerušený.", e);
+        }
+        worker.takeOutput();
+        return worker;
+    }
+
+    /**
+     * Otvorí SVG, vykoná exportné akcie (Inkscape 1.x, napr. z {@link ExportFormat#inkscapeActions})
+     * a dokument zavrie – všetko jedným riadkom.
+     *
+     * @throws IllegalStateException pri timeoute (proces sa zabije, {@link #isTimedOut()}) alebo páde procesu;
+     *                               worker je potom nepoužiteľný
+     */
+    void export(Path svgFile, String actions, long timeoutMs) throws IOException, InterruptedException {
+        jobs++;
+        send("file-open:" + svgFile.toAbsolutePath() + "; " + actions + "; file-close\n");
+        if (!awaitPrompt(timeoutMs)) {
+            timedOut = process.isAlive();
+            destroy();
+            throw new IllegalStateException("Inkscape worker neodpovedal do " + timeoutMs + " ms:\n" + takeOutput());
+        }
+    }
+
+    /**
+     * Health check: prázdny riadok musí vrátiť prompt.
+     */
+    boolean ping(long timeoutMs) {
+        try {
+            send("\n");
+            return awaitPrompt(timeoutMs);
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    int getJobs() {
+        return jobs;
+    }
+
+    /**
+     * Či bol proces zabitý, lebo visel dlhšie ako timeout exportu (nie pád).
+     */
+    boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Výstup procesu od posledného volania (pre chybové hlásenia).
+     */
+    String takeOutput() {
+        synchronized (output) {
+            String out = output.toString();
+            output.setLength(0);
+            return out;
+        }
+    }
+
+    void destroy() {
+        try {
+            stdin.close();
+        } catch (IOException ignored) {
+        }
+        InkscapeExportService.destroyTree(process);
+    }
+
+    private void send(String line) throws IOException {
+        if (!process.isAlive()) {
+            throw new IOException("Inkscape worker už nebeží.");
+        }
+        prompts.drainPermits();
+        stdin.write(line.getBytes(StandardCharsets.UTF_8));
+        stdin.flush();
+    }
+
+    private boolean awaitPrompt(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (true) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) {
+                return false;
+            }
+            // po páde procesu už prompt nepríde, netreba čakať celý timeout
+            if (prompts.tryAcquire(Math.min(left, TimeUnit.MILLISECONDS.toNanos(200)), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            if (!process.isAlive()) {
+                return false;
+            }
+        }
+    }
+
+    private void readOutput(InputStream in) {
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            boolean lineStart = true;
+            boolean pendingGt = false;
+            int c;
+            while ((c = reader.read()) >= 0) {
+                if (pendingGt) {
+                    pendingGt = false;
+                    if (c == ' ') {
+                        // bez TTY Inkscape neechuje vstup, ďalší prompt môže nasledovať hneď za týmto
+                        prompts.release();
+                        lineStart = true;
+                        continue;
+                    }
+                    append('>');
+                }
+                if (lineStart && c == '>') {
+                    pendingGt = true;
+                    continue;
+                }
+                append((char) c);
+                lineStart = c == '\n';
+            }
+        } catch (IOException ignored) {
+            // proces skončil
+        }
+    }
+
+    private void append(char c) {
+        synchronized (output) {
+            if (output.length() < MAX_OUTPUT) {
+                output.append(c);
+            }
+        }
+    }
+}
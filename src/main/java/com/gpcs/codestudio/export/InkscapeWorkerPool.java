@@ -0,0 +1,221 @@
+package com.gpcs.codestudio.export;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool teplých {@code inkscape --shell} procesov.
+ *
+ * Workery sa vytvárajú lenivo až do {@code size}, po použití sa vracajú do fronty voľných.
+ * Worker sa zahodí (a pri ďalšej potrebe nahradí novým), ak:
+ * <ul>
+ *     <li>spracoval {@code maxJobsPerWorker} exportov (Inkscape postupne nabaľuje pamäť),</li>
+ *     <li>spadol alebo prekročil timeout exportu (zabitie sa zaznamená v {@link ExportAdmission}),</li>
+ *     <li>neprešiel periodickým health checkom (prázdny príkaz musí vrátiť prompt).</li>
+ * </ul>
+ * {@code size = 0} pool vypne – {@link InkscapeExportService} potom spúšťa proces na každý export.
+ * Timeout čakania na worker aj exportu určuje volajúci (spoločný {@code codestudio.export.processTimeoutMs}).
+ */
+@Component
+public class InkscapeWorkerPool {
+
+    private static final long PING_TIMEOUT_MS = 5_000;
+
+    private final String inkscapeCommand;
+    private final int size;
+    private final int maxJobsPerWorker;
+    private final long startupTimeoutMs;
+    private final ExportAdmission admission;
+
+    private final Semaphore permits;
+    private final BlockingQueue<InkscapeWorker> idle;
+    private final ScheduledExecutorService healthChecker;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong recycled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean closed;
+
+    public InkscapeWorkerPool(
+            @Value("${codestudio.inkscape.command:inkscape}") String inkscapeCommand,
+            @Value("${codestudio.inkscape.pool.size:2}") int size,
+            @Value("${codestudio.inkscape.pool.maxJobsPerWorker:200}") int maxJobsPerWorker,
+            @Value("${codestudio.inkscape.pool.startupTimeoutMs:30000}") long startupTimeoutMs,
+            @Value("${codestudio.inkscape.pool.healthCheckIntervalMs:60000}") long healthCheckIntervalMs,
+            ExportAdmission admission
+    ) {
+        this.inkscapeCommand = inkscapeCommand;
+        this.size = Math.max(0, size);
+        this.maxJobsPerWorker = Math.max(1, maxJobsPerWorker);
+        this.startupTimeoutMs = startupTimeoutMs;
+        this.admission = admission;
+        this.permits = new Semaphore(this.size, true);
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, this.size));
+
+        if (this.size > 0 && healthCheckIntervalMs > 0) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "inkscape-pool-health");
+                t.setDaemon(true);
+                return t;
+            });
+            healthChecker.scheduleWithFixedDelay(this::checkIdleWorkers,
+                    healthCheckIntervalMs, healthCheckIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            healthChecker = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return size > 0;
+    }
+
+    /**
+     * Počká najviac {@code timeoutMs} na voľný worker. Po úspechu musí hneď nasledovať
+     * {@link #export(Path, Map, int, long)}, ktoré miesto vráti.
+     *
+     * @throws ExportOverloadedException ak sa worker neuvoľnil včas
+     */
+    public void acquire(long timeoutMs) throws InterruptedException {
+        if (!permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new ExportOverloadedException("Žiadny voľný Inkscape worker do " + timeoutMs + " ms.", timeoutMs);
+        }
+    }
+
+    /**
+     * Všetky {@code targets} z jedného načítania SVG na workeri získanom cez {@link #acquire(long)}.
+     * Worker, ktorý neodpovie do {@code timeoutMs}, sa zabije.
+     *
+     * @param dpi rozlíšenie pre PNG (ostatné formáty ho ignorujú)
+     */
+    public void export(Path svgFile, Map<ExportFormat, Path> targets, int dpi, long timeoutMs)
+            throws IOException, InterruptedException {
+        InkscapeWorker worker = null;
+        try {
+            worker = borrow();
+            worker.export(svgFile, ExportFormat.inkscapeActions(targets, dpi), timeoutMs);
+            // chybové hlásenia Inkscapu v shell móde nemenia exit code – výstup ponecháme pre diagnostiku
+            String output = worker.takeOutput();
+            if (!worker.isAlive()) {
+                throw new IllegalStateException("Inkscape worker počas exportu skončil:\n" + output);
+            }
+            for (Path target : targets.values()) {
+                if (!Files.exists(target)) {
+                    throw new IllegalStateException("Výstupný súbor sa nenašiel: " + target + "\n" + output);
+                }
+            }
+        } catch (RuntimeException | IOException | InterruptedException e) {
+            if (worker != null) {
+                failed.incrementAndGet();
+                if (worker.isTimedOut()) {
+                    admission.recordKill();
+                }
+                worker.destroy();
+                worker = null;
+            }
+            throw e;
+        } finally {
+            release(worker);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public long getStartedCount() {
+        return started.get();
+    }
+
+    public long getRecycledCount() {
+        return recycled.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        InkscapeWorker worker;
+        while ((worker = idle.poll()) != null) {
+            worker.destroy();
+        }
+    }
+
+    private InkscapeWorker borrow() throws IOException {
+        InkscapeWorker worker;
+        while ((worker = idle.poll()) != null) {
+            if (worker.isAlive()) {
+                return worker;
+            }
+            failed.incrementAndGet();
+            worker.destroy();
+        }
+        started.incrementAndGet();
+        return InkscapeWorker.start(inkscapeCommand, startupTimeoutMs);
+    }
+
+    /**
+     * Vráti worker do fronty (alebo ho recykluje) a uvoľní permit; {@code worker == null} = bol zahodený.
+     */
+    private void release(InkscapeWorker worker) {
+        try {
+            if (worker == null) {
+                return;
+            }
+            if (closed || !worker.isAlive() || worker.getJobs() >= maxJobsPerWorker || !idle.offer(worker)) {
+                recycled.incrementAndGet();
+                worker.destroy();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Periodický health check voľných workerov; zaneprázdnené workery sa neblokujú.
+     */
+    private void checkIdleWorkers() {
+        int count = idle.size();
+        for (int i = 0; i < count; i++) {
+            if (!permits.tryAcquire()) {
+                return; // všetky permity sú obsadené exportmi
+            }
+            InkscapeWorker worker = idle.poll();
+            if (worker == null) {
+                permits.release();
+                return;
+            }
+            if (!worker.isAlive() || !worker.ping(PING_TIMEOUT_MS)) {
+                failed.incrementAndGet();
+                worker.destroy();
+                worker = null;
+            } else {
+                worker.takeOutput();
+            }
+            release(worker);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.gpcs.codestudio.export;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Jednoduchý histogram časov v ms s pevnými hranicami košov; zápis je lock-free.
+ * Serializuje sa priamo do JSON (count, sumMs, maxMs, meanMs, buckets).
+ */
+public final class LatencyHistogram {
+
+    private static final long[] BOUNDS_MS = {
+            1, 5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, 60_000
+    };
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sumMs = new AtomicLong();
+    private final AtomicLong maxMs = new AtomicLong();
+
+    public void record(long ms) {
+        int i = 0;
+        while (i < BOUNDS_MS.length && ms > BOUNDS_MS[i]) {
+            i++;
+        }
+        counts.incrementAndGet(i);
+        count.incrementAndGet();
+        sumMs.addAndGet(ms);
+        maxMs.accumulateAndGet(ms, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getSumMs() {
+        return sumMs.get();
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+
+    public double getMeanMs() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) sumMs.get() / n;
+    }
+
+    /**
+     * Počty podľa horných hraníc: "le_10" = (5, 10] ms, "inf" = nad poslednou hranicou.
+     */
+    public Map<String, Long> getBuckets() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS_MS.length; i++) {
+            buckets.put("le_" + BOUNDS_MS[i], counts.get(i));
+        }
+        buckets.put("inf", counts.get(BOUNDS_MS.length));
+        return buckets;
+    }
+}
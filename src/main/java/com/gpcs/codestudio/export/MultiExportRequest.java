@@ -0,0 +1,64 @@
+package com.gpcs.codestudio.export;
+
+import java.util.List;
+
+/**
+ * Request pre export jedného SVG do viacerých formátov naraz (výsledok je ZIP).
+ */
+public class MultiExportRequest {
+
+    /**
+     * SVG obsah generovaný z FE (celý <svg>...</svg>)
+     */
+    private String svg;
+
+    /**
+     * Základ názvu súborov v ZIP-e – napr. "etiketa_123" → etiketa_123.eps, etiketa_123.pdf ...
+     */
+    private String fileName;
+
+    /**
+     * Formáty: "eps", "pdf", "png", "svg" (plain SVG)
+     */
+    private List<String> formats;
+
+    /**
+     * Rozlíšenie PNG náhľadu, predvolene 300
+     */
+    private Integer dpi;
+
+    public MultiExportRequest() {
+    }
+
+    public String getSvg() {
+        return svg;
+    }
+
+    public void setSvg(String svg) {
+        this.svg = svg;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public List<String> getFormats() {
+        return formats;
+    }
+
+    public void setFormats(List<String> formats) {
+        this.formats = formats;
+    }
+
+    public Integer getDpi() {
+        return dpi;
+    }
+
+    public void setDpi(Integer dpi) {
+        this.dpi = dpi;
+    }
+}
@@ -0,0 +1,309 @@
+package com.gpcs.codestudio.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Vyradenie etikiet na hárok: z N etikiet zloží jedno SVG, ktoré sa konvertuje jedným volaním
+ * {@link InkscapeExportService} namiesto N konverzií.
+ *
+ * Každé rôzne SVG (po normalizácii {@link SvgNormalizer}) je v {@code <defs>} raz ako {@code <symbol>}
+ * s pôvodným viewBox-om, na hárku sú už len {@code <use>} odkazy s pozíciou a veľkosťou bunky.
+ * Hárok má viewBox v mm, takže súradnice {@code <use>} sú priamo milimetre.
+ */
+@Component
+public class SheetComposer {
+
+    private static final String XLINK_NS = "http://www.w3.org/1999/xlink";
+    private static final String XML_NS = "http://www.w3.org/XML/1998/namespace";
+
+    // atribúty koreňa, ktoré určujú rozmer / polohu dokumentu a na symbol sa neprenášajú
+    private static final Set<String> ROOT_GEOMETRY =
+            Set.of("width", "height", "x", "y", "viewBox", "preserveAspectRatio", "version", "baseProfile", "id");
+
+    private static final Pattern ID = Pattern.compile("\\bid=\"([^\"]+)\"");
+    private static final Pattern REFERENCE =
+            Pattern.compile("(\\bid=\")([^\"]+)(\")|(url\\(#)([^)]+)(\\))|(href=\"#)([^\"]+)(\")");
+
+    private final SvgNormalizer svgNormalizer;
+    private final XMLInputFactory xml;
+    private final int maxLabels;
+
+    public SheetComposer(
+            SvgNormalizer svgNormalizer,
+            @Value("${codestudio.export.sheet.maxLabels:5000}") int maxLabels
+    ) {
+        this.svgNormalizer = svgNormalizer;
+        this.maxLabels = maxLabels;
+        this.xml = XMLInputFactory.newFactory();
+        xml.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xml.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xml.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * @throws IllegalArgumentException pri neplatných rozmeroch, neplatnom SVG etikety
+     *                                  alebo ak sa etikety na hárok nezmestia
+     */
+    public String compose(ImpositionRequest request) {
+        double sheetWidth = positive(request.getSheetWidth(), "sheetWidth");
+        double sheetHeight = positive(request.getSheetHeight(), "sheetHeight");
+        double labelWidth = positive(request.getLabelWidth(), "labelWidth");
+        double labelHeight = positive(request.getLabelHeight(), "labelHeight");
+        double margin = orZero(request.getMargin());
+        double stepX = request.getStepX() != null ? request.getStepX() : labelWidth + orZero(request.getGapX());
+        double stepY = request.getStepY() != null ? request.getStepY() : labelHeight + orZero(request.getGapY());
+        if (stepX <= 0 || stepY <= 0) {
+            throw new IllegalArgumentException("Krok vyradenia musí byť kladný.");
+        }
+
+        int columns = request.getColumns() != null
+                ? explicit(request.getColumns(), margin, labelWidth, stepX, sheetWidth, "stĺpcov", "šírky")
+                : fit(sheetWidth - 2 * margin, labelWidth, stepX);
+        int rows = request.getRows() != null
+                ? explicit(request.getRows(), margin, labelHeight, stepY, sheetHeight, "riadkov", "výšky")
+                : fit(sheetHeight - 2 * margin, labelHeight, stepY);
+        long capacity = (long) Math.max(0, columns) * Math.max(0, rows);
+
+        List<ImpositionLabel> labels = request.getLabels();
+        if (labels == null || labels.isEmpty()) {
+            throw new IllegalArgumentException("Hárok neobsahuje žiadne etikety.");
+        }
+        long total = 0;
+        for (ImpositionLabel label : labels) {
+            total += label.getCopies() != null ? Math.max(0, label.getCopies()) : 1;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Hárok neobsahuje žiadne etikety.");
+        }
+        if (total > maxLabels) {
+            throw new IllegalArgumentException("Príliš veľa etikiet na hárku (max " + maxLabels + ").");
+        }
+        if (total > capacity) {
+            throw new IllegalArgumentException("Na hárok sa zmestí " + capacity + " etikiet (" + columns + " × "
+                    + rows + "), požadovaných je " + total + ".");
+        }
+
+        StringBuilder defs = new StringBuilder();
+        StringBuilder body = new StringBuilder((int) total * 96);
+        Map<String, String> symbols = new HashMap<>();
+        Map<String, String> symbolsByRaw = new HashMap<>();
+
+        int cell = 0;
+        for (ImpositionLabel label : labels) {
+            int copies = label.getCopies() != null ? Math.max(0, label.getCopies()) : 1;
+            if (copies == 0) {
+                continue;
+            }
+            if (label.getSvg() == null || label.getSvg().isBlank()) {
+                throw new IllegalArgumentException("SVG etikety nesmie byť prázdne.");
+            }
+            // rovnaký text sa normalizuje len raz; rôzne texty s rovnakým kanonickým tvarom zdieľajú symbol
+            String symbolId = symbolsByRaw.get(label.getSvg());
+            if (symbolId == null) {
+                String svg = svgNormalizer.canonical(label.getSvg());
+                symbolId = symbols.get(svg);
+                if (symbolId == null) {
+                    symbolId = "label" + (symbols.size() + 1);
+                    appendSymbol(defs, symbolId, svg);
+                    symbols.put(svg, symbolId);
+                }
+                symbolsByRaw.put(label.getSvg(), symbolId);
+            }
+            for (int i = 0; i < copies; i++, cell++) {
+                double x = margin + (cell % columns) * stepX;
+                double y = margin + (cell / columns) * stepY;
+                body.append("<use xlink:href=\"#").append(symbolId)
+                        .append("\" x=\"").append(SvgEpsWriter.fmt(x))
+                        .append("\" y=\"").append(SvgEpsWriter.fmt(y))
+                        .append("\" width=\"").append(SvgEpsWriter.fmt(labelWidth))
+                        .append("\" height=\"").append(SvgEpsWriter.fmt(labelHeight))
+                        .append("\"/>\n");
+            }
+        }
+
+        StringBuilder sheet = new StringBuilder(defs.length() + body.length() + 256);
+        sheet.append("<svg xmlns=\"http://www.w3.org/2000/svg\" xmlns:xlink=\"").append(XLINK_NS).append('"')
+                .append(" width=\"").append(SvgEpsWriter.fmt(sheetWidth)).append("mm\"")
+                .append(" height=\"").append(SvgEpsWriter.fmt(sheetHeight)).append("mm\"")
+                .append(" viewBox=\"0 0 ").append(SvgEpsWriter.fmt(sheetWidth)).append(' ')
+                .append(SvgEpsWriter.fmt(sheetHeight)).append("\">\n")
+                .append("<defs>\n").append(defs).append("</defs>\n")
+                .append(body)
+                .append("</svg>\n");
+        return sheet.toString();
+    }
+
+    /**
+     * Obsah koreňového {@code <svg>} etikety ako {@code <symbol>} s jej viewBox-om. ID vnútri etikety
+     * (gradienty, clip-path ...) dostanú predponu symbolu, aby sa etikety navzájom nebili.
+     * Prezentačné atribúty a {@code style} koreňa sa dedia do obsahu, preto ho obalí {@code <g>} s nimi;
+     * preserveAspectRatio ide priamo na symbol.
+     */
+    private void appendSymbol(StringBuilder defs, String symbolId, String svg) {
+        Root root = root(svg);
+        String content = root.content;
+        if (content.contains("id=\"")) {
+            content = prefixIds(content, symbolId + "-");
+        }
+        defs.append("<symbol id=\"").append(symbolId).append("\" viewBox=\"").append(escape(root.viewBox)).append('"');
+        if (root.preserveAspectRatio != null) {
+            defs.append(" preserveAspectRatio=\"").append(escape(root.preserveAspectRatio)).append('"');
+        }
+        for (Map.Entry<String, String> ns : root.namespaces.entrySet()) {
+            defs.append(' ').append(ns.getKey()).append("=\"").append(escape(ns.getValue())).append('"');
+        }
+        defs.append('>');
+        if (root.presentation.isEmpty()) {
+            defs.append(content);
+        } else {
+            defs.append("<g");
+            for (Map.Entry<String, String> a : root.presentation.entrySet()) {
+                defs.append(' ').append(a.getKey()).append("=\"").append(escape(a.getValue())).append('"');
+            }
+            defs.append('>').append(content).append("</g>");
+        }
+        defs.append("</symbol>\n");
+    }
+
+    private Root root(String svg) {
+        Root root = new Root();
+        try {
+            XMLStreamReader reader = xml.createXMLStreamReader(new StringReader(svg));
+            try {
+                while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    // prológ
+                }
+                if (!reader.isStartElement() || !"svg".equals(reader.getLocalName())) {
+                    throw new IllegalArgumentException("Etiketa nie je SVG dokument.");
+                }
+                for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                    String prefix = reader.getNamespacePrefix(i);
+                    String uri = reader.getNamespaceURI(i);
+                    if (prefix != null && !prefix.isEmpty() && !XLINK_NS.equals(uri)) {
+                        root.namespaces.put("xmlns:" + prefix, uri);
+                    }
+                }
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    String ns = reader.getAttributeNamespace(i);
+                    String name = reader.getAttributeLocalName(i);
+                    if ((ns == null || ns.isEmpty()) && !ROOT_GEOMETRY.contains(name)) {
+                        root.presentation.put(name, reader.getAttributeValue(i));
+                    } else if (XML_NS.equals(ns) && "space".equals(name)) {
+                        root.presentation.put("xml:space", reader.getAttributeValue(i));
+                    }
+                }
+                String preserveAspectRatio = reader.getAttributeValue(null, "preserveAspectRatio");
+                if (preserveAspectRatio != null && !preserveAspectRatio.isBlank()) {
+                    root.preserveAspectRatio = preserveAspectRatio.trim();
+                }
+                String viewBox = reader.getAttributeValue(null, "viewBox");
+                if (viewBox == null || viewBox.isBlank()) {
+                    double w = SvgNormalizer.userUnits(reader.getAttributeValue(null, "width"));
+                    double h = SvgNormalizer.userUnits(reader.getAttributeValue(null, "height"));
+                    if (Double.isNaN(w) || Double.isNaN(h)) {
+                        throw new IllegalArgumentException("Etiketa nemá viewBox ani číselné width/height.");
+                    }
+                    viewBox = "0 0 " + SvgEpsWriter.fmt(w) + " " + SvgEpsWriter.fmt(h);
+                }
+                root.viewBox = viewBox;
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Neplatné SVG etikety: " + e.getMessage(), e);
+        }
+
+        // kanonické SVG: koreňový tag končí prvým '>' ('>' v hodnotách je escapované), obsah je pred </svg>
+        int open = svg.indexOf('>');
+        int close = svg.lastIndexOf("</svg>");
+        root.content = svg.charAt(open - 1) != '/' && close > open ? svg.substring(open + 1, close) : "";
+        return root;
+    }
+
+    private static String prefixIds(String content, String prefix) {
+        Set<String> ids = new HashSet<>();
+        Matcher m = ID.matcher(content);
+        while (m.find()) {
+            ids.add(m.group(1));
+        }
+        Matcher ref = REFERENCE.matcher(content);
+        StringBuilder sb = new StringBuilder(content.length() + ids.size() * prefix.length() * 2);
+        while (ref.find()) {
+            int g = ref.group(2) != null ? 2 : ref.group(5) != null ? 5 : 8;
+            String id = ref.group(g);
+            String replacement = ids.contains(id)
+                    ? ref.group(g - 1) + prefix + id + ref.group(g + 1)
+                    : ref.group();
+            ref.appendReplacement(sb, Matcher.quoteReplacement(replacement));
+        }
+        ref.appendTail(sb);
+        return sb.toString();
+    }
+
+    private static double positive(Double value, String name) {
+        if (value == null || !(value > 0)) {
+            throw new IllegalArgumentException("Rozmer " + name + " musí byť kladné číslo (mm).");
+        }
+        return value;
+    }
+
+    private static double orZero(Double value) {
+        return value != null && value > 0 ? value : 0;
+    }
+
+    /**
+     * Koľko etikiet sa zmestí do {@code available}: prvá potrebuje celú šírku, každá ďalšia o krok viac.
+     */
+    private static int fit(double available, double size, double step) {
+        if (available + 1e-9 < size) {
+            return 0;
+        }
+        return 1 + (int) Math.floor((available - size) / step + 1e-9);
+    }
+
+    /**
+     * Zadaný počet stĺpcov / riadkov: posledná etiketa musí celá ležať na hárku.
+     */
+    private static int explicit(int count, double margin, double size, double step, double sheet,
+                                String what, String dimension) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Počet " + what + " musí byť aspoň 1.");
+        }
+        double extent = margin + (count - 1) * step + size;
+        if (extent > sheet + 1e-6) {
+            throw new IllegalArgumentException("Zadaný počet " + what + " (" + count + ") sa nezmestí: potrebuje "
+                    + SvgEpsWriter.fmt(extent) + " mm, hárok má " + dimension + " " + SvgEpsWriter.fmt(sheet) + " mm.");
+        }
+        return count;
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf('&') < 0 && value.indexOf('<') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace("\"", "&quot;");
+    }
+
+    private static final class Root {
+        final Map<String, String> namespaces = new TreeMap<>();
+        final Map<String, String> presentation = new TreeMap<>();
+        String viewBox;
+        String preserveAspectRatio;
+        String content;
+    }
+}
@@ -0,0 +1,907 @@
+package com.gpcs.codestudio.export;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Vlastný prevod SVG → EPS (PostScript Level 2) pre podmnožinu, ktorú používajú naše etikety:
+ * {@code svg}, {@code g}, {@code rect}, {@code path} (M/L/H/V/C/S/Q/T/Z) a {@code text} s jednoduchým
+ * textom, výplň farbou, {@code transform} (translate / scale / rotate / matrix).
+ *
+ * SVG sa číta cez StAX jedným prechodom a PostScript sa skladá do bufferu. Pri čomkoľvek mimo
+ * podmnožiny (stroke, gradient, obrázok, clip, opacity, oblúky v path, tspan, CSS ...) vráti
+ * {@code null} a volajúci použije Inkscape. Nepodporovaná vlastnosť sa teda nikdy nevykreslí zle –
+ * buď ide celý dokument natívne, alebo celý cez Inkscape.
+ *
+ * Text sa kreslí štandardnými PostScript fontmi (OCR-B / monospace → Courier, serif → Times,
+ * inak Helvetica), preto sú povolené len tlačiteľné ASCII znaky.
+ */
+public final class SvgEpsWriter {
+
+    private static final String SVG_NS = "http://www.w3.org/2000/svg";
+
+    private static final XMLInputFactory XML = createFactory();
+    // číslo podľa gramatiky SVG – bez NaN, Infinity, hex a Java prípon (1d, 1f)
+    private static final Pattern NUMBER = Pattern.compile("[+-]?(\\d+(\\.\\d*)?|\\.\\d+)([eE][+-]?\\d+)?");
+
+    /** Vlastnosti, ktoré výsledok neovplyvnia (stroke sa nekreslí, rendering hinty ...). */
+    private static final Set<String> IGNORED = Set.of(
+            "id", "class", "version", "baseProfile", "shape-rendering", "text-rendering", "image-rendering",
+            "color-rendering", "stroke-width", "stroke-linecap", "stroke-linejoin", "stroke-miterlimit",
+            "stroke-dasharray", "stroke-dashoffset", "stroke-opacity", "font-style", "font-variant",
+            "font-stretch", "letter-spacing", "word-spacing", "writing-mode", "direction", "color",
+            "enable-background", "overflow", "vector-effect", "paint-order", "preserveAspectRatio"
+    );
+
+    private SvgEpsWriter() {
+    }
+
+    /**
+     * @return EPS bajty, alebo {@code null} ak SVG obsahuje niečo mimo podporovanej podmnožiny
+     */
+    public static byte[] convert(String svg) {
+        if (svg == null || svg.isBlank()) {
+            return null;
+        }
+        try {
+            XMLStreamReader reader = XML.createXMLStreamReader(new StringReader(svg));
+            try {
+                String ps = new Converter(reader).run();
+                return ps == null ? null : ps.getBytes(StandardCharsets.US_ASCII);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | Unsupported e) {
+            return null;
+        }
+    }
+
+    /**
+     * To isté ako {@link #convert(String)}, ale SVG sa číta priamo zo streamu (súbor / telo requestu),
+     * bez medzikópie v {@code String}. Kódovanie sa berie z XML deklarácie.
+     */
+    public static byte[] convert(InputStream svg) {
+        try {
+            XMLStreamReader reader = XML.createXMLStreamReader(svg);
+            try {
+                String ps = new Converter(reader).run();
+                return ps == null ? null : ps.getBytes(StandardCharsets.US_ASCII);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | Unsupported e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /** Signál "mimo podmnožiny" – bez stack trace, je to bežná vetva. */
+    private static final class Unsupported extends RuntimeException {
+        Unsupported() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static Unsupported unsupported() {
+        return new Unsupported();
+    }
+
+    /**
+     * Zdedené vlastnosti (fill, font) pre aktuálny element.
+     */
+    private static final class Style {
+        String fill = "0 0 0";
+        boolean evenOdd;
+        double fontSize = 16;
+        String font = "/Helvetica";
+        boolean bold;
+        int anchor; // 0 start, 1 middle, 2 end
+
+        Style copy() {
+            Style s = new Style();
+            s.fill = fill;
+            s.evenOdd = evenOdd;
+            s.fontSize = fontSize;
+            s.font = font;
+            s.bold = bold;
+            s.anchor = anchor;
+            return s;
+        }
+    }
+
+    private static final class Converter {
+
+        private final XMLStreamReader reader;
+        private final StringBuilder body = new StringBuilder(4096);
+        private final ArrayDeque<Style> styles = new ArrayDeque<>();
+        private final ArrayDeque<Boolean> saved = new ArrayDeque<>();
+        private String currentFill;
+        private String currentFont;
+        private double widthPt;
+        private double heightPt;
+
+        Converter(XMLStreamReader reader) {
+            this.reader = reader;
+        }
+
+        String run() throws XMLStreamException {
+            boolean root = true;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if (!SVG_NS.equals(reader.getNamespaceURI())) {
+                        if (root) {
+                            throw unsupported();
+                        }
+                        skipElement(); // sodipodi:namedview a pod.
+                        continue;
+                    }
+                    String name = reader.getLocalName();
+                    if (root) {
+                        if (!"svg".equals(name)) {
+                            throw unsupported();
+                        }
+                        root = false;
+                        startSvg();
+                        continue;
+                    }
+                    switch (name) {
+                        case "g" -> startGroup();
+                        case "rect" -> rect();
+                        case "path" -> path();
+                        case "text" -> text();
+                        case "title", "desc", "metadata" -> skipElement();
+                        default -> throw unsupported(); // defs, use, circle, image, style, svg ...
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    // sem chodí len koniec g a koreňového svg, ostatné elementy sa dočítajú celé
+                    endGroup();
+                } else if (event == XMLStreamConstants.CHARACTERS && !reader.isWhiteSpace()) {
+                    throw unsupported();
+                }
+            }
+            if (root) {
+                return null;
+            }
+            return document();
+        }
+
+        private String document() {
+            StringBuilder ps = new StringBuilder(body.length() + 1024);
+            ps.append("%!PS-Adobe-3.0 EPSF-3.0\n");
+            ps.append("%%Creator: GPCS CodeStudio\n");
+            ps.append("%%BoundingBox: 0 0 ").append((long) Math.ceil(widthPt)).append(' ')
+                    .append((long) Math.ceil(heightPt)).append('\n');
+            ps.append("%%HiResBoundingBox: 0 0 ").append(fmt(widthPt)).append(' ').append(fmt(heightPt)).append('\n');
+            ps.append("%%LanguageLevel: 2\n%%Pages: 1\n%%EndComments\n");
+            ps.append("%%BeginProlog\n");
+            ps.append("/m {moveto} bind def /l {lineto} bind def /c {curveto} bind def /cp {closepath} bind def\n");
+            ps.append("/f {fill} bind def /ef {eofill} bind def /rf {rectfill} bind def /rg {setrgbcolor} bind def\n");
+            ps.append("/q {gsave} bind def /Q {grestore} bind def /cm {concat} bind def\n");
+            ps.append("/F {findfont exch scalefont setfont} bind def\n");
+            ps.append("/TS {show} bind def\n");
+            ps.append("/TM {dup stringwidth pop -2 div 0 rmoveto show} bind def\n");
+            ps.append("/TE {dup stringwidth pop neg 0 rmoveto show} bind def\n");
+            ps.append("%%EndProlog\n%%Page: 1 1\n");
+            ps.append(body);
+            ps.append("showpage\n%%EOF\n");
+            return ps.toString();
+        }
+
+        private void startSvg() throws XMLStreamException {
+            double[] viewBox = null;
+            String width = null;
+            String height = null;
+            Style style = new Style();
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isPlainAttribute(i)) {
+                    continue;
+                }
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                switch (name) {
+                    case "width" -> width = value;
+                    case "height" -> height = value;
+                    case "viewBox" -> viewBox = numbers(value, 4);
+                    case "x", "y" -> {
+                        if (parseNumber(value) != 0) {
+                            throw unsupported();
+                        }
+                    }
+                    default -> presentation(style, name, value);
+                }
+            }
+
+            double w = width != null ? toPoints(width) : viewBox != null ? viewBox[2] * 0.75 : -1;
+            double h = height != null ? toPoints(height) : viewBox != null ? viewBox[3] * 0.75 : -1;
+            if (w <= 0 || h <= 0) {
+                throw unsupported();
+            }
+            if (viewBox == null) {
+                viewBox = new double[]{0, 0, w / 0.75, h / 0.75};
+            }
+            if (viewBox[2] <= 0 || viewBox[3] <= 0) {
+                throw unsupported();
+            }
+            double sx = w / viewBox[2];
+            double sy = h / viewBox[3];
+            // iný pomer strán by v SVG znamenal preserveAspectRatio – to necháme Inkscapu
+            if (Math.abs(sx - sy) > 1e-6 * Math.max(sx, sy)) {
+                throw unsupported();
+            }
+            widthPt = w;
+            heightPt = h;
+
+            // PostScript má počiatok vľavo dole a os y hore
+            body.append("q 0 ").append(fmt(h)).append(" translate ").append(fmt(sx, 6)).append(' ')
+                    .append(fmt(-sy, 6)).append(" scale");
+            if (viewBox[0] != 0 || viewBox[1] != 0) {
+                body.append(' ').append(fmt(-viewBox[0])).append(' ').append(fmt(-viewBox[1])).append(" translate");
+            }
+            body.append('\n');
+            styles.push(style);
+            saved.push(Boolean.TRUE);
+        }
+
+        private void startGroup() {
+            Style style = styles.peek().copy();
+            String transform = null;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isPlainAttribute(i)) {
+                    continue;
+                }
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                if ("transform".equals(name)) {
+                    transform = value;
+                } else {
+                    presentation(style, name, value);
+                }
+            }
+            styles.push(style);
+            saved.push(openTransform(transform));
+        }
+
+        private void endGroup() {
+            styles.pop();
+            if (saved.pop()) {
+                closeTransform();
+            }
+        }
+
+        private void rect() throws XMLStreamException {
+            Style style = styles.peek().copy();
+            double x = 0;
+            double y = 0;
+            double w = -1;
+            double h = -1;
+            String transform = null;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isPlainAttribute(i)) {
+                    continue;
+                }
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                switch (name) {
+                    case "x" -> x = parseNumber(value);
+                    case "y" -> y = parseNumber(value);
+                    case "width" -> w = parseLength(value);
+                    case "height" -> h = parseLength(value);
+                    case "rx", "ry" -> {
+                        if (parseNumber(value) != 0) {
+                            throw unsupported();
+                        }
+                    }
+                    case "transform" -> transform = value;
+                    default -> presentation(style, name, value);
+                }
+            }
+            skipElement();
+            if (w < 0 || h < 0) {
+                throw unsupported();
+            }
+            if (style.fill == null || w == 0 || h == 0) {
+                return;
+            }
+            boolean pushed = openTransform(transform);
+            setFill(style.fill);
+            body.append(fmt(x)).append(' ').append(fmt(y)).append(' ').append(fmt(w)).append(' ')
+                    .append(fmt(h)).append(" rf\n");
+            if (pushed) {
+                closeTransform();
+            }
+        }
+
+        private void path() throws XMLStreamException {
+            Style style = styles.peek().copy();
+            String d = null;
+            String transform = null;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isPlainAttribute(i)) {
+                    continue;
+                }
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                switch (name) {
+                    case "d" -> d = value;
+                    case "transform" -> transform = value;
+                    default -> presentation(style, name, value);
+                }
+            }
+            skipElement();
+            if (d == null || d.isEmpty() || style.fill == null) {
+                return;
+            }
+            boolean pushed = openTransform(transform);
+            setFill(style.fill);
+            new PathData(d, body).emit();
+            body.append(style.evenOdd ? "ef\n" : "f\n");
+            if (pushed) {
+                closeTransform();
+            }
+        }
+
+        private void text() throws XMLStreamException {
+            Style style = styles.peek().copy();
+            double x = 0;
+            double y = 0;
+            String transform = null;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                if (!isPlainAttribute(i)) {
+                    continue;
+                }
+                String name = reader.getAttributeLocalName(i);
+                String value = reader.getAttributeValue(i).trim();
+                switch (name) {
+                    case "x" -> x = parseNumber(value);
+                    case "y" -> y = parseNumber(value);
+                    case "transform" -> transform = value;
+                    default -> presentation(style, name, value);
+                }
+            }
+
+            StringBuilder content = new StringBuilder();
+            while (true) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE) {
+                    content.append(reader.getText());
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    throw unsupported(); // tspan, textPath
+                }
+            }
+            String text = content.toString().strip().replaceAll("\\s+", " ");
+            if (text.isEmpty() || style.fill == null) {
+                return;
+            }
+
+            boolean pushed = openTransform(transform);
+            setFill(style.fill);
+            String font = style.bold ? bold(style.font) : style.font;
+            String fontKey = fmt(style.fontSize) + ' ' + font;
+            if (!fontKey.equals(currentFont)) {
+                body.append(fontKey).append(" F\n");
+                currentFont = fontKey;
+            }
+            body.append("q ").append(fmt(x)).append(' ').append(fmt(y)).append(" translate 1 -1 scale 0 0 m (");
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c < 0x20 || c > 0x7E) {
+                    throw unsupported();
+                }
+                if (c == '(' || c == ')' || c == '\\') {
+                    body.append('\\');
+                }
+                body.append(c);
+            }
+            body.append(style.anchor == 1 ? ") TM Q\n" : style.anchor == 2 ? ") TE Q\n" : ") TS Q\n");
+            if (pushed) {
+                closeTransform();
+            }
+        }
+
+        /**
+         * Prezentačný atribút alebo {@code style="..."}; čokoľvek neznáme = mimo podmnožiny.
+         */
+        private void presentation(Style style, String name, String value) {
+            switch (name) {
+                case "style" -> {
+                    for (String declaration : value.split(";")) {
+                        int colon = declaration.indexOf(':');
+                        if (colon < 0) {
+                            if (!declaration.isBlank()) {
+                                throw unsupported();
+                            }
+                            continue;
+                        }
+                        presentation(style, declaration.substring(0, colon).trim(),
+                                declaration.substring(colon + 1).trim());
+                    }
+                }
+                case "fill" -> style.fill = color(value);
+                case "fill-rule" -> style.evenOdd = "evenodd".equals(value);
+                case "stroke" -> {
+                    if (!"none".equals(value)) {
+                        throw unsupported();
+                    }
+                }
+                case "opacity", "fill-opacity" -> {
+                    if (parseNumber(value) != 1) {
+                        throw unsupported();
+                    }
+                }
+                case "visibility", "display" -> {
+                    if (!"visible".equals(value) && !"inline".equals(value)) {
+                        throw unsupported();
+                    }
+                }
+                case "font-size" -> style.fontSize = parseLength(value.endsWith("px")
+                        ? value.substring(0, value.length() - 2) : value);
+                case "font-family" -> style.font = font(value);
+                case "font-weight" -> style.bold = "bold".equals(value) || "bolder".equals(value)
+                        || (Character.isDigit(value.isEmpty() ? 'x' : value.charAt(0)) && parseNumber(value) >= 600);
+                case "text-anchor" -> style.anchor = switch (value) {
+                    case "middle" -> 1;
+                    case "end" -> 2;
+                    default -> 0;
+                };
+                case "dominant-baseline", "alignment-baseline" -> {
+                    if (!"auto".equals(value) && !"alphabetic".equals(value) && !"baseline".equals(value)) {
+                        throw unsupported();
+                    }
+                }
+                default -> {
+                    if (!IGNORED.contains(name)) {
+                        throw unsupported();
+                    }
+                }
+            }
+        }
+
+        private boolean openTransform(String transform) {
+            if (transform == null || transform.isBlank()) {
+                return false;
+            }
+            double[] m = Transform.parse(transform);
+            body.append("q [").append(fmt(m[0], 6)).append(' ').append(fmt(m[1], 6)).append(' ')
+                    .append(fmt(m[2], 6)).append(' ').append(fmt(m[3], 6)).append(' ')
+                    .append(fmt(m[4])).append(' ').append(fmt(m[5])).append("] cm\n");
+            return true;
+        }
+
+        private void closeTransform() {
+            body.append("Q\n");
+            // grestore vráti farbu aj font spred gsave
+            currentFill = null;
+            currentFont = null;
+        }
+
+        private void setFill(String rgb) {
+            if (!rgb.equals(currentFill)) {
+                body.append(rgb).append(" rg\n");
+                currentFill = rgb;
+            }
+        }
+
+        private boolean isPlainAttribute(int i) {
+            String ns = reader.getAttributeNamespace(i);
+            return ns == null || ns.isEmpty();
+        }
+
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parser {@code d} atribútu, zapisuje absolútne PostScript príkazy.
+     */
+    private static final class PathData {
+
+        private final String d;
+        private final StringBuilder out;
+        private int pos;
+        private double x;
+        private double y;
+        private double startX;
+        private double startY;
+        private double ctrlX;
+        private double ctrlY;
+        private char last;
+
+        PathData(String d, StringBuilder out) {
+            this.d = d;
+            this.out = out;
+        }
+
+        void emit() {
+            char command = 0;
+            while (true) {
+                skipSeparators();
+                if (pos >= d.length()) {
+                    return;
+                }
+                char c = d.charAt(pos);
+                if (Character.isLetter(c)) {
+                    command = c;
+                    pos++;
+                } else if (command == 0) {
+                    throw unsupported();
+                } else if (command == 'M') {
+                    command = 'L'; // ďalšie dvojice po M sú lineto
+                } else if (command == 'm') {
+                    command = 'l';
+                }
+                segment(command);
+                if (command == 'Z' || command == 'z') {
+                    command = 0;
+                }
+            }
+        }
+
+        private void segment(char command) {
+            boolean rel = Character.isLowerCase(command);
+            double ox = rel ? x : 0;
+            double oy = rel ? y : 0;
+            switch (Character.toUpperCase(command)) {
+                case 'M' -> {
+                    x = ox + number();
+                    y = oy + number();
+                    startX = x;
+                    startY = y;
+                    point(x, y).append(" m\n");
+                }
+                case 'L' -> {
+                    x = ox + number();
+                    y = oy + number();
+                    point(x, y).append(" l\n");
+                }
+                case 'H' -> {
+                    x = ox + number();
+                    point(x, y).append(" l\n");
+                }
+                case 'V' -> {
+                    y = oy + number();
+                    point(x, y).append(" l\n");
+                }
+                case 'C' -> {
+                    double x1 = ox + number();
+                    double y1 = oy + number();
+                    double x2 = ox + number();
+                    double y2 = oy + number();
+                    curve(x1, y1, x2, y2, ox + number(), oy + number());
+                }
+                case 'S' -> {
+                    boolean smooth = last == 'C' || last == 'S';
+                    double x1 = smooth ? 2 * x - ctrlX : x;
+                    double y1 = smooth ? 2 * y - ctrlY : y;
+                    double x2 = ox + number();
+                    double y2 = oy + number();
+                    curve(x1, y1, x2, y2, ox + number(), oy + number());
+                }
+                case 'Q' -> {
+                    double qx = ox + number();
+                    double qy = oy + number();
+                    quad(qx, qy, ox + number(), oy + number());
+                }
+                case 'T' -> {
+                    boolean smooth = last == 'Q' || last == 'T';
+                    double qx = smooth ? 2 * x - ctrlX : x;
+                    double qy = smooth ? 2 * y - ctrlY : y;
+                    quad(qx, qy, ox + number(), oy + number());
+                }
+                case 'Z' -> {
+                    x = startX;
+                    y = startY;
+                    out.append("cp\n");
+                }
+                default -> throw unsupported(); // A / a – oblúky
+            }
+            last = Character.toUpperCase(command);
+        }
+
+        private void curve(double x1, double y1, double x2, double y2, double ex, double ey) {
+            point(x1, y1).append(' ');
+            point(x2, y2).append(' ');
+            point(ex, ey).append(" c\n");
+            ctrlX = x2;
+            ctrlY = y2;
+            x = ex;
+            y = ey;
+        }
+
+        /** Kvadratická Bézierova krivka ako kubická. */
+        private void quad(double qx, double qy, double ex, double ey) {
+            double x1 = x + 2.0 / 3 * (qx - x);
+            double y1 = y + 2.0 / 3 * (qy - y);
+            double x2 = ex + 2.0 / 3 * (qx - ex);
+            double y2 = ey + 2.0 / 3 * (qy - ey);
+            point(x1, y1).append(' ');
+            point(x2, y2).append(' ');
+            point(ex, ey).append(" c\n");
+            ctrlX = qx;
+            ctrlY = qy;
+            x = ex;
+            y = ey;
+        }
+
+        private StringBuilder point(double px, double py) {
+            return out.append(fmt(px)).append(' ').append(fmt(py));
+        }
+
+        private double number() {
+            skipSeparators();
+            int start = pos;
+            if (pos < d.length() && (d.charAt(pos) == '-' || d.charAt(pos) == '+')) {
+                pos++;
+            }
+            boolean dot = false;
+            while (pos < d.length()) {
+                char c = d.charAt(pos);
+                if (c >= '0' && c <= '9') {
+                    pos++;
+                } else if (c == '.' && !dot) {
+                    dot = true;
+                    pos++;
+                } else if ((c == 'e' || c == 'E') && pos > start) {
+                    pos++;
+                    if (pos < d.length() && (d.charAt(pos) == '-' || d.charAt(pos) == '+')) {
+                        pos++;
+                    }
+                } else {
+                    break;
+                }
+            }
+            if (pos == start) {
+                throw unsupported();
+            }
+            return parseNumber(d.substring(start, pos));
+        }
+
+        private void skipSeparators() {
+            while (pos < d.length()) {
+                char c = d.charAt(pos);
+                if (c == ' ' || c == ',' || c == '\t' || c == '\n' || c == '\r') {
+                    pos++;
+                } else {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@code transform} atribút → matica [a b c d e f].
+     */
+    private static final class Transform {
+
+        static double[] parse(String value) {
+            double[] m = {1, 0, 0, 1, 0, 0};
+            int pos = 0;
+            while (pos < value.length()) {
+                int open = value.indexOf('(', pos);
+                if (open < 0) {
+                    if (!value.substring(pos).replace(",", " ").isBlank()) {
+                        throw unsupported();
+                    }
+                    break;
+                }
+                int close = value.indexOf(')', open);
+                if (close < 0) {
+                    throw unsupported();
+                }
+                String name = value.substring(pos, open).replace(",", " ").trim();
+                double[] args = numbers(value.substring(open + 1, close), -1);
+                m = multiply(m, single(name, args));
+                pos = close + 1;
+            }
+            return m;
+        }
+
+        private static double[] single(String name, double[] a) {
+            return switch (name) {
+                case "matrix" -> {
+                    if (a.length != 6) {
+                        throw unsupported();
+                    }
+                    yield a;
+                }
+                case "translate" -> new double[]{1, 0, 0, 1, a[0], a.length > 1 ? a[1] : 0};
+                case "scale" -> new double[]{a[0], 0, 0, a.length > 1 ? a[1] : a[0], 0, 0};
+                case "rotate" -> {
+                    double r = Math.toRadians(a[0]);
+                    double cos = Math.cos(r);
+                    double sin = Math.sin(r);
+                    double[] rot = {cos, sin, -sin, cos, 0, 0};
+                    if (a.length == 3) {
+                        rot = multiply(multiply(new double[]{1, 0, 0, 1, a[1], a[2]}, rot),
+                                new double[]{1, 0, 0, 1, -a[1], -a[2]});
+                    }
+                    yield rot;
+                }
+                default -> throw unsupported();
+            };
+        }
+
+        private static double[] multiply(double[] p, double[] q) {
+            return new double[]{
+                    p[0] * q[0] + p[2] * q[1],
+                    p[1] * q[0] + p[3] * q[1],
+                    p[0] * q[2] + p[2] * q[3],
+                    p[1] * q[2] + p[3] * q[3],
+                    p[0] * q[4] + p[2] * q[5] + p[4],
+                    p[1] * q[4] + p[3] * q[5] + p[5]
+            };
+        }
+    }
+
+    private static String font(String family) {
+        String f = family.toLowerCase(Locale.ROOT);
+        if (f.contains("ocr") || f.contains("mono") || f.contains("courier")) {
+            return "/Courier";
+        }
+        if (f.contains("times") || (f.contains("serif") && !f.contains("sans"))) {
+            return "/Times-Roman";
+        }
+        return "/Helvetica";
+    }
+
+    /**
+     * Tučný rez štandardného fontu – Times-Roman má tučný rez Times-Bold, nie Times-Roman-Bold.
+     */
+    private static String bold(String font) {
+        return switch (font) {
+            case "/Times-Roman" -> "/Times-Bold";
+            case "/Courier" -> "/Courier-Bold";
+            default -> "/Helvetica-Bold";
+        };
+    }
+
+    /**
+     * Farba výplne ako "r g b" pre setrgbcolor, {@code null} pre none.
+     */
+    private static String color(String value) {
+        String v = value.toLowerCase(Locale.ROOT);
+        switch (v) {
+            case "none":
+                return null;
+            case "black":
+                return "0 0 0";
+            case "white":
+                return "1 1 1";
+            case "red":
+                return "1 0 0";
+            case "blue":
+                return "0 0 1";
+            default:
+                break;
+        }
+        int r;
+        int g;
+        int b;
+        if (v.startsWith("#") && v.length() == 7) {
+            r = hex(v, 1, 3);
+            g = hex(v, 3, 5);
+            b = hex(v, 5, 7);
+        } else if (v.startsWith("#") && v.length() == 4) {
+            r = hex(v, 1, 2) * 17;
+            g = hex(v, 2, 3) * 17;
+            b = hex(v, 3, 4) * 17;
+        } else if (v.startsWith("rgb(") && v.endsWith(")") && !v.contains("%")) {
+            double[] c = numbers(v.substring(4, v.length() - 1), 3);
+            r = (int) c[0];
+            g = (int) c[1];
+            b = (int) c[2];
+        } else {
+            throw unsupported(); // url(#gradient), currentColor, pomenované farby mimo základných
+        }
+        return fmt(r / 255.0) + ' ' + fmt(g / 255.0) + ' ' + fmt(b / 255.0);
+    }
+
+    private static int hex(String s, int from, int to) {
+        try {
+            return Integer.parseInt(s, from, to, 16);
+        } catch (NumberFormatException e) {
+            throw unsupported();
+        }
+    }
+
+    private static double toPoints(String length) {
+        String v = length.trim();
+        double factor;
+        if (v.endsWith("mm")) {
+            factor = 72 / 25.4;
+        } else if (v.endsWith("cm")) {
+            factor = 72 / 2.54;
+        } else if (v.endsWith("in")) {
+            factor = 72;
+        } else if (v.endsWith("pt")) {
+            factor = 1;
+        } else if (v.endsWith("px")) {
+            factor = 0.75;
+        } else if (!v.isEmpty() && (Character.isDigit(v.charAt(v.length() - 1)) || v.endsWith("."))) {
+            return parseNumber(v) * 0.75;
+        } else {
+            throw unsupported(); // %, em ...
+        }
+        return parseNumber(v.substring(0, v.length() - 2)) * factor;
+    }
+
+    /** Dĺžka v user units (bez jednotky alebo px). */
+    private static double parseLength(String value) {
+        String v = value.endsWith("px") ? value.substring(0, value.length() - 2) : value;
+        return parseNumber(v);
+    }
+
+    private static double parseNumber(String value) {
+        String v = value.trim();
+        if (!NUMBER.matcher(v).matches()) {
+            throw unsupported();
+        }
+        double number = Double.parseDouble(v);
+        if (!Double.isFinite(number)) {
+            throw unsupported(); // 1e999
+        }
+        return number;
+    }
+
+    /**
+     * Čísla oddelené medzerami / čiarkami; {@code expected < 0} = ľubovoľný počet (aspoň 1).
+     */
+    private static double[] numbers(String value, int expected) {
+        String[] parts = value.trim().split("[\\s,]+");
+        if (parts.length == 0 || parts[0].isEmpty() || (expected >= 0 && parts.length != expected)) {
+            throw unsupported();
+        }
+        double[] out = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            out[i] = parseNumber(parts[i]);
+        }
+        return out;
+    }
+
+    /**
+     * Deterministický zápis súradnice: celé čísla bez desatinnej časti, inak najviac 4 desatinné miesta.
+     */
+    static String fmt(double value) {
+        return fmt(value, 4);
+    }
+
+    /** Mierky a matice potrebujú viac miest, chyba by sa násobila súradnicami. */
+    static String fmt(double value, int scale) {
+        if (value == (long) value && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        String s = BigDecimal.valueOf(value).setScale(scale, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+        return "-0".equals(s) ? "0" : s;
+    }
+}
@@ -0,0 +1,595 @@
+package com.gpcs.codestudio.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizácia SVG z prehliadača pred exportom – jeden StAX prechod, výstup je deterministický:
+ * <ul>
+ *     <li>preč sú komentáre, {@code <metadata>}, elementy a atribúty editorov (Inkscape, Sodipodi, Illustrator ...),</li>
+ *     <li>súradnice sa zaokrúhlia na {@code precision} desatinných miest ({@code 12.000000001 → 12}); pod
+ *         zväčšujúcim {@code transform} / viewBox-om sa pridá toľko miest, o koľko rádov sa zväčšuje,
+ *         aby chyba po vykreslení ostala v {@code precision}. Samotný {@code transform} sa nezaokrúhľuje
+ *         (mierka Inkscapu {@code 0.26458333} by inak posunula čiary),</li>
+ *     <li>atribúty aj vlastnosti v {@code style} sú zoradené, duplicitná vlastnosť v style a atribúte
+ *         ostane len v style (má prednosť podľa CSS),</li>
+ *     <li>susedné {@code <rect>} s rovnakou výškou a štýlom, ktoré sa dotýkajú (čiary kódu), sa spoja do jedného –
+ *         len ak majú explicitnú výplň, nemajú obrys ani {@code class} a obrys nededia od predka;
+ *         v dokumente s {@code <style>} sa nespája nič (CSS môže obrys pridať hocičomu).</li>
+ * </ul>
+ * Beží pred konverziou aj pred výpočtom kľúča EPS cache, takže rovnaká etiketa z rôznych
+ * prehliadačov / editorov trafí ten istý záznam. Nevalidné XML sa vráti bez zmeny.
+ */
+@Component
+public class SvgNormalizer {
+
+    private static final String SVG_NS = "http://www.w3.org/2000/svg";
+
+    private static final Set<String> EDITOR_NS = Set.of(
+            "http://www.inkscape.org/namespaces/inkscape",
+            "http://sodipodi.sourceforge.net/DTD/sodipodi-0.dtd",
+            "http://www.w3.org/1999/02/22-rdf-syntax-ns#",
+            "http://creativecommons.org/ns#",
+            "http://purl.org/dc/elements/1.1/",
+            "http://ns.adobe.com/AdobeIllustrator/10.0/",
+            "http://ns.adobe.com/Extensibility/1.0/",
+            "http://www.bohemiancoding.com/sketch/ns"
+    );
+
+    /** Atribúty so súradnicami / dĺžkami, v ktorých sa zaokrúhľujú čísla. */
+    private static final Set<String> NUMERIC = Set.of(
+            "x", "y", "width", "height", "x1", "y1", "x2", "y2", "cx", "cy", "r", "rx", "ry", "dx", "dy",
+            "font-size", "stroke-width", "viewBox", "points", "d"
+    );
+
+    /** Elementy, v ktorých je text obsahom (whitespace sa zachová). */
+    private static final Set<String> TEXT_ELEMENTS = Set.of("text", "tspan", "textPath", "style", "title", "desc");
+
+    private static final Pattern NUMBER = Pattern.compile("[-+]?(?:\\d+\\.\\d*|\\.\\d+|\\d+)(?:[eE][-+]?\\d+)?");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRANSFORM = Pattern.compile("(matrix|scale)\\s*\\(([^)]*)\\)");
+
+    /** Najviac desatinných miest aj pod veľkým zväčšením. */
+    private static final int MAX_PRECISION = 12;
+
+    private final XMLInputFactory xml;
+    private final boolean enabled;
+    private final int precision;
+
+    public SvgNormalizer(
+            @Value("${codestudio.export.normalize.enabled:true}") boolean enabled,
+            @Value("${codestudio.export.normalize.precision:3}") int precision
+    ) {
+        this.enabled = enabled;
+        this.precision = Math.max(0, Math.min(10, precision));
+        this.xml = XMLInputFactory.newFactory();
+        xml.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        xml.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xml.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        xml.setProperty(XMLInputFactory.IS_COALESCING, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return normalizované SVG; pri vypnutej normalizácii alebo nevalidnom XML pôvodný vstup
+     */
+    public String normalize(String svg) {
+        return enabled ? canonical(svg) : svg;
+    }
+
+    /**
+     * Normalizácia bez ohľadu na {@code enabled} – pre {@link SheetComposer}, ktorý potrebuje
+     * kanonický tvar (bez prológu, koreňový tag končí prvým {@code '>'}).
+     */
+    String canonical(String svg) {
+        if (svg == null || svg.isBlank()) {
+            return svg;
+        }
+        try {
+            XMLStreamReader reader = xml.createXMLStreamReader(new StringReader(svg));
+            try {
+                return new Pass(reader, svg.length(), !svg.contains("<style")).run();
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            return svg;
+        }
+    }
+
+    /**
+     * Jeden prechod dokumentom. Začiatočný tag sa uzatvára lenivo, aby prázdne elementy boli {@code <x/>};
+     * {@code <rect>} bez potomkov sa drží bokom, kým sa nevie, či sa dá spojiť s nasledujúcim.
+     */
+    private final class Pass {
+
+        private final XMLStreamReader reader;
+        private final StringBuilder out;
+        private final ArrayDeque<String> open = new ArrayDeque<>();
+        private final boolean mergeRects;
+
+        /** Zväčšenie súradnicového systému a obrys pre každý otvorený (nevynechaný) element. */
+        private final ArrayDeque<Double> scales = new ArrayDeque<>();
+        private final ArrayDeque<Boolean> stroked = new ArrayDeque<>();
+        private int strokedCount;
+
+        private boolean startPending;
+        private int skipDepth;
+        private int textDepth;
+
+        /** Práve začatý rect – ešte nevieme, či má potomkov. */
+        private Map<String, String> opening;
+
+        /** Hotový rect bez potomkov, čaká na spojenie so súrodencom. */
+        private Map<String, String> candidate;
+
+        Pass(XMLStreamReader reader, int sizeHint, boolean mergeRects) {
+            this.reader = reader;
+            this.out = new StringBuilder(sizeHint);
+            this.mergeRects = mergeRects;
+        }
+
+        String run() throws XMLStreamException {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> startElement();
+                    case XMLStreamConstants.END_ELEMENT -> endElement();
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+                         XMLStreamConstants.SPACE -> characters();
+                    default -> {
+                        // komentáre, processing instructions, DTD – vynechať
+                    }
+                }
+            }
+            flushCandidate();
+            return out.toString();
+        }
+
+        private void startElement() {
+            if (skipDepth > 0) {
+                skipDepth++;
+                return;
+            }
+            String ns = reader.getNamespaceURI();
+            String local = reader.getLocalName();
+            if ((ns != null && EDITOR_NS.contains(ns)) || (SVG_NS.equals(ns) && "metadata".equals(local))) {
+                skipDepth = 1;
+                return;
+            }
+            if (opening != null) {
+                // rect má potomka – nespájať, vypísať normálne
+                flushCandidate();
+                writeStart("rect", opening);
+                opening = null;
+            }
+
+            double scale = (scales.isEmpty() ? 1 : scales.peek()) * ownScale(local);
+            Map<String, String> attributes = attributes(digits(scale));
+            boolean hasStroke = hasStroke(attributes);
+            scales.push(scale);
+            stroked.push(hasStroke);
+            if (hasStroke) {
+                strokedCount++;
+            }
+            if (SVG_NS.equals(ns) && "rect".equals(local) && reader.getNamespaceCount() == 0
+                    && (reader.getPrefix() == null || reader.getPrefix().isEmpty())) {
+                opening = attributes;
+                return;
+            }
+            flushCandidate();
+            writeStart(qname(reader.getPrefix(), local), attributes);
+            if (TEXT_ELEMENTS.contains(local) || textDepth > 0) {
+                textDepth++;
+            }
+        }
+
+        private void endElement() {
+            if (skipDepth > 0) {
+                skipDepth--;
+                return;
+            }
+            int digits = digits(scales.pop());
+            if (stroked.pop()) {
+                strokedCount--;
+            }
+            if (opening != null) {
+                if (candidate != null && mergeable(candidate, opening, digits)) {
+                    merge(candidate, opening, digits);
+                } else {
+                    flushCandidate();
+                    candidate = opening;
+                }
+                opening = null;
+                return;
+            }
+            flushCandidate();
+            if (textDepth > 0) {
+                textDepth--;
+            }
+            String name = open.pop();
+            if (startPending) {
+                out.append("/>");
+                startPending = false;
+            } else {
+                out.append("</").append(name).append('>');
+            }
+        }
+
+        private void characters() {
+            if (skipDepth > 0) {
+                return;
+            }
+            String text = reader.getText();
+            if (textDepth == 0 && text.isBlank()) {
+                return;
+            }
+            if (opening != null) {
+                flushCandidate();
+                writeStart("rect", opening);
+                opening = null;
+            }
+            flushCandidate();
+            closeStart();
+            escape(text, false);
+        }
+
+        /**
+         * Menné priestory (bez editorových) a atribúty v poradí podľa mena, hodnoty normalizované.
+         */
+        private Map<String, String> attributes(int digits) {
+            Map<String, String> namespaces = new TreeMap<>();
+            for (int i = 0; i < reader.getNamespaceCount(); i++) {
+                String uri = reader.getNamespaceURI(i);
+                if (uri == null || EDITOR_NS.contains(uri)) {
+                    continue;
+                }
+                String prefix = reader.getNamespacePrefix(i);
+                namespaces.put(prefix == null || prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix, uri);
+            }
+
+            Map<String, String> attributes = new TreeMap<>();
+            String style = null;
+            for (int i = 0; i < reader.getAttributeCount(); i++) {
+                String ns = reader.getAttributeNamespace(i);
+                String local = reader.getAttributeLocalName(i);
+                if (ns != null && EDITOR_NS.contains(ns)) {
+                    continue;
+                }
+                String value = reader.getAttributeValue(i);
+                if (ns == null || ns.isEmpty()) {
+                    if ("style".equals(local)) {
+                        style = value;
+                        continue;
+                    }
+                    if (local.startsWith("data-")) {
+                        continue;
+                    }
+                    if (NUMERIC.contains(local) && !("d".equals(local) && hasArc(value))) {
+                        value = roundNumbers(value, digits);
+                    } else if ("transform".equals(local)) {
+                        value = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+                    }
+                }
+                attributes.put(qname(reader.getAttributePrefix(i), local), value);
+            }
+
+            if (style != null) {
+                Map<String, String> properties = style(style);
+                for (String property : properties.keySet()) {
+                    attributes.remove(property);
+                }
+                if (!properties.isEmpty()) {
+                    StringBuilder sb = new StringBuilder();
+                    for (Map.Entry<String, String> p : properties.entrySet()) {
+                        if (sb.length() > 0) {
+                            sb.append(';');
+                        }
+                        sb.append(p.getKey()).append(':').append(p.getValue());
+                    }
+                    attributes.put("style", sb.toString());
+                }
+            }
+
+            namespaces.putAll(attributes);
+            return namespaces;
+        }
+
+        /**
+         * Zväčšenie, ktoré pridáva {@code transform} alebo viewBox aktuálneho elementu (pred zaokrúhlením).
+         */
+        private double ownScale(String local) {
+            double scale = 1;
+            String transform = reader.getAttributeValue(null, "transform");
+            if (transform != null) {
+                scale = transformScale(transform);
+            }
+            if ("svg".equals(local)) {
+                double[] viewBox = numbers(reader.getAttributeValue(null, "viewBox"));
+                if (viewBox.length == 4) {
+                    double w = userUnits(reader.getAttributeValue(null, "width")) / viewBox[2];
+                    double h = userUnits(reader.getAttributeValue(null, "height")) / viewBox[3];
+                    double viewBoxScale = Math.max(Double.isNaN(w) ? 0 : w, Double.isNaN(h) ? 0 : h);
+                    if (viewBoxScale > 0 && !Double.isInfinite(viewBoxScale)) {
+                        scale *= viewBoxScale;
+                    }
+                }
+            }
+            return scale;
+        }
+
+        /**
+         * Bez obrysu, {@code class} a zdedeného obrysu a s explicitnou výplňou – inak by spojenie zmazalo
+         * spoločnú hranu obrysov.
+         */
+        private boolean mergeable(Map<String, String> left, Map<String, String> right, int digits) {
+            if (!mergeRects || strokedCount > 0 || left.size() != right.size() || left.containsKey("id")
+                    || right.containsKey("id") || left.containsKey("rx") || left.containsKey("ry")
+                    || left.containsKey("class") || hasStroke(left) || !hasFill(left)) {
+                return false;
+            }
+            for (Map.Entry<String, String> e : left.entrySet()) {
+                String key = e.getKey();
+                if (!"x".equals(key) && !"width".equals(key) && !e.getValue().equals(right.get(key))) {
+                    return false;
+                }
+            }
+            double lx = number(left.get("x"));
+            double lw = number(left.get("width"));
+            double rx = number(right.get("x"));
+            double rw = number(right.get("width"));
+            if (Double.isNaN(lx) || Double.isNaN(lw) || Double.isNaN(rx) || Double.isNaN(rw)
+                    || Double.isNaN(number(left.get("height"))) || lw <= 0 || rw <= 0) {
+                return false;
+            }
+            return Math.abs(lx + lw - rx) <= 0.5 * Math.pow(10, -digits);
+        }
+
+        private void merge(Map<String, String> into, Map<String, String> next, int digits) {
+            double x = number(into.get("x"));
+            double end = number(next.get("x")) + number(next.get("width"));
+            into.put("width", round(BigDecimal.valueOf(end - x), digits));
+        }
+
+        private void flushCandidate() {
+            if (candidate == null) {
+                return;
+            }
+            Map<String, String> rect = candidate;
+            candidate = null;
+            writeStart("rect", rect);
+            open.pop();
+            out.append("/>");
+            startPending = false;
+        }
+
+        private void writeStart(String name, Map<String, String> attributes) {
+            closeStart();
+            out.append('<').append(name);
+            for (Map.Entry<String, String> a : attributes.entrySet()) {
+                out.append(' ').append(a.getKey()).append("=\"");
+                escape(a.getValue(), true);
+                out.append('"');
+            }
+            open.push(name);
+            startPending = true;
+        }
+
+        private void closeStart() {
+            if (startPending) {
+                out.append('>');
+                startPending = false;
+            }
+        }
+
+        private void escape(String value, boolean attribute) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '&' -> out.append("&amp;");
+                    case '<' -> out.append("&lt;");
+                    case '>' -> out.append("&gt;");
+                    case '"' -> out.append(attribute ? "&quot;" : "\"");
+                    case '\n', '\r', '\t' -> {
+                        if (attribute) {
+                            out.append(' ');
+                        } else {
+                            out.append(c);
+                        }
+                    }
+                    default -> out.append(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vlastnosti zo style: posledná vyhráva, {@code -inkscape-*} preč, zoradené podľa mena.
+     * Rovnomenný atribút elementu volajúci vyradí (style má podľa CSS prednosť).
+     */
+    private static Map<String, String> style(String style) {
+        Map<String, String> properties = new TreeMap<>();
+        for (String declaration : style.split(";")) {
+            int colon = declaration.indexOf(':');
+            if (colon <= 0) {
+                continue;
+            }
+            String name = declaration.substring(0, colon).trim();
+            String value = WHITESPACE.matcher(declaration.substring(colon + 1).trim()).replaceAll(" ");
+            if (name.isEmpty() || value.isEmpty() || name.startsWith("-inkscape-")) {
+                continue;
+            }
+            properties.put(name, value);
+        }
+        return properties;
+    }
+
+    /**
+     * Obrys je nastavený atribútom alebo v style a nie je {@code none}.
+     */
+    private static boolean hasStroke(Map<String, String> attributes) {
+        String stroke = property(attributes, "stroke");
+        return stroke != null && !"none".equals(stroke.trim());
+    }
+
+    private static boolean hasFill(Map<String, String> attributes) {
+        String fill = property(attributes, "fill");
+        return fill != null && !fill.isBlank();
+    }
+
+    /**
+     * Vlastnosť zo style, inak z rovnomenného atribútu (po normalizácii sú vždy len na jednom mieste).
+     */
+    private static String property(Map<String, String> attributes, String name) {
+        String style = attributes.get("style");
+        if (style != null) {
+            String value = style(style).get(name);
+            if (value != null) {
+                return value;
+            }
+        }
+        return attributes.get(name);
+    }
+
+    /**
+     * Najväčšie zväčšenie z {@code matrix(...)} a {@code scale(...)} v transform; posun, rotácia a skos = 1.
+     */
+    private static double transformScale(String transform) {
+        double scale = 1;
+        Matcher m = TRANSFORM.matcher(transform);
+        while (m.find()) {
+            double[] v = numbers(m.group(2));
+            if ("matrix".equals(m.group(1)) && v.length == 6) {
+                scale *= Math.max(Math.hypot(v[0], v[1]), Math.hypot(v[2], v[3]));
+            } else if ("scale".equals(m.group(1)) && v.length >= 1) {
+                scale *= Math.max(Math.abs(v[0]), v.length > 1 ? Math.abs(v[1]) : 0);
+            }
+        }
+        return scale;
+    }
+
+    /**
+     * Desatinné miesta pre súradnice v systéme zväčšenom {@code scale}-krát.
+     */
+    private int digits(double scale) {
+        if (!(scale > 1) || Double.isInfinite(scale)) {
+            return precision;
+        }
+        return Math.min(MAX_PRECISION, precision + (int) Math.ceil(Math.log10(scale) - 1e-9));
+    }
+
+    private static double[] numbers(String value) {
+        if (value == null) {
+            return new double[0];
+        }
+        Matcher m = NUMBER.matcher(value);
+        double[] out = new double[8];
+        int n = 0;
+        while (m.find() && n < out.length) {
+            out[n++] = Double.parseDouble(m.group());
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Dĺžka v používateľských jednotkách SVG (px pri 96 dpi); NaN pri percentách / neznámej jednotke.
+     */
+    static double userUnits(String length) {
+        if (length == null || length.isBlank()) {
+            return Double.NaN;
+        }
+        String v = length.trim();
+        double factor = 1;
+        if (v.endsWith("mm")) {
+            factor = 96 / 25.4;
+        } else if (v.endsWith("cm")) {
+            factor = 96 / 2.54;
+        } else if (v.endsWith("in")) {
+            factor = 96;
+        } else if (v.endsWith("pt")) {
+            factor = 96 / 72.0;
+        } else if (!v.endsWith("px") && !Character.isDigit(v.charAt(v.length() - 1)) && v.charAt(v.length() - 1) != '.') {
+            return Double.NaN;
+        }
+        if (!Character.isDigit(v.charAt(v.length() - 1)) && v.charAt(v.length() - 1) != '.') {
+            v = v.substring(0, v.length() - 2);
+        }
+        try {
+            return Double.parseDouble(v.trim()) * factor;
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static boolean hasArc(String d) {
+        return d.indexOf('A') >= 0 || d.indexOf('a') >= 0;
+    }
+
+    /**
+     * Zaokrúhli všetky čísla v hodnote a zjednotí medzery. Ak by sa dve čísla po zaokrúhlení
+     * zliali ({@code 1.5.5 → 1.5 0.5}), vloží medzi ne medzeru.
+     */
+    private String roundNumbers(String value, int digits) {
+        String collapsed = WHITESPACE.matcher(value.trim()).replaceAll(" ");
+        Matcher m = NUMBER.matcher(collapsed);
+        StringBuilder sb = new StringBuilder(collapsed.length());
+        int last = 0;
+        while (m.find()) {
+            sb.append(collapsed, last, m.start());
+            String rounded;
+            try {
+                rounded = round(new BigDecimal(m.group()), digits);
+            } catch (NumberFormatException e) {
+                rounded = m.group();
+            }
+            if (sb.length() > 0 && m.start() == last && last > 0) {
+                char prev = sb.charAt(sb.length() - 1);
+                char first = rounded.charAt(0);
+                if ((Character.isDigit(prev) || prev == '.') && (Character.isDigit(first) || first == '.')) {
+                    sb.append(' ');
+                }
+            }
+            sb.append(rounded);
+            last = m.end();
+        }
+        sb.append(collapsed, last, collapsed.length());
+        return sb.toString();
+    }
+
+    private static String round(BigDecimal value, int digits) {
+        String s = value.setScale(digits, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+        return "-0".equals(s) ? "0" : s;
+    }
+
+    private static double number(String value) {
+        if (value == null) {
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String qname(String prefix, String local) {
+        return prefix == null || prefix.isEmpty() ? local : prefix + ":" + local;
+    }
+}
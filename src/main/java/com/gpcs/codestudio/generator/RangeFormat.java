@@ -0,0 +1,32 @@
+package com.gpcs.codestudio.generator;
+
+import java.util.Locale;
+
+/**
+ * Formát výstupu generátora – jeden kód na riadok.
+ */
+public enum RangeFormat {
+
+    /** Len číslice (pri GTIN_SERIAL surový element string 01…21…). */
+    PLAIN,
+
+    /** GS1 zátvorkový tvar, napr. {@code (00)012345670000000018}. */
+    BRACKETED,
+
+    /** NDJSON: {@code {"code":"...","gs1":"(00)..."}} na riadok. */
+    NDJSON;
+
+    /**
+     * Neznáma alebo prázdna hodnota = {@link #PLAIN}.
+     */
+    public static RangeFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            return PLAIN;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "bracketed", "gs1", "hri" -> BRACKETED;
+            case "ndjson", "json" -> NDJSON;
+            default -> PLAIN;
+        };
+    }
+}
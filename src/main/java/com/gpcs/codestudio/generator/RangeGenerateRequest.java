@@ -0,0 +1,92 @@
+package com.gpcs.codestudio.generator;
+
+/**
+ * Request na generovanie rozsahu kódov pre tlač etikiet.
+ *
+ * kind            – "SSCC", "GTIN13", "GTIN14", "GTIN_SERIAL"
+ * companyPrefix   – GS1 Company Prefix (SSCC, GTIN13, GTIN14)
+ * extensionDigit  – extension digit pri SSCC / indicator digit pri GTIN14 (predvolene "0")
+ * startReference  – prvá serial / item reference, doplní sa vedúcimi nulami na potrebnú šírku
+ * gtin            – pri GTIN_SERIAL celý GTIN (8, 12, 13 alebo 14 číslic s kontrolnou číslicou)
+ * startSerial     – pri GTIN_SERIAL prvé sériové číslo (len číslice, šírka sa zachová)
+ * count           – počet kódov
+ * format          – "plain", "bracketed", "ndjson"
+ */
+public class RangeGenerateRequest {
+
+    private String kind;
+    private String companyPrefix;
+    private String extensionDigit;
+    private String startReference;
+    private String gtin;
+    private String startSerial;
+    private Long count;
+    private String format;
+
+    public RangeGenerateRequest() {
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public void setKind(String kind) {
+        this.kind = kind;
+    }
+
+    public String getCompanyPrefix() {
+        return companyPrefix;
+    }
+
+    public void setCompanyPrefix(String companyPrefix) {
+        this.companyPrefix = companyPrefix;
+    }
+
+    public String getExtensionDigit() {
+        return extensionDigit;
+    }
+
+    public void setExtensionDigit(String extensionDigit) {
+        this.extensionDigit = extensionDigit;
+    }
+
+    public String getStartReference() {
+        return startReference;
+    }
+
+    public void setStartReference(String startReference) {
+        this.startReference = startReference;
+    }
+
+    public String getGtin() {
+        return gtin;
+    }
+
+    public void setGtin(String gtin) {
+        this.gtin = gtin;
+    }
+
+    public String getStartSerial() {
+        return startSerial;
+    }
+
+    public void setStartSerial(String startSerial) {
+        this.startSerial = startSerial;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+}
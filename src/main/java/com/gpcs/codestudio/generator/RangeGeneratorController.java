@@ -0,0 +1,56 @@
+package com.gpcs.codestudio.generator;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/generate")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5176", "http://localhost:5180"})
+public class RangeGeneratorController {
+
+    private final RangeGeneratorService rangeGeneratorService;
+
+    public RangeGeneratorController(RangeGeneratorService rangeGeneratorService) {
+        this.rangeGeneratorService = rangeGeneratorService;
+    }
+
+    /**
+     * Vygeneruje {@code count} po sebe idúcich kódov (SSCC, GTIN-13, GTIN-14 alebo (01)+(21) serial)
+     * a streamuje ich ako text/plain (plain, bracketed) alebo NDJSON, jeden kód na riadok.
+     * Neplatný request = 400 s popisom chyby.
+     */
+    @PostMapping(value = "/range", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void generateRange(@RequestBody RangeGenerateRequest request,
+                              HttpServletResponse response) throws IOException {
+        RangeGeneratorService.RangePlan plan;
+        try {
+            plan = rangeGeneratorService.plan(request);
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+            return;
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(plan.getFormat() == RangeFormat.NDJSON
+                ? MediaType.APPLICATION_NDJSON_VALUE
+                : MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.US_ASCII), 64 * 1024)) {
+            rangeGeneratorService.write(plan, out);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.gpcs.codestudio.generator;
+
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+import com.gpcs.codestudio.ean.Gs1KeySequence;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Generátor po sebe idúcich SSCC / GTIN / sériových čísel pre tlačové behy etikiet.
+ *
+ * Každý kód je "prefix formátu + aktuálna hodnota {@link Gs1KeySequence}", kontrolná číslica
+ * sa prepočítava inkrementálne a kódy sa zapisujú priamo do {@link Writer} bez medzikrokov cez String.
+ */
+@Service
+public class RangeGeneratorService {
+
+    private static final int MIN_COMPANY_PREFIX = 4;
+    private static final int MAX_COMPANY_PREFIX = 12;
+    private static final int MAX_SERIAL_LENGTH = 20;
+
+    private final long maxCount;
+
+    public RangeGeneratorService(@Value("${codestudio.generator.maxCount:1000000}") long maxCount) {
+        this.maxCount = maxCount;
+    }
+
+    /**
+     * Overí request a pripraví generovanie.
+     *
+     * @throws IllegalArgumentException so slovenskou správou pre klienta, ak je request neplatný
+     */
+    public RangePlan plan(RangeGenerateRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Chýba request.");
+        }
+        RangeKind kind = RangeKind.from(request.getKind());
+        if (kind == null) {
+            throw new IllegalArgumentException("Nepodporovaný druh rozsahu: " + request.getKind());
+        }
+        long count = request.getCount() == null ? 0 : request.getCount();
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("Počet kódov musí byť od 1 do " + maxCount + ".");
+        }
+        RangeFormat format = RangeFormat.from(request.getFormat());
+
+        RangePlan plan = switch (kind) {
+            case SSCC -> keyPlan(request, Gs1CheckDigit.SSCC18_LENGTH, true, "(00)", "SSCC", count, format);
+            case GTIN13 -> keyPlan(request, Gs1CheckDigit.EAN13_LENGTH, false, "(01)0", "GTIN-13", count, format);
+            case GTIN14 -> keyPlan(request, Gs1CheckDigit.GTIN14_LENGTH, true, "(01)", "GTIN-14", count, format);
+            case GTIN_SERIAL -> serialPlan(request, count, format);
+        };
+        if (plan.sequence.remaining() < count - 1) {
+            throw new IllegalArgumentException("Rozsah " + count + " kódov sa nezmestí do šírky referencie"
+                    + " (zostáva " + (plan.sequence.remaining() + 1) + ").");
+        }
+        return plan;
+    }
+
+    /**
+     * Zapíše všetky kódy plánu, jeden na riadok.
+     *
+     * @return počet zapísaných kódov
+     */
+    public long write(RangePlan plan, Writer out) throws IOException {
+        Gs1KeySequence sequence = plan.sequence;
+        for (long i = 0; i < plan.count; i++) {
+            if (i > 0) {
+                sequence.advance();
+            }
+            switch (plan.format) {
+                case PLAIN -> {
+                    out.write(plan.plainPrefix);
+                    sequence.writeTo(out);
+                }
+                case BRACKETED -> {
+                    out.write(plan.bracketedPrefix);
+                    sequence.writeTo(out);
+                }
+                case NDJSON -> {
+                    // obsah sú len číslice a zátvorky, escapovanie netreba
+                    out.write("{\"code\":\"");
+                    out.write(plan.plainPrefix);
+                    sequence.writeTo(out);
+                    out.write("\",\"gs1\":\"");
+                    out.write(plan.bracketedPrefix);
+                    sequence.writeTo(out);
+                    out.write("\"}");
+                }
+            }
+            out.write('\n');
+        }
+        return plan.count;
+    }
+
+    private static RangePlan keyPlan(RangeGenerateRequest request, int keyLength, boolean leadingDigit,
+                                     String bracketedPrefix, String label, long count, RangeFormat format) {
+        String prefix = trim(request.getCompanyPrefix());
+        if (prefix == null || prefix.length() < MIN_COMPANY_PREFIX || prefix.length() > MAX_COMPANY_PREFIX
+                || !Gs1CheckDigit.isDigits(prefix, prefix.length())) {
+            throw new IllegalArgumentException("GS1 Company Prefix musí mať " + MIN_COMPANY_PREFIX + " až "
+                    + MAX_COMPANY_PREFIX + " číslic.");
+        }
+
+        String fixed = prefix;
+        if (leadingDigit) {
+            String digit = trim(request.getExtensionDigit());
+            if (digit == null) {
+                digit = "0";
+            }
+            if (!Gs1CheckDigit.isDigits(digit, 1)) {
+                throw new IllegalArgumentException("Extension / indicator digit musí byť jedna číslica.");
+            }
+            fixed = digit + prefix;
+        }
+
+        int referenceWidth = keyLength - 1 - fixed.length();
+        if (referenceWidth < 1) {
+            throw new IllegalArgumentException("GS1 Company Prefix je pre " + label + " príliš dlhý.");
+        }
+        String reference = pad(trim(request.getStartReference()), referenceWidth, label);
+
+        return new RangePlan(Gs1KeySequence.of(fixed, reference, true), "", bracketedPrefix, count, format);
+    }
+
+    private static RangePlan serialPlan(RangeGenerateRequest request, long count, RangeFormat format) {
+        String gtin = trim(request.getGtin());
+        if (gtin == null || !(gtin.length() == Gs1CheckDigit.EAN8_LENGTH || gtin.length() == Gs1CheckDigit.UPC_A_LENGTH
+                || gtin.length() == Gs1CheckDigit.EAN13_LENGTH || gtin.length() == Gs1CheckDigit.GTIN14_LENGTH)
+                || !Gs1CheckDigit.isValid(gtin)) {
+            throw new IllegalArgumentException("GTIN musí mať 8, 12, 13 alebo 14 číslic s platnou kontrolnou číslicou.");
+        }
+        String gtin14 = "0".repeat(Gs1CheckDigit.GTIN14_LENGTH - gtin.length()) + gtin;
+
+        String serial = trim(request.getStartSerial());
+        if (serial == null) {
+            serial = "1";
+        }
+        if (serial.length() > MAX_SERIAL_LENGTH || !Gs1CheckDigit.isDigits(serial, serial.length())) {
+            throw new IllegalArgumentException("Sériové číslo (21) musí mať 1 až " + MAX_SERIAL_LENGTH + " číslic.");
+        }
+
+        // AI 01 má preddefinovanú dĺžku a 21 je posledný, surový tvar teda GS nepotrebuje;
+        // AI 21 má premenlivú dĺžku, sériové číslo teda pri prenose rastie (9 → 10) až po MAX_SERIAL_LENGTH
+        return new RangePlan(Gs1KeySequence.growing(serial, MAX_SERIAL_LENGTH),
+                "01" + gtin14 + "21", "(01)" + gtin14 + "(21)", count, format);
+    }
+
+    private static String pad(String reference, int width, String label) {
+        if (reference == null) {
+            return "0".repeat(width);
+        }
+        if (reference.length() > width || !Gs1CheckDigit.isDigits(reference, reference.length())) {
+            throw new IllegalArgumentException("Referencia pre " + label + " musí mať najviac " + width + " číslic.");
+        }
+        return "0".repeat(width - reference.length()) + reference;
+    }
+
+    private static String trim(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * Overený request pripravený na zápis.
+     */
+    public static final class RangePlan {
+
+        private final Gs1KeySequence sequence;
+        private final String plainPrefix;
+        private final String bracketedPrefix;
+        private final long count;
+        private final RangeFormat format;
+
+        private RangePlan(Gs1KeySequence sequence, String plainPrefix, String bracketedPrefix,
+                          long count, RangeFormat format) {
+            this.sequence = sequence;
+            this.plainPrefix = plainPrefix;
+            this.bracketedPrefix = bracketedPrefix;
+            this.count = count;
+            this.format = format;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public RangeFormat getFormat() {
+            return format;
+        }
+    }
+}
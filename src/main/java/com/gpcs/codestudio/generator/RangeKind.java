@@ -0,0 +1,38 @@
+package com.gpcs.codestudio.generator;
+
+import java.util.Locale;
+
+/**
+ * Druh generovaného rozsahu.
+ */
+public enum RangeKind {
+
+    /** SSCC-18, AI (00): extension digit + company prefix + serial reference + kontrolná číslica. */
+    SSCC,
+
+    /** GTIN-13 / EAN-13: company prefix + item reference + kontrolná číslica. */
+    GTIN13,
+
+    /** GTIN-14 / ITF-14: indicator digit + company prefix + item reference + kontrolná číslica. */
+    GTIN14,
+
+    /** Sériové čísla k jednému GTIN: (01) GTIN + (21) číselný serial. */
+    GTIN_SERIAL;
+
+    /**
+     * "sscc", "gtin13" / "ean13", "gtin14" / "itf14", "serial" / "gtin_serial"; inak null.
+     */
+    public static RangeKind from(String value) {
+        if (value == null) {
+            return null;
+        }
+        String kind = value.trim().toUpperCase(Locale.ROOT).replace("-", "").replace("_", "");
+        return switch (kind) {
+            case "SSCC", "SSCC18" -> SSCC;
+            case "GTIN13", "EAN13" -> GTIN13;
+            case "GTIN14", "ITF14" -> GTIN14;
+            case "GTINSERIAL", "SERIAL", "SGTIN" -> GTIN_SERIAL;
+            default -> null;
+        };
+    }
+}
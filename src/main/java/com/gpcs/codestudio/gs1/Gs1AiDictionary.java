@@ -0,0 +1,367 @@
+package com.gpcs.codestudio.gs1;
+
+/**
+ * Tabuľka GS1 Application Identifiers (GS1 General Specifications), skompilovaná raz pri štarte
+ * do poľa indexovaného dvojmiestnym prefixom AI.
+ *
+ * Dĺžka AI (2, 3 alebo 4 číslice) je podľa GS1 jednoznačne daná prvými dvomi číslicami,
+ * takže lookup je O(1): prefix -> dĺžka -> priamy index v pod-tabuľke pre 2/3/4-miestne AI.
+ */
+public final class Gs1AiDictionary {
+
+    /** Dĺžka AI podľa dvojmiestneho prefixu, 0 = prefix nie je pridelený. */
+    private static final byte[] AI_LENGTH = new byte[100];
+
+    /**
+     * Preddefinovaná celková dĺžka elementu (AI + hodnota) podľa GS1 GenSpecs, tabuľka 5.10.1-2.
+     * Takéto elementy sa nemusia ukončovať FNC1/GS, 0 = dĺžka nie je preddefinovaná.
+     */
+    private static final byte[] PREDEFINED_LENGTH = new byte[100];
+
+    private static final Gs1ApplicationIdentifier[] TWO_DIGIT = new Gs1ApplicationIdentifier[100];
+    private static final Gs1ApplicationIdentifier[][] THREE_DIGIT = new Gs1ApplicationIdentifier[100][];
+    private static final Gs1ApplicationIdentifier[][] FOUR_DIGIT = new Gs1ApplicationIdentifier[100][];
+
+    private static int size;
+
+    static {
+        predefined(20, "00");
+        predefined(16, "01", "02", "03", "41");
+        predefined(18, "04");
+        predefined(8, "11", "12", "13", "14", "15", "16", "17", "18", "19");
+        predefined(4, "20");
+        predefined(10, "31", "32", "33", "34", "35", "36");
+
+        add("00", "N18,csum", "SSCC");
+        add("01", "N14,csum", "GTIN");
+        add("02", "N14,csum", "CONTENT");
+        add("03", "N14,csum", "MTO GTIN");
+        add("10", "X..20", "BATCH/LOT");
+        add("11", "N6,yymmd0", "PROD DATE");
+        add("12", "N6,yymmd0", "DUE DATE");
+        add("13", "N6,yymmd0", "PACK DATE");
+        add("15", "N6,yymmd0", "BEST BEFORE or BEST BY");
+        add("16", "N6,yymmd0", "SELL BY");
+        add("17", "N6,yymmd0", "USE BY OR EXPIRY");
+        add("20", "N2", "VARIANT");
+        add("21", "X..20", "SERIAL");
+        add("22", "X..20", "CPV");
+        add("235", "X..28", "TPX");
+        add("240", "X..30", "ADDITIONAL ID");
+        add("241", "X..30", "CUST. PART No.");
+        add("242", "N..6", "MTO VARIANT");
+        add("243", "X..20", "PCN");
+        add("250", "X..30", "SECONDARY SERIAL");
+        add("251", "X..30", "REF. TO SOURCE");
+        add("253", "N13,csum+X0..17", "GDTI");
+        add("254", "X..20", "GLN EXTENSION COMPONENT");
+        add("255", "N13,csum+N0..12", "GCN");
+        add("30", "N..8", "VAR. COUNT");
+
+        // 31nn–36nn: merné jednotky, posledná číslica AI = počet desatinných miest
+        measure("310", "NET WEIGHT (kg)");
+        measure("311", "LENGTH (m)");
+        measure("312", "WIDTH (m)");
+        measure("313", "HEIGHT (m)");
+        measure("314", "AREA (m2)");
+        measure("315", "NET VOLUME (l)");
+        measure("316", "NET VOLUME (m3)");
+        measure("320", "NET WEIGHT (lb)");
+        measure("321", "LENGTH (in)");
+        measure("322", "LENGTH (ft)");
+        measure("323", "LENGTH (yd)");
+        measure("324", "WIDTH (in)");
+        measure("325", "WIDTH (ft)");
+        measure("326", "WIDTH (yd)");
+        measure("327", "HEIGHT (in)");
+        measure("328", "HEIGHT (ft)");
+        measure("329", "HEIGHT (yd)");
+        measure("330", "GROSS WEIGHT (kg)");
+        measure("331", "LENGTH (m), log");
+        measure("332", "WIDTH (m), log");
+        measure("333", "HEIGHT (m), log");
+        measure("334", "AREA (m2), log");
+        measure("335", "VOLUME (l), log");
+        measure("336", "VOLUME (m3), log");
+        measure("337", "KG PER m2");
+        measure("340", "GROSS WEIGHT (lb)");
+        measure("341", "LENGTH (in), log");
+        measure("342", "LENGTH (ft), log");
+        measure("343", "LENGTH (yd), log");
+        measure("344", "WIDTH (in), log");
+        measure("345", "WIDTH (ft), log");
+        measure("346", "WIDTH (yd), log");
+        measure("347", "HEIGHT (in), log");
+        measure("348", "HEIGHT (ft), log");
+        measure("349", "HEIGHT (yd), log");
+        measure("350", "AREA (in2)");
+        measure("351", "AREA (ft2)");
+        measure("352", "AREA (yd2)");
+        measure("353", "AREA (in2), log");
+        measure("354", "AREA (ft2), log");
+        measure("355", "AREA (yd2), log");
+        measure("356", "NET WEIGHT (troy oz)");
+        measure("357", "NET VOLUME (oz)");
+        measure("360", "NET VOLUME (qt)");
+        measure("361", "NET VOLUME (gal.)");
+        measure("362", "VOLUME (qt), log");
+        measure("363", "VOLUME (gal.), log");
+        measure("364", "VOLUME (in3)");
+        measure("365", "VOLUME (ft3)");
+        measure("366", "VOLUME (yd3)");
+        measure("367", "VOLUME (in3), log");
+        measure("368", "VOLUME (ft3), log");
+        measure("369", "VOLUME (yd3), log");
+
+        add("37", "N..8", "COUNT");
+        series("390", 0, 9, "N..15", "AMOUNT");
+        series("391", 0, 9, "N3+N..15", "AMOUNT");
+        series("392", 0, 9, "N..15", "PRICE");
+        series("393", 0, 9, "N3+N..15", "PRICE");
+        series("394", 0, 3, "N4", "PRCNT OFF");
+        series("395", 0, 6, "N6", "PRICE/UoM");
+
+        add("400", "X..30", "ORDER NUMBER");
+        add("401", "X..30", "GINC");
+        add("402", "N17,csum", "GSIN");
+        add("403", "X..30", "ROUTE");
+        add("410", "N13,csum", "SHIP TO LOC");
+        add("411", "N13,csum", "BILL TO");
+        add("412", "N13,csum", "PURCHASE FROM");
+        add("413", "N13,csum", "SHIP FOR LOC");
+        add("414", "N13,csum", "LOC No.");
+        add("415", "N13,csum", "PAY TO");
+        add("416", "N13,csum", "PROD/SERV LOC");
+        add("417", "N13,csum", "PARTY");
+        add("420", "X..20", "SHIP TO POST");
+        add("421", "N3+X..9", "SHIP TO POST");
+        add("422", "N3", "ORIGIN");
+        add("423", "N3+N0..12", "COUNTRY - INITIAL PROCESS");
+        add("424", "N3", "COUNTRY - PROCESS");
+        add("425", "N3+N0..12", "COUNTRY - DISASSEMBLY");
+        add("426", "N3", "COUNTRY - FULL PROCESS");
+        add("427", "X..3", "ORIGIN SUBDIVISION");
+
+        add("4300", "X..35", "SHIP TO COMP");
+        add("4301", "X..35", "SHIP TO NAME");
+        add("4302", "X..70", "SHIP TO ADD1");
+        add("4303", "X..70", "SHIP TO ADD2");
+        add("4304", "X..70", "SHIP TO SUB");
+        add("4305", "X..70", "SHIP TO LOC");
+        add("4306", "X..70", "SHIP TO REG");
+        add("4307", "X2", "SHIP TO COUNTRY");
+        add("4308", "X..30", "SHIP TO PHONE");
+        add("4309", "N20", "SHIP TO GEO");
+        add("4310", "X..35", "RTN TO COMP");
+        add("4311", "X..35", "RTN TO NAME");
+        add("4312", "X..70", "RTN TO ADD1");
+        add("4313", "X..70", "RTN TO ADD2");
+        add("4314", "X..70", "RTN TO SUB");
+        add("4315", "X..70", "RTN TO LOC");
+        add("4316", "X..70", "RTN TO REG");
+        add("4317", "X2", "RTN TO COUNTRY");
+        add("4318", "X..20", "RTN TO POST");
+        add("4319", "X..30", "RTN TO PHONE");
+        add("4320", "X..35", "SRV DESCRIPTION");
+        add("4321", "N1", "DANGEROUS GOODS");
+        add("4322", "N1", "AUTH LEAVE");
+        add("4323", "N1", "SIG REQUIRED");
+        add("4324", "N10,yymmddhh", "NBEF DEL DT");
+        add("4325", "N10,yymmddhh", "NAFT DEL DT");
+        add("4326", "N6,yymmdd", "REL DATE");
+        add("4330", "N6+X0..1", "MAX TEMP F");
+        add("4331", "N6+X0..1", "MAX TEMP C");
+        add("4332", "N6+X0..1", "MIN TEMP F");
+        add("4333", "N6+X0..1", "MIN TEMP C");
+
+        add("7001", "N13", "NSN");
+        add("7002", "X..30", "MEAT CUT");
+        add("7003", "N10,yymmddhh", "EXPIRY TIME");
+        add("7004", "N..4", "ACTIVE POTENCY");
+        add("7005", "X..12", "CATCH AREA");
+        add("7006", "N6,yymmdd", "FIRST FREEZE DATE");
+        add("7007", "N6,yymmdd+N0..6,yymmdd", "HARVEST DATE");
+        add("7008", "X..3", "AQUATIC SPECIES");
+        add("7009", "X..10", "FISHING GEAR TYPE");
+        add("7010", "X..2", "PROD METHOD");
+        add("7011", "N6,yymmdd+N0..4", "TEST BY DATE");
+        add("7020", "X..20", "REFURB LOT");
+        add("7021", "X..20", "FUNC STAT");
+        add("7022", "X..20", "REV STAT");
+        add("7023", "X..30", "GIAI - ASSEMBLY");
+        series("703", 0, 9, "N3+X..27", "PROCESSOR #");
+        add("7040", "N1+X3", "UIC+EXT");
+        add("710", "X..20", "NHRN PZN");
+        add("711", "X..20", "NHRN CIP");
+        add("712", "X..20", "NHRN CN");
+        add("713", "X..20", "NHRN DRN");
+        add("714", "X..20", "NHRN AIM");
+        add("715", "X..20", "NHRN NDC");
+        add("716", "X..20", "NHRN AIC");
+        series("723", 0, 9, "X2+X..28", "CERT #");
+        add("7240", "X..20", "PROTOCOL");
+        add("7241", "N2", "AIDC MEDIA TYPE");
+        add("7242", "X..25", "VCN");
+        add("7250", "N8", "DOB");
+        add("7251", "N12", "DOB TIME");
+        add("7252", "N1", "BIO SEX");
+        add("7253", "X..40", "FAMILY NAME");
+        add("7254", "X..40", "GIVEN NAME");
+        add("7255", "X..10", "SUFFIX");
+        add("7256", "X..90", "FULL NAME");
+        add("7257", "X..70", "PERSON ADDR");
+        add("7258", "N1+X1+N1", "BIRTH SEQUENCE");
+        add("7259", "X..40", "BABY");
+
+        add("8001", "N14", "DIMENSIONS");
+        add("8002", "X..20", "CMT No.");
+        add("8003", "N14,csum+X0..16", "GRAI");
+        add("8004", "X..30", "GIAI");
+        add("8005", "N6", "PRICE PER UNIT");
+        add("8006", "N14,csum+N2+N2", "ITIP");
+        add("8007", "X..34", "IBAN");
+        add("8008", "N8,yymmddhh+N0..4", "PROD TIME");
+        add("8009", "X..50", "OPTSEN");
+        add("8010", "Y..30", "CPID");
+        add("8011", "N..12", "CPID SERIAL");
+        add("8012", "X..20", "VERSION");
+        add("8013", "X..25", "GMN");
+        add("8014", "X..25", "MUDI");
+        add("8017", "N18,csum", "GSRN - PROVIDER");
+        add("8018", "N18,csum", "GSRN - RECIPIENT");
+        add("8019", "N..10", "SRIN");
+        add("8020", "X..25", "REF No.");
+        add("8026", "N14,csum+N2+N2", "ITIP CONTENT");
+        add("8030", "Z..90", "DIGSIG");
+        add("8110", "X..70", "COUPON");
+        add("8111", "N4", "POINTS");
+        add("8112", "X..70", "PAPERLESS COUPON");
+        add("8200", "X..70", "PRODUCT URL");
+
+        add("90", "X..30", "INTERNAL");
+        for (int i = 91; i <= 99; i++) {
+            add(Integer.toString(i), "X..90", "INTERNAL");
+        }
+    }
+
+    private Gs1AiDictionary() {
+    }
+
+    private static void predefined(int length, String... prefixes) {
+        for (String p : prefixes) {
+            PREDEFINED_LENGTH[Integer.parseInt(p)] = (byte) length;
+        }
+    }
+
+    private static void measure(String ai3, String title) {
+        series(ai3, 0, 5, "N6", title);
+    }
+
+    private static void series(String ai3, int first, int last, String format, String title) {
+        for (int n = first; n <= last; n++) {
+            add(ai3 + n, format, title);
+        }
+    }
+
+    private static void add(String ai, String format, String title) {
+        int prefix = (ai.charAt(0) - '0') * 10 + (ai.charAt(1) - '0');
+        int length = ai.length();
+        if (AI_LENGTH[prefix] != 0 && AI_LENGTH[prefix] != length) {
+            throw new IllegalStateException("AI " + ai + " nemá dĺžku zhodnú s prefixom " + prefix);
+        }
+        AI_LENGTH[prefix] = (byte) length;
+
+        Gs1ApplicationIdentifier def = new Gs1ApplicationIdentifier(ai, format, title);
+        switch (length) {
+            case 2 -> TWO_DIGIT[prefix] = def;
+            case 3 -> {
+                if (THREE_DIGIT[prefix] == null) {
+                    THREE_DIGIT[prefix] = new Gs1ApplicationIdentifier[10];
+                }
+                THREE_DIGIT[prefix][ai.charAt(2) - '0'] = def;
+            }
+            case 4 -> {
+                if (FOUR_DIGIT[prefix] == null) {
+                    FOUR_DIGIT[prefix] = new Gs1ApplicationIdentifier[100];
+                }
+                FOUR_DIGIT[prefix][(ai.charAt(2) - '0') * 10 + (ai.charAt(3) - '0')] = def;
+            }
+            default -> throw new IllegalStateException("AI musí mať 2 až 4 číslice: " + ai);
+        }
+        size++;
+    }
+
+    /**
+     * Dĺžka AI, ktorý začína na pozícii {@code offset} (2, 3 alebo 4),
+     * alebo 0 ak tam nie sú dve číslice s prideleným prefixom.
+     */
+    public static int aiLength(CharSequence s, int offset) {
+        if (offset + 2 > s.length()) {
+            return 0;
+        }
+        int prefix = prefix(s, offset);
+        return prefix < 0 ? 0 : AI_LENGTH[prefix];
+    }
+
+    /**
+     * Preddefinovaná celková dĺžka elementu (AI + hodnota), ktorý začína na pozícii {@code offset},
+     * alebo 0 ak dĺžka nie je preddefinovaná a element musí byť ukončený FNC1/GS (alebo koncom dát).
+     */
+    public static int predefinedLength(CharSequence s, int offset) {
+        if (offset + 2 > s.length()) {
+            return 0;
+        }
+        int prefix = prefix(s, offset);
+        return prefix < 0 ? 0 : PREDEFINED_LENGTH[prefix];
+    }
+
+    /**
+     * Nájde AI, ktorý je v {@code s[offset, offset + length)}.
+     *
+     * @return definícia AI alebo {@code null}, ak taký AI neexistuje
+     */
+    public static Gs1ApplicationIdentifier lookup(CharSequence s, int offset, int length) {
+        if (length < 2 || length > 4 || offset + length > s.length()) {
+            return null;
+        }
+        int prefix = prefix(s, offset);
+        if (prefix < 0 || AI_LENGTH[prefix] != length) {
+            return null;
+        }
+        switch (length) {
+            case 2:
+                return TWO_DIGIT[prefix];
+            case 3: {
+                int d = digit(s, offset + 2);
+                Gs1ApplicationIdentifier[] table = THREE_DIGIT[prefix];
+                return d < 0 || table == null ? null : table[d];
+            }
+            default: {
+                int d1 = digit(s, offset + 2);
+                int d2 = digit(s, offset + 3);
+                Gs1ApplicationIdentifier[] table = FOUR_DIGIT[prefix];
+                return d1 < 0 || d2 < 0 || table == null ? null : table[d1 * 10 + d2];
+            }
+        }
+    }
+
+    public static Gs1ApplicationIdentifier lookup(String ai) {
+        return ai == null ? null : lookup(ai, 0, ai.length());
+    }
+
+    /** Počet AI v tabuľke. */
+    public static int size() {
+        return size;
+    }
+
+    private static int prefix(CharSequence s, int offset) {
+        int d1 = digit(s, offset);
+        int d2 = digit(s, offset + 1);
+        return d1 < 0 || d2 < 0 ? -1 : d1 * 10 + d2;
+    }
+
+    private static int digit(CharSequence s, int at) {
+        int d = s.charAt(at) - '0';
+        return d >= 0 && d <= 9 ? d : -1;
+    }
+}
@@ -0,0 +1,17 @@
+package com.gpcs.codestudio.gs1;
+
+/**
+ * Dôvod, prečo hodnota neprešla kontrolou podľa {@link Gs1ApplicationIdentifier}.
+ */
+public enum Gs1AiError {
+    /** Hodnota je kratšia, než povoľuje formát AI. */
+    TOO_SHORT,
+    /** Hodnota je dlhšia, než povoľuje formát AI. */
+    TOO_LONG,
+    /** Znak mimo povolenej sady (N = číslice, X = CSET 82, Y = CSET 39, Z = CSET 64). */
+    INVALID_CHARACTER,
+    /** Nesprávna GS1 mod-10 kontrolná číslica (GTIN, SSCC, GLN ...). */
+    INVALID_CHECK_DIGIT,
+    /** Neplatný dátum / čas (YYMMDD, YYMMDDHH[MM]). */
+    INVALID_DATE
+}
@@ -0,0 +1,239 @@
+package com.gpcs.codestudio.gs1;
+
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+
+/**
+ * Jeden Application Identifier z GS1 General Specifications, skompilovaný z formátu
+ * v tvare GS1 syntax dictionary, napr. {@code N14,csum}, {@code X..20}, {@code N3+X..27}.
+ *
+ * Formát sa skladá z komponentov oddelených '+'. Každý komponent má sadu znakov
+ * (N, X, Y, Z), pevnú alebo maximálnu dĺžku a voliteľnú kontrolu (csum, yymmd0, yymmdd, yymmddhh).
+ * Variabilnú dĺžku môže mať len posledný komponent: {@code X..20} = 1 až 20 znakov, {@code X0..17} =
+ * voliteľný komponent (0 až 17). Neprázdny komponent s kontrolou dátumu musí mať celú dĺžku dátumu.
+ */
+public final class Gs1ApplicationIdentifier {
+
+    static final byte CHARSET_N = 1;
+    static final byte CHARSET_X = 2;
+    static final byte CHARSET_Y = 4;
+    static final byte CHARSET_Z = 8;
+
+    static final byte CHECK_NONE = 0;
+    static final byte CHECK_CSUM = 1;
+    static final byte CHECK_DATE = 2;           // YYMMDD
+    static final byte CHECK_DATE_DAY_ZERO = 3;  // YYMMDD, DD môže byť 00
+    static final byte CHECK_DATE_HOUR = 4;      // YYMMDDHH[MM]
+
+    /** Bitová maska sád znakov pre ASCII 0-127. */
+    private static final byte[] CHARSETS = new byte[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CHARSETS[c] |= CHARSET_N | CHARSET_X | CHARSET_Y | CHARSET_Z;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CHARSETS[c] |= CHARSET_X | CHARSET_Y | CHARSET_Z;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CHARSETS[c] |= CHARSET_X | CHARSET_Z;
+        }
+        for (char c : "!\"%&'()*+,-./:;<=>?_".toCharArray()) {
+            CHARSETS[c] |= CHARSET_X;
+        }
+        for (char c : "#-/".toCharArray()) {
+            CHARSETS[c] |= CHARSET_Y;
+        }
+        for (char c : "-_=".toCharArray()) {
+            CHARSETS[c] |= CHARSET_Z;
+        }
+    }
+
+    private final String ai;
+    private final String title;
+    private final String format;
+
+    // komponenty ako paralelné polia – žiadne objekty na validačnej ceste
+    private final byte[] charsets;
+    private final int[] minLengths;
+    private final int[] maxLengths;
+    private final byte[] checks;
+
+    private final int minLength;
+    private final int maxLength;
+
+    Gs1ApplicationIdentifier(String ai, String format, String title) {
+        this.ai = ai;
+        this.title = title;
+        this.format = format;
+
+        String[] parts = format.split("\\+");
+        this.charsets = new byte[parts.length];
+        this.minLengths = new int[parts.length];
+        this.maxLengths = new int[parts.length];
+        this.checks = new byte[parts.length];
+
+        int min = 0;
+        int max = 0;
+        for (int i = 0; i < parts.length; i++) {
+            parseComponent(parts[i], i, i == parts.length - 1);
+            min += minLengths[i];
+            max += maxLengths[i];
+        }
+        this.minLength = min;
+        this.maxLength = max;
+    }
+
+    private void parseComponent(String part, int index, boolean last) {
+        String spec = part;
+        byte check = CHECK_NONE;
+        int comma = part.indexOf(',');
+        if (comma >= 0) {
+            spec = part.substring(0, comma);
+            check = switch (part.substring(comma + 1)) {
+                case "csum" -> CHECK_CSUM;
+                case "yymmdd" -> CHECK_DATE;
+                case "yymmd0" -> CHECK_DATE_DAY_ZERO;
+                case "yymmddhh" -> CHECK_DATE_HOUR;
+                default -> throw new IllegalArgumentException("Neznáma kontrola v AI " + ai + ": " + part);
+            };
+        }
+
+        charsets[index] = switch (spec.charAt(0)) {
+            case 'N' -> CHARSET_N;
+            case 'X' -> CHARSET_X;
+            case 'Y' -> CHARSET_Y;
+            case 'Z' -> CHARSET_Z;
+            default -> throw new IllegalArgumentException("Neznáma sada znakov v AI " + ai + ": " + part);
+        };
+
+        String len = spec.substring(1);
+        int dots = len.indexOf("..");
+        if (dots < 0) {
+            minLengths[index] = Integer.parseInt(len);
+            maxLengths[index] = minLengths[index];
+        } else {
+            minLengths[index] = dots == 0 ? 1 : Integer.parseInt(len.substring(0, dots));
+            maxLengths[index] = Integer.parseInt(len.substring(dots + 2));
+            if (!last) {
+                throw new IllegalArgumentException("Variabilnú dĺžku môže mať len posledný komponent AI " + ai);
+            }
+        }
+        checks[index] = check;
+    }
+
+    /**
+     * Overí hodnotu {@code value[from, to)} voči formátu AI.
+     *
+     * @return {@code null} ak je hodnota platná, inak dôvod chyby
+     */
+    public Gs1AiError validate(CharSequence value, int from, int to) {
+        int length = to - from;
+        if (length < minLength) {
+            return Gs1AiError.TOO_SHORT;
+        }
+        if (length > maxLength) {
+            return Gs1AiError.TOO_LONG;
+        }
+
+        int pos = from;
+        for (int i = 0; i < charsets.length && pos < to; i++) {
+            int end = i == charsets.length - 1 ? to : pos + maxLengths[i];
+            byte mask = charsets[i];
+            for (int p = pos; p < end; p++) {
+                char c = value.charAt(p);
+                if (c >= 128 || (CHARSETS[c] & mask) == 0) {
+                    return Gs1AiError.INVALID_CHARACTER;
+                }
+            }
+            switch (checks[i]) {
+                case CHECK_CSUM -> {
+                    if (!Gs1CheckDigit.isValid(value, pos, end - pos)) {
+                        return Gs1AiError.INVALID_CHECK_DIGIT;
+                    }
+                }
+                case CHECK_DATE, CHECK_DATE_DAY_ZERO, CHECK_DATE_HOUR -> {
+                    if (!isValidDate(value, pos, end, checks[i])) {
+                        return Gs1AiError.INVALID_DATE;
+                    }
+                }
+                default -> {
+                }
+            }
+            pos = end;
+        }
+        return null;
+    }
+
+    private static boolean isValidDate(CharSequence s, int from, int to, byte check) {
+        int length = to - from;
+        if (check == CHECK_DATE_HOUR ? length != 8 && length != 10 : length != 6) {
+            return false;
+        }
+        int month = twoDigits(s, from + 2);
+        int day = twoDigits(s, from + 4);
+        if (month < 1 || month > 12) {
+            return false;
+        }
+        if (day == 0) {
+            if (check != CHECK_DATE_DAY_ZERO) {
+                return false;
+            }
+        } else if (day > daysInMonth(twoDigits(s, from), month)) {
+            return false;
+        }
+        if (check == CHECK_DATE_HOUR) {
+            if (twoDigits(s, from + 6) > 23) {
+                return false;
+            }
+            return to - from < 10 || twoDigits(s, from + 8) <= 59;
+        }
+        return true;
+    }
+
+    private static int twoDigits(CharSequence s, int at) {
+        return (s.charAt(at) - '0') * 10 + (s.charAt(at + 1) - '0');
+    }
+
+    private static int daysInMonth(int yy, int month) {
+        return switch (month) {
+            case 2 -> yy % 4 == 0 ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    public String getAi() {
+        return ai;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /** Formát v zápise GS1 syntax dictionary, napr. {@code N13,csum+X..17}. */
+    public String getFormat() {
+        return format;
+    }
+
+    public int getMinLength() {
+        return minLength;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public boolean isFixedLength() {
+        return minLength == maxLength;
+    }
+
+    /** True, ak sú všetky komponenty len číslice (sada N). */
+    public boolean isNumeric() {
+        for (byte c : charsets) {
+            if (c != CHARSET_N) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gpcs.codestudio.gs1;
 
 import com.gpcs.codestudio.ean.EanValidationResult;
+import com.gpcs.codestudio.ean.MessageLanguage;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,9 +23,14 @@ public class Gs1Controller {
      * Príklad requestu z FE:
      * POST /api/gs1/validate
      * { "codeType": "GS1128", "value": "(01)12345678901234(10)ABC123" }
+     *
+     * Voliteľne ?lang=sk|en|cs a ?messages=false (bez textu správy).
      */
     @PostMapping("/validate")
-    public ResponseEntity<EanValidationResult> validate(@RequestBody Gs1ValidationRequest request) {
+    public ResponseEntity<EanValidationResult> validate(
+            @RequestBody Gs1ValidationRequest request,
+            @RequestParam(value = "lang", required = false) String lang,
+            @RequestParam(value = "messages", defaultValue = "true") boolean messages) {
         String type = request.getCodeType() != null
                 ? request.getCodeType().trim().toUpperCase(Locale.ROOT)
                 : "";
@@ -55,16 +61,19 @@ public class Gs1Controller {
                 break;
         }
 
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(result.withMessages(MessageLanguage.from(lang), messages));
     }
 
     /**
      * Ak chceš mať špeciálne "linear" API, môžeš si nechať aj alias:
      */
     @PostMapping("/validate-linear")
-    public ResponseEntity<EanValidationResult> validateLinear(@RequestBody Gs1ValidationRequest request) {
+    public ResponseEntity<EanValidationResult> validateLinear(
+            @RequestBody Gs1ValidationRequest request,
+            @RequestParam(value = "lang", required = false) String lang,
+            @RequestParam(value = "messages", defaultValue = "true") boolean messages) {
         // Sem môžeš neskôr dať špecifickejšie pravidlá pre linear,
         // zatiaľ len voláme hlavný validate().
-        return validate(request);
+        return validate(request, lang, messages);
     }
 }
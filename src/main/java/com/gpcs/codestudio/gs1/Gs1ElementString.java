@@ -0,0 +1,118 @@
+package com.gpcs.codestudio.gs1;
+
+import java.util.Arrays;
+
+/**
+ * Výsledok {@link Gs1ElementStringParser}: zoznam dvojíc AI / hodnota ako offsety
+ * do pôvodného vstupu – nič sa nekopíruje.
+ *
+ * Inštanciu je možné opakovane použiť pre ďalší parse (polia sa len zväčšujú),
+ * nie je thread-safe.
+ */
+public final class Gs1ElementString {
+
+    private static final int SLOTS = 3; // aiStart, valueStart, valueEnd
+
+    private CharSequence source;
+    private int[] offsets = new int[SLOTS * 8];
+    private Gs1ApplicationIdentifier[] definitions = new Gs1ApplicationIdentifier[8];
+    private int size;
+
+    private Gs1ParseError error;
+    private int errorOffset = -1;
+
+    void reset(CharSequence source) {
+        this.source = source;
+        this.size = 0;
+        this.error = null;
+        this.errorOffset = -1;
+    }
+
+    void add(Gs1ApplicationIdentifier definition, int aiStart, int valueStart, int valueEnd) {
+        if (size == definitions.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            definitions = Arrays.copyOf(definitions, definitions.length * 2);
+        }
+        int base = size * SLOTS;
+        offsets[base] = aiStart;
+        offsets[base + 1] = valueStart;
+        offsets[base + 2] = valueEnd;
+        definitions[size] = definition;
+        size++;
+    }
+
+    Gs1ParseError fail(Gs1ParseError error, int offset) {
+        this.error = error;
+        this.errorOffset = offset;
+        return error;
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /** Počet rozpoznaných elementov (pri chybe len tie pred chybou). */
+    public int size() {
+        return size;
+    }
+
+    public Gs1ApplicationIdentifier definition(int index) {
+        return definitions[index];
+    }
+
+    public int aiStart(int index) {
+        return offsets[index * SLOTS];
+    }
+
+    public int aiEnd(int index) {
+        return aiStart(index) + definitions[index].getAi().length();
+    }
+
+    public int valueStart(int index) {
+        return offsets[index * SLOTS + 1];
+    }
+
+    public int valueEnd(int index) {
+        return offsets[index * SLOTS + 2];
+    }
+
+    /** Hodnota elementu (pri String vstupe je to kópia – bez alokácie použi valueStart/valueEnd). */
+    public CharSequence value(int index) {
+        return source.subSequence(valueStart(index), valueEnd(index));
+    }
+
+    /** Index prvého elementu s daným AI, alebo -1. */
+    public int indexOf(String ai) {
+        for (int i = 0; i < size; i++) {
+            if (definitions[i].getAi().equals(ai)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public Gs1ParseError getError() {
+        return error;
+    }
+
+    /** Pozícia vo vstupe, kde nastala chyba, alebo -1. */
+    public int getErrorOffset() {
+        return errorOffset;
+    }
+
+    /**
+     * Zápis v tvare pre človeka, napr. {@code (01)09506000134352(10)ABC}.
+     */
+    public String toBracketedString() {
+        StringBuilder sb = new StringBuilder(source.length() + size * 2);
+        appendBracketed(sb);
+        return sb.toString();
+    }
+
+    public void appendBracketed(StringBuilder sb) {
+        for (int i = 0; i < size; i++) {
+            sb.append('(').append(definitions[i].getAi()).append(')');
+            sb.append(source, valueStart(i), valueEnd(i));
+        }
+    }
+}
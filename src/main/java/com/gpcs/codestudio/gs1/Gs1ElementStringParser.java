@@ -0,0 +1,177 @@
+package com.gpcs.codestudio.gs1;
+
+/**
+ * Jednoprechodový parser GS1 element stringov bez kopírovania.
+ *
+ * Podporované tvary vstupu:
+ * <ul>
+ *     <li>zátvorkový (HRI): {@code (01)09506000134352(10)ABC123}</li>
+ *     <li>surový so separátorom GS (ASCII 29) namiesto FNC1: {@code 0109506000134352 10ABC123<GS>21XYZ}</li>
+ *     <li>surový s prefixom symbology identifier: {@code ]C1}, {@code ]d2}, {@code ]e0}, {@code ]Q3}, {@code ]J1}</li>
+ * </ul>
+ *
+ * V surovom tvare sa elementy s preddefinovanou dĺžkou (00, 01, 11–17, 20, 31nn–36nn, 41x ...)
+ * rozdelia aj bez separátora, ostatné končia GS alebo koncom dát.
+ * Výsledok sú offsety do vstupu v {@link Gs1ElementString}; hodnoty sa tu nekontrolujú,
+ * na to slúži {@link Gs1ApplicationIdentifier#validate(CharSequence, int, int)}.
+ */
+public final class Gs1ElementStringParser {
+
+    /** ASCII 29 – Group Separator, surová reprezentácia FNC1. */
+    public static final char GS = '\u001D';
+
+    private Gs1ElementStringParser() {
+    }
+
+    public static Gs1ElementString parse(CharSequence input) {
+        Gs1ElementString out = new Gs1ElementString();
+        parse(input, out);
+        return out;
+    }
+
+    /**
+     * Rozloží {@code input} do {@code out}.
+     *
+     * @return {@code null} pri úspechu, inak chyba (tiež dostupná cez {@link Gs1ElementString#getError()})
+     */
+    public static Gs1ParseError parse(CharSequence input, Gs1ElementString out) {
+        out.reset(input);
+        int pos = 0;
+        int end = input.length();
+
+        // okrajové biele znaky preskočíme offsetmi namiesto trim()
+        while (pos < end && isSpace(input.charAt(pos))) {
+            pos++;
+        }
+        while (end > pos && isSpace(input.charAt(end - 1))) {
+            end--;
+        }
+
+        if (pos + 3 <= end && input.charAt(pos) == ']') {
+            if (!isGs1Symbology(input.charAt(pos + 1), input.charAt(pos + 2))) {
+                return out.fail(Gs1ParseError.UNSUPPORTED_SYMBOLOGY, pos);
+            }
+            pos += 3;
+        }
+        // úvodné FNC1 (GS1 mód) môže skener poslať ako GS
+        while (pos < end && input.charAt(pos) == GS) {
+            pos++;
+        }
+        if (pos >= end) {
+            return out.fail(Gs1ParseError.EMPTY, pos);
+        }
+
+        return input.charAt(pos) == '('
+                ? parseBracketed(input, pos, end, out)
+                : parseRaw(input, pos, end, out);
+    }
+
+    private static Gs1ParseError parseBracketed(CharSequence s, int pos, int end, Gs1ElementString out) {
+        while (pos < end) {
+            if (s.charAt(pos) != '(') {
+                return out.fail(Gs1ParseError.MISSING_AI, pos);
+            }
+            int aiStart = pos + 1;
+            int aiEnd = aiStart;
+            while (aiEnd < end && aiEnd - aiStart <= 4 && isDigit(s.charAt(aiEnd))) {
+                aiEnd++;
+            }
+            int aiLength = aiEnd - aiStart;
+            if (aiEnd >= end || s.charAt(aiEnd) != ')' || aiLength < 2 || aiLength > 4) {
+                return out.fail(Gs1ParseError.MALFORMED_AI, pos);
+            }
+            Gs1ApplicationIdentifier def = Gs1AiDictionary.lookup(s, aiStart, aiLength);
+            if (def == null) {
+                return out.fail(Gs1ParseError.UNKNOWN_AI, aiStart);
+            }
+
+            // hodnota ide po ďalšiu '(' alebo koniec, okrajové medzery / GS neberieme
+            int valueStart = aiEnd + 1;
+            int next = valueStart;
+            while (next < end && s.charAt(next) != '(') {
+                next++;
+            }
+            int valueEnd = next;
+            while (valueStart < valueEnd && isSeparator(s.charAt(valueStart))) {
+                valueStart++;
+            }
+            while (valueEnd > valueStart && isSeparator(s.charAt(valueEnd - 1))) {
+                valueEnd--;
+            }
+            if (valueStart == valueEnd) {
+                return out.fail(Gs1ParseError.EMPTY_VALUE, aiStart);
+            }
+
+            out.add(def, aiStart, valueStart, valueEnd);
+            pos = next;
+        }
+        return null;
+    }
+
+    private static Gs1ParseError parseRaw(CharSequence s, int pos, int end, Gs1ElementString out) {
+        while (pos < end) {
+            if (!isDigit(s.charAt(pos))) {
+                return out.fail(Gs1ParseError.MISSING_AI, pos);
+            }
+            int aiLength = Gs1AiDictionary.aiLength(s, pos);
+            Gs1ApplicationIdentifier def = aiLength == 0 ? null : Gs1AiDictionary.lookup(s, pos, aiLength);
+            if (def == null) {
+                return out.fail(Gs1ParseError.UNKNOWN_AI, pos);
+            }
+
+            int valueStart = pos + aiLength;
+            int valueEnd;
+            int predefined = Gs1AiDictionary.predefinedLength(s, pos);
+            if (predefined > 0) {
+                valueEnd = pos + predefined;
+                if (valueEnd > end || indexOfGs(s, valueStart, valueEnd) >= 0) {
+                    return out.fail(Gs1ParseError.TRUNCATED_VALUE, pos);
+                }
+            } else {
+                int gs = indexOfGs(s, valueStart, end);
+                valueEnd = gs < 0 ? end : gs;
+            }
+            if (valueStart == valueEnd) {
+                return out.fail(Gs1ParseError.EMPTY_VALUE, pos);
+            }
+
+            out.add(def, pos, valueStart, valueEnd);
+
+            pos = valueEnd;
+            // GS za elementom (aj za preddefinovanou dĺžkou je tolerovaný)
+            if (pos < end && s.charAt(pos) == GS) {
+                pos++;
+            }
+        }
+        return null;
+    }
+
+    private static int indexOfGs(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == GS) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isGs1Symbology(char code, char modifier) {
+        return (code == 'C' && modifier == '1')
+                || (code == 'd' && modifier == '2')
+                || (code == 'e' && modifier == '0')
+                || (code == 'Q' && modifier == '3')
+                || (code == 'J' && modifier == '1');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == GS || isSpace(c);
+    }
+}
@@ -0,0 +1,24 @@
+package com.gpcs.codestudio.gs1;
+
+import com.gpcs.codestudio.ean.LocalizedText;
+import com.gpcs.codestudio.ean.MessageLanguage;
+
+/**
+ * Názov typu GS1 reťazca v správach, podľa jazyka.
+ */
+enum Gs1Label implements LocalizedText {
+    GS1_128("GS1-128 reťazec", "GS1-128 string", "GS1-128 řetězec"),
+    GS1_DATAMATRIX("GS1 DataMatrix reťazec", "GS1 DataMatrix string", "GS1 DataMatrix řetězec"),
+    GS1_DATABAR("GS1 DataBar reťazec", "GS1 DataBar string", "GS1 DataBar řetězec");
+
+    private final String[] texts;
+
+    Gs1Label(String sk, String en, String cs) {
+        this.texts = new String[]{sk, en, cs};
+    }
+
+    @Override
+    public String text(MessageLanguage language) {
+        return texts[language.ordinal()];
+    }
+}
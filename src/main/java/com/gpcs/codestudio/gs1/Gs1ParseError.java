@@ -0,0 +1,21 @@
+package com.gpcs.codestudio.gs1;
+
+/**
+ * Štrukturálna chyba pri rozklade GS1 element stringu (pred kontrolou hodnôt jednotlivých AI).
+ */
+public enum Gs1ParseError {
+    /** Vstup je prázdny alebo obsahuje len symbology identifier. */
+    EMPTY,
+    /** Symbology identifier (]xx) nepatrí GS1 symbológii (]C1, ]d2, ]e0, ]Q3, ]J1). */
+    UNSUPPORTED_SYMBOLOGY,
+    /** Na mieste AI nie je '(' resp. číslica. */
+    MISSING_AI,
+    /** AI v zátvorkách nie je ukončený ')' alebo nemá 2 až 4 číslice. */
+    MALFORMED_AI,
+    /** AI nie je v tabuľke GS1 General Specifications. */
+    UNKNOWN_AI,
+    /** AI nemá hodnotu. */
+    EMPTY_VALUE,
+    /** Element s preddefinovanou dĺžkou je kratší, než vyžaduje tabuľka. */
+    TRUNCATED_VALUE
+}
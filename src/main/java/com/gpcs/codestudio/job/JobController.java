@@ -12,19 +12,66 @@ import java.util.List;
         "http://localhost:5173",
         "http://localhost:5176",
         "http://localhost:5180"
-})
+}, exposedHeaders = JobController.NEXT_CURSOR_HEADER)
 public class JobController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final JobService jobService;
 
     public JobController(JobService jobService) {
         this.jobService = jobService;
     }
 
+    /**
+     * Joby (bez payloadu). Bez {@code limit} a {@code after} vráti všetky ako doteraz; stránkovanie je
+     * voliteľné – ďalšia stránka: {@code after} = hlavička X-Next-Cursor, ktorá chýba na poslednej stránke.
+     */
     @GetMapping
-    public List<JobDto> listJobs() {
-        // bez payloadu (len meta) – implementované v service
-        return jobService.listJobs();
+    public ResponseEntity<List<JobDto>> listJobs(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "codeType", required = false) String codeType,
+            @RequestParam(value = "sort", required = false) String sort
+    ) {
+        JobPage page;
+        try {
+            if (limit == null && after == null) {
+                return ResponseEntity.ok(jobService.listJobs(codeType, sort));
+            }
+            page = jobService.listJobs(codeType, sort, after, limit != null ? limit : DEFAULT_PAGE_SIZE);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withNextCursor(page);
+    }
+
+    /**
+     * Vyhľadávanie podľa názvu, popisu a hlavnej hodnoty (prefixy slov, bez ohľadu na diakritiku),
+     * najrelevantnejšie prvé. Stránkovanie rovnako ako pri výpise cez X-Next-Cursor.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<JobDto>> searchJobs(
+            @RequestParam(value = "q", defaultValue = "") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "after", required = false) String after
+    ) {
+        JobPage page;
+        try {
+            page = jobService.searchJobs(query, after, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        return withNextCursor(page);
+    }
+
+    /**
+     * Počet jobov a čo sa pri štarte zahodilo z poškodeného žurnálu.
+     */
+    @GetMapping("/metrics")
+    public JobStorageMetrics metrics() {
+        return jobService.getMetrics();
     }
 
     @GetMapping("/{id}")
@@ -52,4 +99,12 @@ public class JobController {
         jobService.deleteJob(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static ResponseEntity<List<JobDto>> withNextCursor(JobPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
 }
@@ -0,0 +1,32 @@
+package com.gpcs.codestudio.job;
+
+import java.util.Locale;
+
+/**
+ * Kedy sa zmeny jobov zapisujú na disk ({@code codestudio.jobs.flush.mode}).
+ */
+enum JobFlushMode {
+
+    /** Dávka raz za {@code flush.intervalMs} od prvej neuloženej zmeny. */
+    INTERVAL,
+
+    /** Dávka po {@code flush.everyMutations} zmenách, najneskôr však po {@code flush.intervalMs}. */
+    COUNT,
+
+    /** Zápis + fsync priamo v request threade – request sa vráti až keď je zmena na disku. */
+    SYNC;
+
+    /**
+     * Neznáma alebo prázdna hodnota = {@link #INTERVAL}.
+     */
+    static JobFlushMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return INTERVAL;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "count", "mutations" -> COUNT;
+            case "sync", "fsync" -> SYNC;
+            default -> INTERVAL;
+        };
+    }
+}
@@ -0,0 +1,97 @@
+package com.gpcs.codestudio.job;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Zoradené indexy jobov podľa {@code createdAt} a {@code updatedAt} (pri zhode podľa ID).
+ *
+ * Udržiava ich {@link JobService} pri každej zmene; čítanie je bez zámkov, takže počas zmeny
+ * môže index krátko obsahovať starú aj novú verziu jobu – čitateľ preto overuje, že záznam
+ * je stále ten aktuálny v mape jobov.
+ */
+final class JobIndex {
+
+    private final ConcurrentSkipListMap<Key, JobRecord> byCreated = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Key, JobRecord> byUpdated = new ConcurrentSkipListMap<>();
+
+    void add(JobRecord rec) {
+        byCreated.put(Key.created(rec), rec);
+        byUpdated.put(Key.updated(rec), rec);
+    }
+
+    void remove(JobRecord rec) {
+        byCreated.remove(Key.created(rec), rec);
+        byUpdated.remove(Key.updated(rec), rec);
+    }
+
+    boolean isEmpty() {
+        return byCreated.isEmpty();
+    }
+
+    /**
+     * Joby v poradí {@code sort} za kurzorom {@code after} (bez neho); null = od začiatku.
+     */
+    NavigableMap<Key, JobRecord> view(JobSort sort, Key after) {
+        NavigableMap<Key, JobRecord> map = sort.byUpdated ? byUpdated : byCreated;
+        if (sort.descending) {
+            return after != null ? map.headMap(after, false).descendingMap() : map.descendingMap();
+        }
+        return after != null ? map.tailMap(after, false) : map;
+    }
+
+    /**
+     * Pozícia v indexe – čas + ID. Ako kurzor sa posiela zakódovaná v base64url.
+     */
+    static final class Key implements Comparable<Key> {
+
+        final Instant time;
+        final String id;
+
+        Key(Instant time, String id) {
+            this.time = time != null ? time : Instant.EPOCH;
+            this.id = id;
+        }
+
+        static Key created(JobRecord rec) {
+            return new Key(rec.getCreatedAt(), rec.getId());
+        }
+
+        static Key updated(JobRecord rec) {
+            return new Key(rec.getUpdatedAt(), rec.getId());
+        }
+
+        String toCursor() {
+            String raw = time.getEpochSecond() + "." + time.getNano() + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @throws IllegalArgumentException ak kurzor nie je z tohto API
+         */
+        static Key fromCursor(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+                int dot = raw.indexOf('.');
+                int colon = raw.indexOf(':');
+                if (dot < 0 || colon < dot) {
+                    throw new IllegalArgumentException("Neplatný kurzor.");
+                }
+                Instant time = Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)),
+                        Long.parseLong(raw.substring(dot + 1, colon)));
+                return new Key(time, raw.substring(colon + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Neplatný kurzor.", e);
+            }
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byTime = time.compareTo(other.time);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+}
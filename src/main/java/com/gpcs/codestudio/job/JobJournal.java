@@ -0,0 +1,295 @@
+package com.gpcs.codestudio.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only žurnál zmien jobov vedľa snapshotu ({@code <snapshot>.journal.<generácia>}).
+ *
+ * Každá zmena je jeden riadok {@code <crc32 hex> <json>\n}, kde JSON je celý nový stav jobu
+ * ({@code put}) alebo jeho zmazanie ({@code del}). Záznamy sú idempotentné – prehratie žurnálu
+ * nad novším snapshotom dá ten istý výsledok, takže kompaktácia nepotrebuje atomicky mazať žurnál.
+ *
+ * Pri načítaní sa poškodené záznamy (nesedí CRC / JSON) preskočia a neúplný posledný riadok
+ * (pád uprostred zápisu) sa odreže, aby ďalšie zápisy pokračovali za posledným platným záznamom.
+ * Počty ostávajú v {@link #getSkippedRecords()} / {@link #getTruncatedBytes()}, {@link JobService} ich ukazuje
+ * v /api/jobs/metrics.
+ *
+ * Nie je thread-safe – zápisy serializuje {@link JobPersistence}.
+ */
+final class JobJournal implements Closeable {
+
+    static final String PUT = "put";
+    static final String DELETE = "del";
+
+    private final Path snapshotPath;
+    private final ObjectMapper objectMapper;
+
+    private long generation;
+    private FileChannel channel;
+    private long size;
+    private long skippedRecords;
+    private long truncatedBytes;
+
+    private JobJournal(Path snapshotPath, ObjectMapper objectMapper) {
+        this.snapshotPath = snapshotPath;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Prehrá všetky generácie žurnálu do {@code jobs} (v poradí) a otvorí poslednú na zápis.
+     */
+    static JobJournal open(Path snapshotPath, ObjectMapper objectMapper, Map<String, JobRecord> jobs)
+            throws IOException {
+        JobJournal journal = new JobJournal(snapshotPath, objectMapper);
+        List<Long> generations = journal.generations();
+        long validLength = 0;
+        for (long gen : generations) {
+            validLength = journal.replay(journal.file(gen), jobs);
+        }
+        journal.generation = generations.isEmpty() ? 1 : generations.get(generations.size() - 1);
+
+        Path current = journal.file(journal.generation);
+        if (current.getParent() != null) {
+            Files.createDirectories(current.getParent());
+        }
+        journal.channel = FileChannel.open(current,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        if (!generations.isEmpty() && journal.channel.size() > validLength) {
+            // neúplný záznam na konci – odrezať
+            journal.channel.truncate(validLength);
+        }
+        journal.size = journal.channel.size();
+        journal.channel.position(journal.size);
+        return journal;
+    }
+
+    void appendPut(JobRecord record) throws IOException {
+        Entry entry = new Entry();
+        entry.setOp(PUT);
+        entry.setId(record.getId());
+        entry.setJob(record);
+        append(entry);
+    }
+
+    void appendDelete(String id) throws IOException {
+        Entry entry = new Entry();
+        entry.setOp(DELETE);
+        entry.setId(id);
+        append(entry);
+    }
+
+    /**
+     * fsync žurnálu (bez metadát súboru).
+     */
+    void sync() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Veľkosť aktuálnej generácie v bajtoch.
+     */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Začne novú generáciu; predchádzajúce ostávajú, kým ich nezmaže {@link #deleteBefore(long)}.
+     *
+     * @return generácia, ktorou sa začína (všetko pred ňou je v stave, ktorý volajúci práve snapshotuje)
+     */
+    long rotate() throws IOException {
+        channel.force(false);
+        channel.close();
+        generation++;
+        channel = FileChannel.open(file(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        size = 0;
+        return generation;
+    }
+
+    /**
+     * Zmaže generácie staršie ako {@code generation} – volá sa až keď je snapshot bezpečne na disku.
+     */
+    void deleteBefore(long generation) throws IOException {
+        for (long gen : generations()) {
+            if (gen < generation) {
+                Files.deleteIfExists(file(gen));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null && channel.isOpen()) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void append(Entry entry) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(entry);
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        byte[] prefix = (String.format("%08x", crc.getValue()) + " ").getBytes(StandardCharsets.US_ASCII);
+
+        ByteBuffer line = ByteBuffer.allocate(prefix.length + json.length + 1);
+        line.put(prefix).put(json).put((byte) '\n').flip();
+        while (line.hasRemaining()) {
+            size += channel.write(line);
+        }
+    }
+
+    /**
+     * Počet poškodených záznamov (nesedí CRC / JSON), ktoré sa pri načítaní preskočili.
+     */
+    long getSkippedRecords() {
+        return skippedRecords;
+    }
+
+    /**
+     * Bajty neúplných posledných záznamov, ktoré sa pri načítaní zahodili.
+     */
+    long getTruncatedBytes() {
+        return truncatedBytes;
+    }
+
+    /**
+     * @return dĺžka platnej časti súboru (za posledným úplným riadkom)
+     */
+    private long replay(Path file, Map<String, JobRecord> jobs) throws IOException {
+        long offset = 0;
+        long valid = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(1024);
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    line.write(buffer, start, i - start);
+                    if (!apply(line.toByteArray(), jobs)) {
+                        skippedRecords++;
+                    }
+                    line.reset();
+                    start = i + 1;
+                    valid = offset + start;
+                }
+                line.write(buffer, start, n - start);
+                offset += n;
+            }
+        }
+        truncatedBytes += offset - valid;
+        return valid;
+    }
+
+    private boolean apply(byte[] line, Map<String, JobRecord> jobs) {
+        if (line.length < 10 || line[8] != ' ') {
+            return false;
+        }
+        long expected;
+        try {
+            expected = Long.parseLong(new String(line, 0, 8, StandardCharsets.US_ASCII), 16);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(line, 9, line.length - 9);
+        if (crc.getValue() != expected) {
+            return false;
+        }
+        Entry entry;
+        try {
+            entry = objectMapper.readValue(line, 9, line.length - 9, Entry.class);
+        } catch (IOException e) {
+            return false;
+        }
+        if (PUT.equals(entry.getOp()) && entry.getJob() != null && entry.getJob().getId() != null) {
+            jobs.put(entry.getJob().getId(), entry.getJob());
+            return true;
+        }
+        if (DELETE.equals(entry.getOp()) && entry.getId() != null) {
+            jobs.remove(entry.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private List<Long> generations() throws IOException {
+        List<Long> generations = new ArrayList<>();
+        Path dir = snapshotPath.toAbsolutePath().getParent();
+        if (dir == null || !Files.isDirectory(dir)) {
+            return generations;
+        }
+        String prefix = snapshotPath.getFileName() + ".journal.";
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path f : stream) {
+                try {
+                    generations.add(Long.parseLong(f.getFileName().toString().substring(prefix.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        generations.sort(null);
+        return generations;
+    }
+
+    private Path file(long generation) {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + ".journal." + generation);
+    }
+
+    /**
+     * Jeden riadok žurnálu.
+     */
+    static final class Entry {
+
+        private String op;
+        private String id;
+        private JobRecord job;
+
+        public Entry() {
+        }
+
+        public String getOp() {
+            return op;
+        }
+
+        public void setOp(String op) {
+            this.op = op;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public JobRecord getJob() {
+            return job;
+        }
+
+        public void setJob(JobRecord job) {
+            this.job = job;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.gpcs.codestudio.job;
+
+import java.util.List;
+
+/**
+ * Jedna stránka výpisu jobov (bez payloadu) a kurzor na ďalšiu; null = posledná stránka.
+ */
+public class JobPage {
+
+    private List<JobDto> items;
+    private String nextCursor;
+
+    public JobPage() {
+    }
+
+    public List<JobDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<JobDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,181 @@
+package com.gpcs.codestudio.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Payloady jobov mimo mapy jobov: jeden súbor na job v {@code <snapshot>.payloads/}, v pamäti len
+ * LRU naparsovaných {@link JsonNode} obmedzené veľkosťou JSON-u ({@code maxCacheBytes}).
+ *
+ * {@link #put} / {@link #delete} zmenu len poznačia (a payload je hneď čitateľný), na disk ju zapíše
+ * {@link JobPersistence} cez {@link #flush} pred záznamom do žurnálu – request thread na disk nečaká.
+ */
+final class JobPayloadStore {
+
+    private static final String DELETED = "";
+
+    private final Path dir;
+    private final ObjectMapper objectMapper;
+    private final long maxCacheBytes;
+
+    // zmeny, ktoré ešte nie sú na disku (DELETED = zmazať súbor)
+    private final Map<String, String> pending = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, Cached> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private long cacheBytes;
+    // zvyšuje sa pri každej zmene – načítanie zo súboru sa do cache nezapíše, ak medzitým prišla zmena
+    private long version;
+
+    JobPayloadStore(Path snapshotPath, ObjectMapper objectMapper, long maxCacheBytes) {
+        this.dir = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".payloads");
+        this.objectMapper = objectMapper;
+        this.maxCacheBytes = Math.max(0, maxCacheBytes);
+    }
+
+    /**
+     * @return payload jobu alebo null, ak ho job nemá
+     */
+    JsonNode get(String id) {
+        long seen;
+        synchronized (cache) {
+            Cached cached = cache.get(id);
+            if (cached != null) {
+                return cached.node;
+            }
+            seen = version;
+        }
+        String json = pending.get(id);
+        if (DELETED.equals(json)) {
+            return null;
+        }
+        try {
+            if (json == null) {
+                try {
+                    json = Files.readString(file(id), StandardCharsets.UTF_8);
+                } catch (NoSuchFileException e) {
+                    return null;
+                }
+            }
+            JsonNode node = objectMapper.readTree(json);
+            synchronized (cache) {
+                if (version == seen) {
+                    cachePut(id, node, json.length());
+                }
+            }
+            return node;
+        } catch (IOException e) {
+            // ak sa nedá načítať / parse-nuť, necháme payload null
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * @param node naparsovaný {@code json} do cache, null = načíta sa až pri prvom čítaní
+     */
+    void put(String id, JsonNode node, String json) {
+        synchronized (cache) {
+            version++;
+            pending.put(id, json);
+            if (node != null) {
+                cachePut(id, node, json.length());
+            } else {
+                Cached removed = cache.remove(id);
+                if (removed != null) {
+                    cacheBytes -= removed.bytes;
+                }
+            }
+        }
+    }
+
+    void delete(String id) {
+        synchronized (cache) {
+            version++;
+            pending.put(id, DELETED);
+            Cached removed = cache.remove(id);
+            if (removed != null) {
+                cacheBytes -= removed.bytes;
+            }
+        }
+    }
+
+    /**
+     * Zapíše poznačenú zmenu payloadu jobu (temp súbor + rename). Volá ho len writer {@link JobPersistence}.
+     */
+    void flush(String id, boolean fsync) throws IOException {
+        String json = pending.get(id);
+        if (json == null) {
+            return;
+        }
+        Path target = file(id);
+        if (DELETED.equals(json)) {
+            Files.deleteIfExists(target);
+        } else {
+            Files.createDirectories(dir);
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            Files.writeString(tmp, json, StandardCharsets.UTF_8);
+            if (fsync) {
+                try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        // ak sa payload medzitým znova zmenil, ostáva poznačený
+        pending.remove(id, json);
+    }
+
+    private void cachePut(String id, JsonNode node, long bytes) {
+        Cached previous = cache.remove(id);
+        if (previous != null) {
+            cacheBytes -= previous.bytes;
+        }
+        if (bytes > maxCacheBytes) {
+            return;
+        }
+        cache.put(id, new Cached(node, bytes));
+        cacheBytes += bytes;
+        Iterator<Cached> it = cache.values().iterator();
+        while (cacheBytes > maxCacheBytes && it.hasNext()) {
+            cacheBytes -= it.next().bytes;
+            it.remove();
+        }
+    }
+
+    /**
+     * ID jobu môže obsahovať čokoľvek, súbor je pomenovaný podľa jeho SHA-256.
+     */
+    private Path file(String id) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return dir.resolve(HexFormat.of().formatHex(digest.digest(id.getBytes(StandardCharsets.UTF_8))) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nie je k dispozícii.", e);
+        }
+    }
+
+    private static final class Cached {
+        final JsonNode node;
+        final long bytes;
+
+        Cached(JsonNode node, long bytes) {
+            this.node = node;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.gpcs.codestudio.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Zápis zmien jobov na disk mimo request threadov.
+ *
+ * {@link JobService} zmení mapu jobov a zavolá {@link #changed(String)}; tu sa len poznačí ID.
+ * Jeden writer thread podľa {@link JobFlushMode} naraz zapíše do {@link JobJournal} aktuálny stav
+ * všetkých poznačených jobov (a ich payloady do {@link JobPayloadStore}) – viac úprav toho istého jobu
+ * medzi dávkami je jeden záznam.
+ * V režime {@link JobFlushMode#SYNC} sa zapisuje a fsync-uje priamo vo volajúcom threade.
+ *
+ * Zapisuje sa vždy aktuálny stav z mapy (nie poradie volaní), takže súbežné úpravy toho istého jobu
+ * skončia v žurnáli v rovnakom stave ako v pamäti.
+ */
+final class JobPersistence implements Closeable {
+
+    private final Path storagePath;
+    private final ObjectMapper objectMapper;
+    private final Map<String, JobRecord> jobs;
+    private final JobJournal journal;
+    private final JobPayloadStore payloads;
+    private final JobFlushMode mode;
+    private final long flushIntervalMs;
+    private final int flushEvery;
+    private final boolean fsync;
+    private final long compactAfterBytes;
+
+    // prístup k žurnálu (writer thread / SYNC volajúci / rotácia pri kompaktácii)
+    private final Object journalLock = new Object();
+    private final Object signal = new Object();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    JobPersistence(Path storagePath, ObjectMapper objectMapper, Map<String, JobRecord> jobs, JobJournal journal,
+                   JobPayloadStore payloads, JobFlushMode mode, long flushIntervalMs, int flushEvery, boolean fsync,
+                   long compactAfterBytes) {
+        this.storagePath = storagePath;
+        this.objectMapper = objectMapper;
+        this.jobs = jobs;
+        this.journal = journal;
+        this.payloads = payloads;
+        this.mode = mode;
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.flushEvery = mode == JobFlushMode.COUNT ? Math.max(1, flushEvery) : Integer.MAX_VALUE;
+        this.fsync = fsync;
+        this.compactAfterBytes = compactAfterBytes;
+        this.compactor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "job-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        if (mode == JobFlushMode.SYNC) {
+            this.writer = null;
+        } else {
+            this.writer = new Thread(this::writeLoop, "job-writer");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Job {@code id} sa v mape zmenil (alebo zmizol). Volať až po zmene mapy.
+     */
+    void changed(String id) {
+        if (mode == JobFlushMode.SYNC) {
+            synchronized (journalLock) {
+                try {
+                    write(id);
+                    journal.sync();
+                    maybeCompact();
+                } catch (IOException e) {
+                    throw new IllegalStateException("Chyba pri zápise do žurnálu jobov.", e);
+                }
+            }
+            return;
+        }
+        dirty.add(id);
+        int n = pending.incrementAndGet();
+        if (n == 1 || n >= flushEvery) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Zastaví writer, zapíše všetko neuložené, počká na rozbehnutú kompaktáciu a zavrie žurnál.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            synchronized (signal) {
+                signal.notifyAll();
+            }
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (journalLock) {
+            // ak writer skončil predčasne, zvyšok dopíše tento thread
+            flush();
+            journal.close();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            try {
+                synchronized (signal) {
+                    while (running && pending.get() == 0) {
+                        signal.wait();
+                    }
+                    // okno na zozbieranie dávky – pri COUNT ho skráti notify po flushEvery zmenách
+                    if (running && pending.get() < flushEvery) {
+                        signal.wait(flushIntervalMs);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            synchronized (journalLock) {
+                try {
+                    flush();
+                    maybeCompact();
+                } catch (IOException | RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+            if (!running) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Zapíše všetky poznačené joby; volá sa pod {@code journalLock}. Pri chybe ostanú poznačené.
+     */
+    private void flush() throws IOException {
+        pending.set(0);
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<String> batch = new ArrayList<>(dirty);
+        // najprv odznačiť, potom čítať mapu – zmena počas zápisu sa poznačí znova a zapíše v ďalšej dávke
+        dirty.removeAll(batch);
+        try {
+            for (String id : batch) {
+                write(id);
+            }
+            if (fsync) {
+                journal.sync();
+            }
+        } catch (IOException | RuntimeException e) {
+            dirty.addAll(batch);
+            pending.addAndGet(batch.size());
+            throw e;
+        }
+    }
+
+    private void write(String id) throws IOException {
+        // payload skôr ako záznam v žurnáli
+        payloads.flush(id, fsync || mode == JobFlushMode.SYNC);
+        JobRecord rec = jobs.get(id);
+        if (rec != null) {
+            journal.appendPut(rec);
+        } else {
+            journal.appendDelete(id);
+        }
+    }
+
+    /**
+     * Pod {@code journalLock} sa len skopírujú referencie a otočí generácia žurnálu (joby sa nemenia
+     * na mieste), serializácia a zápis snapshotu bežia na pozadí.
+     */
+    private void maybeCompact() throws IOException {
+        if (journal.size() < compactAfterBytes || !compacting.compareAndSet(false, true)) {
+            return;
+        }
+        List<JobRecord> list;
+        long generation;
+        try {
+            list = new ArrayList<>(jobs.values());
+            generation = journal.rotate();
+        } catch (IOException | RuntimeException e) {
+            compacting.set(false);
+            throw e;
+        }
+        compactor.execute(() -> {
+            try {
+                writeSnapshot(list);
+                // snapshot už obsahuje všetko zo starších generácií
+                journal.deleteBefore(generation);
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace();
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    private void writeSnapshot(List<JobRecord> list) throws IOException {
+        if (storagePath.getParent() != null && !Files.exists(storagePath.getParent())) {
+            Files.createDirectories(storagePath.getParent());
+        }
+        Path tmp = storagePath.resolveSibling(storagePath.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            objectMapper.writeValue(out, list);
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, storagePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
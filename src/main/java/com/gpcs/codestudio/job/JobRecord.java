@@ -1,5 +1,7 @@
 package com.gpcs.codestudio.job;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.Instant;
 
 public class JobRecord {
@@ -56,6 +58,10 @@ public class JobRecord {
         this.mainValue = mainValue;
     }
 
+    /**
+     * Len pri načítaní staršieho úložiska – payloady sú v {@link JobPayloadStore}.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public String getPayloadJson() {
         return payloadJson;
     }
@@ -0,0 +1,556 @@
+package com.gpcs.codestudio.job;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Fulltextový index jobov nad {@code name}, {@code description} a {@code mainValue}.
+ *
+ * Text sa rozdelí na slová (písmená / číslice), zmenší a zbaví diakritiky ("Čučoriedková šťava"
+ * → {@code cucoriedkova}, {@code stava}). Každé slovo dotazu je prefix, všetky musia sedieť (AND).
+ *
+ * Joby majú v indexe poradové číslo; slovník je zoradený (prefix = rozsah v {@link ConcurrentSkipListMap})
+ * a pre každé slovo a pole drží pole čísel jobov. Dotaz začne najvzácnejším slovom a jeho zásahy drží
+ * v riedkej hash tabuľke (číslo jobu → skóre); každé ďalšie slovo ju len zužuje – buď prechodom svojich
+ * výskytov, alebo (ak kandidátov ostalo málo) kontrolou slov samotných kandidátov. Cena je teda úmerná
+ * počtu výskytov zhodných slov, nie počtu jobov.
+ *
+ * Krátke slová dotazu (do {@link #PREFIX_LENGTH} znakov) by v slovníku prechádzali veľa rôznych slov
+ * (napr. "858" = všetky GTIN s touto predponou), preto majú predpony slov vlastné zoznamy jobov
+ * a dotaz ich vyrieši jedným vyhľadaním. Cena: najviac {@link #PREFIX_LENGTH} ďalších výskytov na slovo jobu.
+ *
+ * Zmeny serializuje {@link JobService}, čítanie je bez zámkov; zásah sa overí proti mape jobov.
+ */
+final class JobSearchIndex {
+
+    static final int MAX_QUERY_TERMS = 8;
+    static final int PREFIX_LENGTH = 4;
+    // odhad ceny kontroly slov jedného kandidáta oproti jednému výskytu v postings
+    private static final int PROBE_COST = 16;
+
+    // poradie = index v Postings.fields, váha poľa pri skóre
+    private static final int NAME = 0;
+    private static final int MAIN_VALUE = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int[] WEIGHT = {3, 2, 1};
+
+    private final Map<String, JobRecord> jobs;
+    private final ConcurrentSkipListMap<String, Postings> dictionary = new ConcurrentSkipListMap<>();
+    // predpony kratšie ako samotné slovo, najviac PREFIX_LENGTH znakov
+    private final Map<String, Postings> prefixes = new ConcurrentHashMap<>();
+    private final Map<String, Doc> docsById = new ConcurrentHashMap<>();
+    private volatile Doc[] docs = new Doc[1024];
+    // updatedAt v ms podľa poradového čísla – radenie zásahov bez prechodu na Doc
+    private volatile long[] updated = new long[1024];
+    private volatile int maxDoc;
+    private int[] free = new int[16];
+    private int freeCount;
+
+    JobSearchIndex(Map<String, JobRecord> jobs) {
+        this.jobs = jobs;
+    }
+
+    void add(JobRecord rec) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        collect(terms, rec.getName(), NAME);
+        collect(terms, rec.getMainValue(), MAIN_VALUE);
+        collect(terms, rec.getDescription(), DESCRIPTION);
+
+        int ord = freeCount > 0 ? free[--freeCount] : maxDoc;
+        Doc doc = new Doc(ord, rec, terms);
+        long[] times = updated;
+        if (ord >= times.length) {
+            times = Arrays.copyOf(times, times.length * 2);
+        }
+        times[ord] = doc.updatedAt.toEpochMilli();
+        updated = times;
+        Doc[] current = docs;
+        if (ord >= current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[ord] = doc;
+        docs = current;
+        if (ord == maxDoc) {
+            maxDoc = ord + 1;
+        }
+        docsById.put(rec.getId(), doc);
+
+        for (Map.Entry<String, Integer> e : terms.entrySet()) {
+            dictionary.computeIfAbsent(e.getKey(), k -> new Postings()).add(ord, e.getValue());
+        }
+        for (Map.Entry<String, Integer> e : prefixesOf(terms).entrySet()) {
+            prefixes.computeIfAbsent(e.getKey(), k -> new Postings()).add(ord, e.getValue());
+        }
+    }
+
+    void remove(JobRecord rec) {
+        Doc doc = docsById.get(rec.getId());
+        if (doc == null || doc.rec != rec) {
+            return;
+        }
+        docsById.remove(rec.getId());
+        for (Map.Entry<String, Integer> e : doc.terms.entrySet()) {
+            Postings postings = dictionary.get(e.getKey());
+            if (postings != null && postings.remove(doc.ord, e.getValue())) {
+                dictionary.remove(e.getKey(), postings);
+            }
+        }
+        for (Map.Entry<String, Integer> e : prefixesOf(doc.terms).entrySet()) {
+            Postings postings = prefixes.get(e.getKey());
+            if (postings != null && postings.remove(doc.ord, e.getValue())) {
+                prefixes.remove(e.getKey(), postings);
+            }
+        }
+        docs[doc.ord] = null;
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = doc.ord;
+    }
+
+    /**
+     * @return zásahy zoradené podľa skóre (potom novšie {@code updatedAt}), preskočených {@code offset}
+     */
+    Result search(String query, int offset, int limit) {
+        Result result = new Result();
+        List<String> terms = new ArrayList<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return result;
+        }
+        if (terms.size() > MAX_QUERY_TERMS) {
+            terms = terms.subList(0, MAX_QUERY_TERMS);
+        }
+
+        Doc[] snapshot = docs;
+        long[] times = updated;
+        int n = Math.min(maxDoc, Math.min(snapshot.length, times.length));
+        List<TermMatch> matches = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            TermMatch match = match(term);
+            if (match.cost == 0) {
+                return result;
+            }
+            matches.add(match);
+        }
+        // najselektívnejšie slovo prvé – ďalšie slová už len zužujú jeho kandidátov
+        matches.sort(Comparator.comparingLong(m -> m.cost));
+
+        Scores candidates = new Scores((int) Math.min(matches.get(0).cost, n));
+        matches.get(0).fill(candidates, null, n);
+        for (int t = 1; t < matches.size() && candidates.size > 0; t++) {
+            TermMatch match = matches.get(t);
+            Scores next = new Scores(candidates.size);
+            // málo kandidátov oproti výskytom slova: lacnejšie skontrolovať slová kandidátov
+            if ((long) candidates.size * PROBE_COST < match.cost) {
+                for (int slot = 0; slot < candidates.keys.length; slot++) {
+                    int ord = candidates.keys[slot] - 1;
+                    if (ord < 0 || snapshot[ord] == null) {
+                        continue;
+                    }
+                    int score = termScore(snapshot[ord], match.term);
+                    if (score > 0) {
+                        next.put(ord, score + candidates.values[slot]);
+                    }
+                }
+            } else {
+                match.fill(next, candidates, n);
+                next.addFrom(candidates);
+            }
+            candidates = next;
+        }
+
+        int keep = offset + limit;
+        // min-heap najlepších {@code keep} zásahov
+        PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(keep, 1024) + 1);
+        int total = 0;
+        for (int slot = 0; slot < candidates.keys.length; slot++) {
+            int ord = candidates.keys[slot] - 1;
+            if (ord < 0) {
+                continue;
+            }
+            if (snapshot[ord] == null) {
+                continue;
+            }
+            int score = candidates.values[slot];
+            total++;
+            if (top.size() == keep) {
+                // väčšina zásahov vypadne už podľa skóre / času, Doc sa načíta len pri zhode
+                Hit min = top.peek();
+                if (score < min.score || score == min.score && times[ord] < min.updatedMillis) {
+                    continue;
+                }
+                if (min.compareTo(score, snapshot[ord]) >= 0) {
+                    continue;
+                }
+            }
+            top.add(new Hit(snapshot[ord], score));
+            if (top.size() > keep) {
+                top.poll();
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(Collections.reverseOrder());
+        for (int i = offset; i < ranked.size(); i++) {
+            JobRecord rec = ranked.get(i).doc.rec;
+            // job zmenený / zmazaný počas hľadania
+            if (jobs.get(rec.getId()) == rec) {
+                result.records.add(rec);
+            }
+        }
+        result.total = total;
+        return result;
+    }
+
+    /**
+     * Slová bez diakritiky, malými písmenami; každé najviac raz.
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return out;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                out.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            out.add(word.toString());
+        }
+        return out;
+    }
+
+    /**
+     * Výskyty všetkých slov slovníka, ktoré začínajú {@code term}.
+     */
+    private TermMatch match(String term) {
+        TermMatch match = new TermMatch(term);
+        if (term.length() <= PREFIX_LENGTH) {
+            match.add(dictionary.get(term), 2);
+            match.add(prefixes.get(term), 1);
+            return match;
+        }
+        for (Map.Entry<String, Postings> e : dictionary.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            match.add(e.getValue(), e.getKey().length() == term.length() ? 2 : 1);
+        }
+        return match;
+    }
+
+    /**
+     * Predpony slov jobu do {@link #PREFIX_LENGTH} znakov (bez celého slova) s poľami, kde sa vyskytujú.
+     */
+    private static Map<String, Integer> prefixesOf(Map<String, Integer> terms) {
+        Map<String, Integer> out = new HashMap<>();
+        for (Map.Entry<String, Integer> e : terms.entrySet()) {
+            String term = e.getKey();
+            int max = Math.min(PREFIX_LENGTH, term.length() - 1);
+            for (int length = 1; length <= max; length++) {
+                out.merge(term.substring(0, length), e.getValue(), (a, b) -> a | b);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Skóre slova dotazu v jednom jobe podľa jeho vlastných slov (rovnaké pravidlá ako {@link TermMatch#fill}).
+     */
+    private static int termScore(Doc doc, String term) {
+        int best = 0;
+        for (Map.Entry<String, Integer> e : doc.terms.entrySet()) {
+            if (!e.getKey().startsWith(term)) {
+                continue;
+            }
+            int exact = e.getKey().length() == term.length() ? 2 : 1;
+            for (int field = 0; field < 3; field++) {
+                if ((e.getValue() & (1 << field)) != 0) {
+                    best = Math.max(best, WEIGHT[field] * exact);
+                }
+            }
+        }
+        return best;
+    }
+
+    private static void collect(Map<String, Integer> terms, String text, int field) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, 1 << field, (a, b) -> a | b);
+        }
+    }
+
+    /**
+     * Joby so slovom, zvlášť pre každé pole.
+     */
+    private static final class Postings {
+        final IntList[] fields = {new IntList(), new IntList(), new IntList()};
+
+        void add(int ord, int fieldMask) {
+            for (int field = 0; field < 3; field++) {
+                if ((fieldMask & (1 << field)) != 0) {
+                    fields[field].add(ord);
+                }
+            }
+        }
+
+        /**
+         * @return true ak ostali prázdne
+         */
+        boolean remove(int ord, int fieldMask) {
+            for (int field = 0; field < 3; field++) {
+                if ((fieldMask & (1 << field)) != 0) {
+                    fields[field].remove(ord);
+                }
+            }
+            return fields[0].size == 0 && fields[1].size == 0 && fields[2].size == 0;
+        }
+    }
+
+    /**
+     * Neusporiadané pole čísel jobov. Zapisuje jeden thread, čitateľ vidí konzistentné pole
+     * (nanajvýš s duplicitou / bez práve meneného jobu).
+     */
+    private static final class IntList {
+        volatile int[] data = new int[2];
+        volatile int size;
+
+        void add(int value) {
+            int[] d = data;
+            if (size == d.length) {
+                d = Arrays.copyOf(d, d.length * 2);
+                data = d;
+            }
+            d[size] = value;
+            size = size + 1;
+        }
+
+        void remove(int value) {
+            int[] d = data;
+            int last = size - 1;
+            for (int i = 0; i <= last; i++) {
+                if (d[i] == value) {
+                    d[i] = d[last];
+                    size = last;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Výskyty slov zodpovedajúcich jednému slovu dotazu, s váhou (pole × celé slovo).
+     */
+    private static final class TermMatch {
+        final String term;
+        IntList[] lists = new IntList[4];
+        byte[] weights = new byte[4];
+        int count;
+        long cost;
+
+        TermMatch(String term) {
+            this.term = term;
+        }
+
+        /**
+         * @param exact 2 pre celé slovo, 1 pre predponu
+         */
+        void add(Postings postings, int exact) {
+            if (postings == null) {
+                return;
+            }
+            for (int field = 0; field < 3; field++) {
+                IntList list = postings.fields[field];
+                if (list.size == 0) {
+                    continue;
+                }
+                if (count == lists.length) {
+                    lists = Arrays.copyOf(lists, count * 2);
+                    weights = Arrays.copyOf(weights, count * 2);
+                }
+                lists[count] = list;
+                weights[count++] = (byte) (WEIGHT[field] * exact);
+                cost += list.size;
+            }
+        }
+
+        /**
+         * Skóre slova (váha poľa: názov 3, hlavná hodnota 2, popis 1; celé slovo 2×; z viacerých výskytov
+         * najvyššie) do {@code into}; ak je {@code within} zadané, len pre joby v ňom.
+         */
+        void fill(Scores into, Scores within, int maxDoc) {
+            for (int l = 0; l < count; l++) {
+                IntList list = lists[l];
+                int[] data = list.data;
+                int size = Math.min(list.size, data.length);
+                byte weight = weights[l];
+                for (int i = 0; i < size; i++) {
+                    int ord = data[i];
+                    if (ord < maxDoc && (within == null || within.get(ord) > 0)) {
+                        into.max(ord, weight);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Riedke skóre jobov: otvorené adresovanie, kľúč je číslo jobu + 1 (0 = prázdny slot).
+     * Súčet skóre pri {@link #MAX_QUERY_TERMS} slovách sa zmestí do bajtu.
+     */
+    private static final class Scores {
+        int[] keys;
+        byte[] values;
+        int size;
+        private int shift;
+
+        Scores(int expected) {
+            allocate(Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1);
+        }
+
+        int get(int ord) {
+            int mask = keys.length - 1;
+            for (int slot = hash(ord); ; slot = (slot + 1) & mask) {
+                int key = keys[slot];
+                if (key == 0) {
+                    return 0;
+                }
+                if (key == ord + 1) {
+                    return values[slot];
+                }
+            }
+        }
+
+        void max(int ord, byte value) {
+            int slot = slot(ord);
+            if (values[slot] < value) {
+                values[slot] = value;
+            }
+        }
+
+        void put(int ord, int value) {
+            values[slot(ord)] = (byte) value;
+        }
+
+        /**
+         * Pripočíta skóre z {@code other} ku všetkým jobom v tejto tabuľke.
+         */
+        void addFrom(Scores other) {
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    values[slot] += (byte) other.get(keys[slot] - 1);
+                }
+            }
+        }
+
+        private int slot(int ord) {
+            int mask = keys.length - 1;
+            for (int slot = hash(ord); ; slot = (slot + 1) & mask) {
+                int key = keys[slot];
+                if (key == ord + 1) {
+                    return slot;
+                }
+                if (key == 0) {
+                    if (size * 2 >= keys.length) {
+                        // súbežne pridané výskyty mimo odhadu
+                        grow();
+                        return slot(ord);
+                    }
+                    keys[slot] = ord + 1;
+                    size++;
+                    return slot;
+                }
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            byte[] oldValues = values;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    values[slot(oldKeys[i] - 1)] = oldValues[i];
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            keys = new int[capacity];
+            values = new byte[capacity];
+            size = 0;
+            shift = Integer.numberOfTrailingZeros(capacity);
+        }
+
+        // poradové čísla pod kapacitou ostávajú na svojom mieste – výskyty sú väčšinou vzostupne,
+        // takže prístupy do tabuľky idú skoro sekvenčne; vyššie bity sa len primiešajú
+        private int hash(int ord) {
+            return (ord ^ ord >>> shift) & (keys.length - 1);
+        }
+    }
+
+    private static final class Doc {
+        final int ord;
+        final JobRecord rec;
+        final Map<String, Integer> terms;
+        final Instant updatedAt;
+
+        Doc(int ord, JobRecord rec, Map<String, Integer> terms) {
+            this.ord = ord;
+            this.rec = rec;
+            this.terms = terms;
+            this.updatedAt = rec.getUpdatedAt() != null ? rec.getUpdatedAt() : Instant.EPOCH;
+        }
+    }
+
+    /**
+     * Poradie: skóre, potom novší {@code updatedAt}, potom ID.
+     */
+    private static final class Hit implements Comparable<Hit> {
+        final Doc doc;
+        final int score;
+        final long updatedMillis;
+
+        Hit(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+            this.updatedMillis = doc.updatedAt.toEpochMilli();
+        }
+
+        int compareTo(int otherScore, Doc other) {
+            if (score != otherScore) {
+                return Integer.compare(score, otherScore);
+            }
+            int byTime = doc.updatedAt.compareTo(other.updatedAt);
+            return byTime != 0 ? byTime : other.rec.getId().compareTo(doc.rec.getId());
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            return compareTo(other.score, other.doc);
+        }
+    }
+
+    static final class Result {
+        final List<JobRecord> records = new ArrayList<>();
+        int total;
+    }
+}
@@ -3,12 +3,12 @@ package com.gpcs.codestudio.job;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -16,16 +16,41 @@ import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Úložisko jobov: všetko v pamäti, na disku snapshot ({@code storagePath}) + append-only žurnál zmien.
+ *
+ * Request thread len zmení mapu; zápis do žurnálu, fsync a kompaktáciu robí {@link JobPersistence}
+ * podľa {@code codestudio.jobs.flush.*}. Payloady (návrhy) nie sú v mape, ale v {@link JobPayloadStore}.
+ */
 @Service
 public class JobService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_SEARCH_DEPTH = 10_000;
+
     private final ObjectMapper objectMapper;
     private final Path storagePath;
     private final Map<String, JobRecord> jobs = new ConcurrentHashMap<>();
+    private final JobIndex index = new JobIndex();
+    // index podľa codeType (veľkými písmenami, "" = bez typu)
+    private final Map<String, JobIndex> indexByCodeType = new ConcurrentHashMap<>();
+    private final JobSearchIndex searchIndex = new JobSearchIndex(jobs);
+    // zmena mapy + indexov jedného jobu naraz; čítanie ide bez zámku
+    private final Object indexLock = new Object();
+    private final JobPayloadStore payloads;
+    private final JobPersistence persistence;
+    private final long journalSkippedRecords;
+    private final long journalTruncatedBytes;
 
     public JobService(
             ObjectMapper objectMapper,
-            @Value("${codestudio.jobs.storagePath:}") String storagePathProp
+            @Value("${codestudio.jobs.storagePath:}") String storagePathProp,
+            @Value("${codestudio.jobs.compactAfterBytes:16777216}") long compactAfterBytes,
+            @Value("${codestudio.jobs.flush.mode:interval}") String flushMode,
+            @Value("${codestudio.jobs.flush.intervalMs:200}") long flushIntervalMs,
+            @Value("${codestudio.jobs.flush.everyMutations:100}") int flushEveryMutations,
+            @Value("${codestudio.jobs.flush.fsync:true}") boolean fsync,
+            @Value("${codestudio.jobs.payloadCacheBytes:67108864}") long payloadCacheBytes
     ) {
         this.objectMapper = objectMapper;
         if (storagePathProp != null && !storagePathProp.isBlank()) {
@@ -37,6 +62,27 @@ public class JobService {
             );
         }
         loadFromDisk();
+        JobJournal journal;
+        try {
+            journal = JobJournal.open(storagePath, objectMapper, jobs);
+        } catch (IOException e) {
+            throw new IllegalStateException("Nepodarilo sa otvoriť žurnál jobov " + storagePath, e);
+        }
+        // poškodený žurnál aplikáciu nezhodí (rovnako ako snapshot), koľko sa zahodilo ukáže getMetrics()
+        this.journalSkippedRecords = journal.getSkippedRecords();
+        this.journalTruncatedBytes = journal.getTruncatedBytes();
+        this.payloads = new JobPayloadStore(storagePath, objectMapper, payloadCacheBytes);
+        List<String> migrated = migratePayloads();
+        for (JobRecord rec : jobs.values()) {
+            addToIndexes(rec);
+        }
+        this.persistence = new JobPersistence(storagePath, objectMapper, jobs, journal, payloads,
+                JobFlushMode.from(flushMode), flushIntervalMs, flushEveryMutations, fsync,
+                Math.max(64 * 1024, compactAfterBytes));
+        // presunuté payloady zapíše writer a do žurnálu pôjdu joby už bez nich
+        for (String id : migrated) {
+            persistence.changed(id);
+        }
     }
 
     private void loadFromDisk() {
@@ -60,29 +106,140 @@ public class JobService {
         }
     }
 
-    private synchronized void saveToDisk() {
-        try {
-            List<JobRecord> list = new ArrayList<>(jobs.values());
-            // vytvor parent dir ak neexistuje
-            if (storagePath.getParent() != null && !Files.exists(storagePath.getParent())) {
-                Files.createDirectories(storagePath.getParent());
-            }
-            try (OutputStream out = Files.newOutputStream(storagePath)) {
-                objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, list);
+    /**
+     * Staré úložisko malo payload priamo v jobe ({@code payloadJson}) – presunie ho do {@link JobPayloadStore}.
+     *
+     * @return ID presunutých jobov
+     */
+    private List<String> migratePayloads() {
+        List<String> migrated = new ArrayList<>();
+        for (JobRecord rec : new ArrayList<>(jobs.values())) {
+            if (rec.getPayloadJson() == null) {
+                continue;
             }
+            payloads.put(rec.getId(), null, rec.getPayloadJson());
+            JobRecord meta = copyOf(rec);
+            meta.setPayloadJson(null);
+            jobs.put(meta.getId(), meta);
+            migrated.add(meta.getId());
+        }
+        return migrated;
+    }
+
+    /**
+     * Zapíše všetky neuložené zmeny a zavrie žurnál.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            persistence.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
+    public JobStorageMetrics getMetrics() {
+        JobStorageMetrics metrics = new JobStorageMetrics();
+        metrics.setJobCount(jobs.size());
+        metrics.setJournalSkippedRecords(journalSkippedRecords);
+        metrics.setJournalTruncatedBytes(journalTruncatedBytes);
+        return metrics;
+    }
+
+    /**
+     * Všetky joby (bez payloadu) zoradené podľa createdAt.
+     */
     public List<JobDto> listJobs() {
-        List<JobRecord> list = new ArrayList<>(jobs.values());
-        list.sort(Comparator.comparing(JobRecord::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
-        List<JobDto> result = new ArrayList<>();
-        for (JobRecord rec : list) {
-            result.add(toDto(rec, false));
+        return listJobs(null, null);
+    }
+
+    /**
+     * Všetky joby (bez payloadu) s voliteľným filtrom a zoradením, bez stránkovania.
+     *
+     * @throws IllegalArgumentException pri neplatnom zoradení
+     */
+    public List<JobDto> listJobs(String codeType, String sort) {
+        return page(codeType, JobSort.from(sort), null, Integer.MAX_VALUE).getItems();
+    }
+
+    /**
+     * Stránka jobov (bez payloadu) prechodom indexu od kurzora – cena závisí od {@code limit}, nie od počtu jobov.
+     *
+     * @param codeType filter na typ kódu, null / prázdny = všetky
+     * @param sort     {@code createdAt|updatedAt[,asc|desc]}
+     * @param after    {@link JobPage#getNextCursor()} predchádzajúcej stránky, null = prvá stránka
+     * @throws IllegalArgumentException pri neplatnom zoradení alebo kurzore
+     */
+    public JobPage listJobs(String codeType, String sort, String after, int limit) {
+        JobSort order = JobSort.from(sort);
+        JobIndex.Key cursor = after != null && !after.isBlank() ? JobIndex.Key.fromCursor(after) : null;
+        return page(codeType, order, cursor, Math.max(1, Math.min(MAX_PAGE_SIZE, limit)));
+    }
+
+    private JobPage page(String codeType, JobSort order, JobIndex.Key cursor, int pageSize) {
+
+        JobIndex source = codeType != null && !codeType.isBlank()
+                ? indexByCodeType.get(codeTypeKey(codeType))
+                : index;
+        JobPage page = new JobPage();
+        List<JobDto> items = new ArrayList<>(Math.min(pageSize, jobs.size()));
+        page.setItems(items);
+        if (source == null) {
+            return page;
         }
-        return result;
+
+        JobIndex.Key last = null;
+        for (Map.Entry<JobIndex.Key, JobRecord> e : source.view(order, cursor).entrySet()) {
+            JobRecord rec = e.getValue();
+            if (jobs.get(rec.getId()) != rec) {
+                // stará verzia počas súbežnej zmeny
+                continue;
+            }
+            if (items.size() == pageSize) {
+                page.setNextCursor(last.toCursor());
+                break;
+            }
+            items.add(toDto(rec, false));
+            last = e.getKey();
+        }
+        return page;
+    }
+
+    /**
+     * Fulltext nad názvom, popisom a hlavnou hodnotou ({@link JobSearchIndex}), zoradené podľa relevancie.
+     * Kurzor ďalšej stránky je poradie prvého zásahu na nej.
+     *
+     * @throws IllegalArgumentException pri neplatnom kurzore
+     */
+    public JobPage searchJobs(String query, String after, int limit) {
+        int offset = 0;
+        if (after != null && !after.isBlank()) {
+            try {
+                offset = Integer.parseInt(after.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Neplatný kurzor.", e);
+            }
+            if (offset < 0) {
+                throw new IllegalArgumentException("Neplatný kurzor.");
+            }
+        }
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        JobPage page = new JobPage();
+        List<JobDto> items = new ArrayList<>(pageSize);
+        page.setItems(items);
+        if (offset >= MAX_SEARCH_DEPTH) {
+            return page;
+        }
+
+        JobSearchIndex.Result result = searchIndex.search(query, offset, Math.min(pageSize, MAX_SEARCH_DEPTH - offset));
+        for (JobRecord rec : result.records) {
+            items.add(toDto(rec, false));
+        }
+        int next = offset + items.size();
+        if (!items.isEmpty() && result.total > next && next < MAX_SEARCH_DEPTH) {
+            page.setNextCursor(String.valueOf(next));
+        }
+        return page;
     }
 
     public Optional<JobDto> getJob(String id) {
@@ -102,14 +259,13 @@ public class JobService {
                 ? UUID.randomUUID().toString()
                 : request.getId();
 
-        JobRecord rec = jobs.get(id);
+        JobRecord existing = jobs.get(id);
         Instant now = Instant.now();
 
-        if (rec == null) {
-            rec = new JobRecord();
-            rec.setId(id);
-            rec.setCreatedAt(now);
-        }
+        // nový objekt namiesto úpravy na mieste – writer / kompaktácia môže práve serializovať starý
+        JobRecord rec = new JobRecord();
+        rec.setId(id);
+        rec.setCreatedAt(existing != null ? existing.getCreatedAt() : now);
 
         rec.setName(request.getName());
         rec.setDescription(request.getDescription());
@@ -120,14 +276,20 @@ public class JobService {
         JsonNode payloadNode = request.getPayload();
         if (payloadNode != null) {
             try {
-                rec.setPayloadJson(objectMapper.writeValueAsString(payloadNode));
+                payloads.put(id, payloadNode, objectMapper.writeValueAsString(payloadNode));
             } catch (IOException e) {
                 throw new RuntimeException("Chyba pri serializácii payload JSON.", e);
             }
         }
 
-        jobs.put(id, rec);
-        saveToDisk();
+        synchronized (indexLock) {
+            JobRecord previous = jobs.put(id, rec);
+            if (previous != null) {
+                removeFromIndexes(previous);
+            }
+            addToIndexes(rec);
+        }
+        persistence.changed(id);
 
         return toDto(rec, true);
     }
@@ -136,8 +298,49 @@ public class JobService {
         if (id == null || id.isBlank()) {
             return;
         }
-        jobs.remove(id);
-        saveToDisk();
+        JobRecord removed;
+        synchronized (indexLock) {
+            removed = jobs.remove(id);
+            if (removed != null) {
+                removeFromIndexes(removed);
+            }
+        }
+        if (removed != null) {
+            payloads.delete(id);
+            persistence.changed(id);
+        }
+    }
+
+    private void addToIndexes(JobRecord rec) {
+        index.add(rec);
+        searchIndex.add(rec);
+        indexByCodeType.computeIfAbsent(codeTypeKey(rec.getCodeType()), k -> new JobIndex()).add(rec);
+    }
+
+    private void removeFromIndexes(JobRecord rec) {
+        index.remove(rec);
+        searchIndex.remove(rec);
+        JobIndex byType = indexByCodeType.get(codeTypeKey(rec.getCodeType()));
+        if (byType != null) {
+            byType.remove(rec);
+        }
+    }
+
+    private static JobRecord copyOf(JobRecord rec) {
+        JobRecord copy = new JobRecord();
+        copy.setId(rec.getId());
+        copy.setName(rec.getName());
+        copy.setDescription(rec.getDescription());
+        copy.setCodeType(rec.getCodeType());
+        copy.setMainValue(rec.getMainValue());
+        copy.setPayloadJson(rec.getPayloadJson());
+        copy.setCreatedAt(rec.getCreatedAt());
+        copy.setUpdatedAt(rec.getUpdatedAt());
+        return copy;
+    }
+
+    private static String codeTypeKey(String codeType) {
+        return codeType != null ? codeType.trim().toUpperCase(Locale.ROOT) : "";
     }
 
     private JobDto toDto(JobRecord rec, boolean includePayload) {
@@ -150,13 +353,8 @@ public class JobService {
         dto.setCreatedAt(rec.getCreatedAt());
         dto.setUpdatedAt(rec.getUpdatedAt());
 
-        if (includePayload && rec.getPayloadJson() != null) {
-            try {
-                dto.setPayload(objectMapper.readTree(rec.getPayloadJson()));
-            } catch (IOException e) {
-                // ak sa nedá parse-nuť, necháme payload null
-                e.printStackTrace();
-            }
+        if (includePayload) {
+            dto.setPayload(payloads.get(rec.getId()));
         }
 
         return dto;
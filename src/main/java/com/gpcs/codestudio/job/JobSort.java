@@ -0,0 +1,46 @@
+package com.gpcs.codestudio.job;
+
+import java.util.Locale;
+
+/**
+ * Poradie výpisu jobov ({@code sort=createdAt,desc} a pod.).
+ */
+enum JobSort {
+
+    CREATED_ASC(false, false),
+    CREATED_DESC(false, true),
+    UPDATED_ASC(true, false),
+    UPDATED_DESC(true, true);
+
+    final boolean byUpdated;
+    final boolean descending;
+
+    JobSort(boolean byUpdated, boolean descending) {
+        this.byUpdated = byUpdated;
+        this.descending = descending;
+    }
+
+    /**
+     * {@code <createdAt|updatedAt>[,asc|desc]}; prázdna hodnota = {@link #CREATED_ASC} (pôvodné poradie výpisu).
+     *
+     * @throws IllegalArgumentException pri neznámom poli alebo smere
+     */
+    static JobSort from(String value) {
+        if (value == null || value.isBlank()) {
+            return CREATED_ASC;
+        }
+        String[] parts = value.trim().toLowerCase(Locale.ROOT).split("\\s*,\\s*");
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Neplatné zoradenie: " + value);
+        }
+        boolean descending = parts.length == 2 && "desc".equals(parts[1]);
+        if (parts.length == 2 && !descending && !"asc".equals(parts[1])) {
+            throw new IllegalArgumentException("Neplatný smer zoradenia: " + parts[1]);
+        }
+        return switch (parts[0]) {
+            case "createdat", "created" -> descending ? CREATED_DESC : CREATED_ASC;
+            case "updatedat", "updated" -> descending ? UPDATED_DESC : UPDATED_ASC;
+            default -> throw new IllegalArgumentException("Neplatné pole zoradenia: " + parts[0]);
+        };
+    }
+}
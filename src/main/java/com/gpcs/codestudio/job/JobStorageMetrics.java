@@ -0,0 +1,40 @@
+package com.gpcs.codestudio.job;
+
+/**
+ * Stav úložiska jobov pre /api/jobs/metrics, vrátane toho, čo sa pri štarte opravilo v žurnáli.
+ */
+public class JobStorageMetrics {
+
+    private int jobCount;
+    private long journalSkippedRecords;
+    private long journalTruncatedBytes;
+
+    public JobStorageMetrics() {
+    }
+
+    public int getJobCount() {
+        return jobCount;
+    }
+
+    public void setJobCount(int jobCount) {
+        this.jobCount = jobCount;
+    }
+
+    /** Poškodené záznamy žurnálu (nesedí CRC / JSON), ktoré sa pri štarte preskočili. */
+    public long getJournalSkippedRecords() {
+        return journalSkippedRecords;
+    }
+
+    public void setJournalSkippedRecords(long journalSkippedRecords) {
+        this.journalSkippedRecords = journalSkippedRecords;
+    }
+
+    /** Bajty neúplného posledného záznamu žurnálu, ktoré sa pri štarte odrezali. */
+    public long getJournalTruncatedBytes() {
+        return journalTruncatedBytes;
+    }
+
+    public void setJournalTruncatedBytes(long journalTruncatedBytes) {
+        this.journalTruncatedBytes = journalTruncatedBytes;
+    }
+}
@@ -0,0 +1,195 @@
+package com.gpcs.codestudio.symbology;
+
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+
+import java.util.List;
+
+/**
+ * Kódovanie kompletných EAN-13 / EAN-8 / UPC-A / ITF-14 kódov do {@link BarcodeModel}.
+ *
+ * Tabuľky šírok (sady L / G / R, parita prvej číslice EAN-13, páry ITF) sú predpočítané
+ * pri načítaní triedy; samotné kódovanie je len kopírovanie bajtov do výsledného poľa.
+ * Vstupom je kompletný kód s kontrolnou číslicou (napr. finalCode z {@code EanService}).
+ */
+public final class BarcodeEncoder {
+
+    /** Šírka širokého prvku ITF v násobkoch úzkeho (GS1 pripúšťa 2,25 – 3). */
+    public static final int ITF_WIDE = 3;
+
+    /** Šírky sady L (medzera, čiara, medzera, čiara); sada R má tie isté šírky, začína čiarou. */
+    private static final byte[][] L = {
+            {3, 2, 1, 1}, {2, 2, 2, 1}, {2, 1, 2, 2}, {1, 4, 1, 1}, {1, 1, 3, 2},
+            {1, 2, 3, 1}, {1, 1, 1, 4}, {1, 3, 1, 2}, {1, 2, 1, 3}, {3, 1, 1, 2}
+    };
+
+    /** Sada G = zrkadlová sada R. */
+    private static final byte[][] G = new byte[10][4];
+
+    /** Parita číslic 2–7 EAN-13 podľa prvej číslice, bit 5 = číslica 2; 1 = sada G. */
+    private static final int[] PARITY = {
+            0b000000, 0b001011, 0b001101, 0b001110, 0b010011,
+            0b011001, 0b011100, 0b010101, 0b010110, 0b011010
+    };
+
+    /** ITF: 5 prvkov na číslicu, true = široký. */
+    private static final String[] ITF_DIGITS = {
+            "NNWWN", "WNNNW", "NWNNW", "WWNNN", "NNWNW", "WNWNN", "NWWNN", "NNNWW", "WNNWN", "NWNWN"
+    };
+
+    /** ITF: 10 šírok pre každý pár číslic (prvá číslica v čiarach, druhá v medzerách). */
+    private static final byte[][] ITF_PAIRS = new byte[100][10];
+
+    private static final byte[] GUARD_NORMAL = {1, 1, 1};
+    private static final byte[] GUARD_CENTER = {1, 1, 1, 1, 1};
+    private static final byte[] ITF_START = {1, 1, 1, 1};
+    private static final byte[] ITF_STOP = {ITF_WIDE, 1, 1};
+
+    static {
+        for (int d = 0; d < 10; d++) {
+            for (int i = 0; i < 4; i++) {
+                G[d][i] = L[d][3 - i];
+            }
+        }
+        for (int pair = 0; pair < 100; pair++) {
+            String bars = ITF_DIGITS[pair / 10];
+            String spaces = ITF_DIGITS[pair % 10];
+            for (int i = 0; i < 5; i++) {
+                ITF_PAIRS[pair][2 * i] = (byte) (bars.charAt(i) == 'W' ? ITF_WIDE : 1);
+                ITF_PAIRS[pair][2 * i + 1] = (byte) (spaces.charAt(i) == 'W' ? ITF_WIDE : 1);
+            }
+        }
+    }
+
+    private BarcodeEncoder() {
+    }
+
+    /**
+     * @param type typ kódu ako v API ("EAN13", "UPCA" ...)
+     * @return model, alebo null pri neznámom type / neplatnom kóde
+     */
+    public static BarcodeModel encode(String type, String code) {
+        Symbology symbology = Symbology.from(type);
+        return symbology == null ? null : encode(symbology, code);
+    }
+
+    /**
+     * @return model, alebo null ak kód nemá správnu dĺžku, nie sú to číslice alebo nesedí kontrolná číslica
+     */
+    public static BarcodeModel encode(Symbology symbology, String code) {
+        if (code == null) {
+            return null;
+        }
+        code = code.trim();
+        if (!Gs1CheckDigit.isDigits(code, symbology.getCodeLength()) || !Gs1CheckDigit.isValid(code)) {
+            return null;
+        }
+        return switch (symbology) {
+            case EAN13 -> encodeEan13(code);
+            case EAN8 -> encodeEan8(code);
+            case UPCA -> encodeUpcA(code);
+            case ITF14 -> encodeItf14(code);
+        };
+    }
+
+    private static BarcodeModel encodeEan13(String code) {
+        Builder b = new Builder(59);
+        int parity = PARITY[code.charAt(0) - '0'];
+        b.guard(GUARD_NORMAL);
+        for (int i = 1; i <= 6; i++) {
+            boolean useG = (parity >> (6 - i) & 1) != 0;
+            b.add(useG ? G[code.charAt(i) - '0'] : L[code.charAt(i) - '0'], false);
+        }
+        b.guard(GUARD_CENTER);
+        for (int i = 7; i <= 12; i++) {
+            b.add(L[code.charAt(i) - '0'], false);
+        }
+        b.guard(GUARD_NORMAL);
+
+        return b.build(Symbology.EAN13, code, List.of(
+                new BarcodeText(code.substring(0, 1), -7, -1),
+                new BarcodeText(code.substring(1, 7), 3, 45),
+                new BarcodeText(code.substring(7), 50, 92)));
+    }
+
+    private static BarcodeModel encodeEan8(String code) {
+        Builder b = new Builder(43);
+        b.guard(GUARD_NORMAL);
+        for (int i = 0; i < 4; i++) {
+            b.add(L[code.charAt(i) - '0'], false);
+        }
+        b.guard(GUARD_CENTER);
+        for (int i = 4; i < 8; i++) {
+            b.add(L[code.charAt(i) - '0'], false);
+        }
+        b.guard(GUARD_NORMAL);
+
+        return b.build(Symbology.EAN8, code, List.of(
+                new BarcodeText(code.substring(0, 4), 3, 31),
+                new BarcodeText(code.substring(4), 36, 64)));
+    }
+
+    private static BarcodeModel encodeUpcA(String code) {
+        // UPC-A = EAN-13 s vedúcou 0 (parita LLLLLL); prvá a posledná číslica majú dlhé čiary ako guard
+        Builder b = new Builder(59);
+        b.guard(GUARD_NORMAL);
+        for (int i = 0; i < 6; i++) {
+            b.add(L[code.charAt(i) - '0'], i == 0);
+        }
+        b.guard(GUARD_CENTER);
+        for (int i = 6; i < 12; i++) {
+            b.add(L[code.charAt(i) - '0'], i == 11);
+        }
+        b.guard(GUARD_NORMAL);
+
+        return b.build(Symbology.UPCA, code, List.of(
+                new BarcodeText(code.substring(0, 1), -7, -1),
+                new BarcodeText(code.substring(1, 6), 10, 45),
+                new BarcodeText(code.substring(6, 11), 50, 85),
+                new BarcodeText(code.substring(11), 96, 102)));
+    }
+
+    private static BarcodeModel encodeItf14(String code) {
+        Builder b = new Builder(ITF_START.length + 7 * 10 + ITF_STOP.length);
+        b.add(ITF_START, false);
+        for (int i = 0; i < 14; i += 2) {
+            b.add(ITF_PAIRS[(code.charAt(i) - '0') * 10 + (code.charAt(i + 1) - '0')], false);
+        }
+        b.add(ITF_STOP, false);
+
+        int modules = 4 + 7 * 2 * (2 * ITF_WIDE + 3) + ITF_WIDE + 2;
+        return b.build(Symbology.ITF14, code, List.of(new BarcodeText(code, 0, modules)));
+    }
+
+    /**
+     * Skladá polia šírok a guard príznakov s presnou kapacitou.
+     */
+    private static final class Builder {
+
+        private final byte[] widths;
+        private final boolean[] guards;
+        private int size;
+
+        Builder(int elements) {
+            this.widths = new byte[elements];
+            this.guards = new boolean[elements];
+        }
+
+        void guard(byte[] pattern) {
+            add(pattern, true);
+        }
+
+        void add(byte[] pattern, boolean guard) {
+            System.arraycopy(pattern, 0, widths, size, pattern.length);
+            if (guard) {
+                for (int i = size; i < size + pattern.length; i++) {
+                    guards[i] = true;
+                }
+            }
+            size += pattern.length;
+        }
+
+        BarcodeModel build(Symbology symbology, String code, List<BarcodeText> texts) {
+            return new BarcodeModel(symbology, code, widths, guards, texts);
+        }
+    }
+}
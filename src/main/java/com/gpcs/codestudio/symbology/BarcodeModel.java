@@ -0,0 +1,78 @@
+package com.gpcs.codestudio.symbology;
+
+import java.util.List;
+
+/**
+ * Zakódovaný lineárny symbol: striedavé šírky čiar a medzier v moduloch, začína čiarou.
+ *
+ * {@link #widths()} a {@link #guards()} sú interné polia modelu vrátené bez kópie – renderer
+ * ich len číta a nesmie ich meniť. Príznak guard (okrajové / stredové čiary EAN/UPC, ktoré
+ * sa kreslia dlhšie) je uložený pre každý prvok.
+ */
+public final class BarcodeModel {
+
+    private final Symbology symbology;
+    private final String code;
+    private final byte[] widths;
+    private final boolean[] guards;
+    private final int totalModules;
+    private final List<BarcodeText> texts;
+
+    BarcodeModel(Symbology symbology, String code, byte[] widths, boolean[] guards, List<BarcodeText> texts) {
+        this.symbology = symbology;
+        this.code = code;
+        this.widths = widths;
+        this.guards = guards;
+        this.texts = texts;
+
+        int modules = 0;
+        for (byte w : widths) {
+            modules += w;
+        }
+        this.totalModules = modules;
+    }
+
+    public Symbology getSymbology() {
+        return symbology;
+    }
+
+    /** Kompletný kód vrátane kontrolnej číslice. */
+    public String getCode() {
+        return code;
+    }
+
+    /** Šírky prvkov v moduloch, párne indexy sú čiary, nepárne medzery. */
+    public byte[] widths() {
+        return widths;
+    }
+
+    public boolean[] guards() {
+        return guards;
+    }
+
+    public int getElementCount() {
+        return widths.length;
+    }
+
+    /** Šírka symbolu v moduloch bez tichých zón. */
+    public int getTotalModules() {
+        return totalModules;
+    }
+
+    public int getLeftQuietZone() {
+        return symbology.getLeftQuietZone();
+    }
+
+    public int getRightQuietZone() {
+        return symbology.getRightQuietZone();
+    }
+
+    /** ITF-14 sa tlačí s ochrannými (bearer) čiarami okolo symbolu. */
+    public boolean hasBearerBars() {
+        return symbology == Symbology.ITF14;
+    }
+
+    public List<BarcodeText> getTexts() {
+        return texts;
+    }
+}
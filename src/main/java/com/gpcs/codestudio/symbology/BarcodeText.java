@@ -0,0 +1,33 @@
+package com.gpcs.codestudio.symbology;
+
+/**
+ * Úsek textu pre človeka (HRI) pod symbolom.
+ *
+ * Pozícia je v moduloch od začiatku symbolu (bez tichej zóny): {@code start} – {@code end}
+ * je oblasť, v ktorej sa text centruje. Záporný začiatok / koniec za šírkou symbolu znamená
+ * text v tichej zóne (prvá číslica EAN-13, prvá a posledná pri UPC-A).
+ */
+public final class BarcodeText {
+
+    private final String text;
+    private final int start;
+    private final int end;
+
+    BarcodeText(String text, int start, int end) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+}
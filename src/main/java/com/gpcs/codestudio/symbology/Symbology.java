@@ -0,0 +1,57 @@
+package com.gpcs.codestudio.symbology;
+
+import com.gpcs.codestudio.ean.Gs1CheckDigit;
+
+import java.util.Locale;
+
+/**
+ * Lineárne symbológie, ktoré vie backend zakódovať do {@link BarcodeModel}.
+ * Názvy typov sú rovnaké ako v API validácie (EAN13, EAN8, UPCA, ITF14).
+ */
+public enum Symbology {
+
+    EAN13(Gs1CheckDigit.EAN13_LENGTH, 11, 7),
+    EAN8(Gs1CheckDigit.EAN8_LENGTH, 7, 7),
+    UPCA(Gs1CheckDigit.UPC_A_LENGTH, 9, 9),
+    ITF14(Gs1CheckDigit.ITF14_LENGTH, 10, 10);
+
+    private final int codeLength;
+    private final int leftQuietZone;
+    private final int rightQuietZone;
+
+    Symbology(int codeLength, int leftQuietZone, int rightQuietZone) {
+        this.codeLength = codeLength;
+        this.leftQuietZone = leftQuietZone;
+        this.rightQuietZone = rightQuietZone;
+    }
+
+    /** Dĺžka kompletného kódu vrátane kontrolnej číslice. */
+    public int getCodeLength() {
+        return codeLength;
+    }
+
+    /** Minimálna ľavá tichá zóna v moduloch (podľa GS1 General Specifications). */
+    public int getLeftQuietZone() {
+        return leftQuietZone;
+    }
+
+    public int getRightQuietZone() {
+        return rightQuietZone;
+    }
+
+    /**
+     * "EAN13", "ean-13", "UPC-A", "ITF14" ...; neznámy typ = null.
+     */
+    public static Symbology from(String type) {
+        if (type == null) {
+            return null;
+        }
+        return switch (type.trim().toUpperCase(Locale.ROOT).replace("-", "")) {
+            case "EAN13" -> EAN13;
+            case "EAN8" -> EAN8;
+            case "UPCA" -> UPCA;
+            case "ITF14" -> ITF14;
+            default -> null;
+        };
+    }
+}